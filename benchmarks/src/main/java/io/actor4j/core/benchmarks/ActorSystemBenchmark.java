@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.actor4j.core.ActorSystem;
+
+/**
+ * Common state of all benchmarks: one actor system per trial, parameterized
+ * over the system implementation and the idle mode of its actor threads.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+public abstract class ActorSystemBenchmark {
+	@Param({ActorSystemFactory.DEFAULT_UNBOUNDED, ActorSystemFactory.DEFAULT_BOUNDED, ActorSystemFactory.X, ActorSystemFactory.WORK_STEALING})
+	public String impl;
+	
+	@Param({ActorSystemFactory.PARK, ActorSystemFactory.SLEEP, ActorSystemFactory.YIELD, ActorSystemFactory.BACKOFF})
+	public String threadMode;
+	
+	protected ActorSystem system;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		system = ActorSystemFactory.create(impl, threadMode);
+		configure(system);
+		system.start();
+		started(system);
+	}
+	
+	/**
+	 * Adds the actors of the benchmark, called before the system is started.
+	 */
+	protected abstract void configure(ActorSystem system);
+	
+	/**
+	 * Called after the system is started.
+	 */
+	protected void started(ActorSystem system) {
+		// empty
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		system.shutdownWithActors(true);
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.benchmarks;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.VirtualThreadActorSystemImpl;
+import io.actor4j.core.WorkStealingActorSystemImpl;
+import io.actor4j.core.XActorSystemImpl;
+
+public final class ActorSystemFactory {
+	public static final String DEFAULT_UNBOUNDED = "DEFAULT_UNBOUNDED";
+	public static final String DEFAULT_BOUNDED   = "DEFAULT_BOUNDED";
+	public static final String X                 = "X";
+	public static final String WORK_STEALING     = "WORK_STEALING";
+	public static final String VIRTUAL_THREAD    = "VIRTUAL_THREAD"; // JDK 21+, not in the default parameters
+	
+	public static final String PARK    = "PARK";
+	public static final String SLEEP   = "SLEEP";
+	public static final String YIELD   = "YIELD";
+	public static final String BACKOFF = "BACKOFF";
+	
+	private ActorSystemFactory() {
+	}
+	
+	public static ActorSystem create(String impl, String threadMode) {
+		ActorSystem result = null;
+		
+		if (DEFAULT_UNBOUNDED.equals(impl))
+			result = new ActorSystem(true);
+		else if (DEFAULT_BOUNDED.equals(impl))
+			result = new ActorSystem(false);
+		else if (X.equals(impl))
+			result = new ActorSystem("x-actor4j-benchmark", XActorSystemImpl.class);
+		else if (WORK_STEALING.equals(impl))
+			result = new ActorSystem("ws-actor4j-benchmark", WorkStealingActorSystemImpl.class);
+		else if (VIRTUAL_THREAD.equals(impl))
+			result = new ActorSystem("vt-actor4j-benchmark", VirtualThreadActorSystemImpl.class);
+		else
+			throw new IllegalArgumentException(impl);
+		
+		if (PARK.equals(threadMode))
+			result.parkMode();
+		else if (SLEEP.equals(threadMode))
+			result.sleepMode();
+		else if (YIELD.equals(threadMode))
+			result.yieldMode();
+		else if (BACKOFF.equals(threadMode))
+			result.backoffMode();
+		else
+			throw new IllegalArgumentException(threadMode);
+		
+		return result;
+	}
+}
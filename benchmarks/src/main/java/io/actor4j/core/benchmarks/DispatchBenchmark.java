@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import io.actor4j.core.ActorMessageDispatcher;
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.ActorThreadPoolHandler;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Posts batches of messages from the benchmark thread directly through the
+ * different entry points of the dispatch path and waits until the receiving
+ * actor thread (<code>onRun</code> loop) has processed the whole batch. The
+ * batch size stays below the capacity of the bounded queues.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DispatchBenchmark extends ActorSystemBenchmark {
+	public static final int BATCH = 1_000;
+	
+	protected UUID sink;
+	protected volatile long processed;
+	protected long posted;
+	
+	protected ActorMessageDispatcher dispatcher;
+	protected ActorThreadPoolHandler handler;
+	
+	@Override
+	protected void configure(ActorSystem system) {
+		sink = system.addActor(() -> new Actor("sink") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				processed++;
+			}
+		});
+	}
+	
+	@Override
+	protected void started(ActorSystem system) {
+		dispatcher = system.underlyingImpl().getMessageDispatcher();
+		if (system.underlyingImpl().getExecuterService().getActorThreadPool()!=null)
+			handler = system.underlyingImpl().getExecuterService().getActorThreadPool().getActorThreadPoolHandler();
+	}
+	
+	protected void awaitProcessed() {
+		posted += BATCH;
+		while (processed<posted)
+			Thread.yield();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void post() {
+		for (int i=0; i<BATCH; i++)
+			dispatcher.post(new ActorMessage<>(null, 0, system.SYSTEM_ID, sink), system.SYSTEM_ID);
+		awaitProcessed();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void postOuter() {
+		for (int i=0; i<BATCH; i++)
+			dispatcher.postOuter(new ActorMessage<>(null, 0, system.SYSTEM_ID, sink));
+		awaitProcessed();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void postOuterBatch() {
+		List<ActorMessage<?>> messages = new ArrayList<>(BATCH);
+		for (int i=0; i<BATCH; i++)
+			messages.add(new ActorMessage<>(null, 0, system.SYSTEM_ID, sink));
+		dispatcher.postOuter(messages);
+		awaitProcessed();
+	}
+	
+	/*
+	 * Systems without actor threads (work-stealing) have no pool handler,
+	 * the messages are posted through the dispatcher instead.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void postInnerOuter() {
+		if (handler==null) {
+			post();
+			return;
+		}
+		
+		for (int i=0; i<BATCH; i++)
+			handler.postInnerOuter(new ActorMessage<>(null, 0, system.SYSTEM_ID, sink), system.SYSTEM_ID);
+		awaitProcessed();
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * A master scatters requests over a group of workers (spread over all actor
+ * threads) and gathers their replies. The total number of messages in flight
+ * stays below the capacity of the bounded queues.
+ */
+public class FanOutFanInBenchmark extends ActorSystemBenchmark {
+	public static final int WORKERS  = 16;
+	public static final int REQUESTS = 1_000;
+	
+	protected static final int START   = 1;
+	protected static final int REQUEST = 2;
+	protected static final int REPLY   = 3;
+	
+	protected UUID master;
+	protected volatile CountDownLatch done;
+	
+	@Override
+	protected void configure(ActorSystem system) {
+		List<UUID> workers = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==REQUEST)
+					tell(message.value, REPLY, message.source);
+			}
+		}, WORKERS);
+		
+		master = system.addActor(() -> new Actor("master") {
+			protected int pending;
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==START) {
+					pending = WORKERS*REQUESTS;
+					for (int i=0; i<REQUESTS; i++)
+						for (UUID worker : workers)
+							tell(i, REQUEST, worker);
+				}
+				else if (message.tag==REPLY) {
+					if (--pending==0)
+						done.countDown();
+				}
+			}
+		});
+	}
+	
+	protected void fanOutFanIn() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		done = latch;
+		system.send(new ActorMessage<>(null, START, system.SYSTEM_ID, master));
+		latch.await();
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@OperationsPerInvocation(2*WORKERS*REQUESTS)
+	public void throughput() throws InterruptedException {
+		fanOutFanIn();
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void latency() throws InterruptedException {
+		fanOutFanIn();
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Heap footprint of idle actors (no JMH benchmark): spawns idle actors
+ * without state and reports the retained heap per actor, including the
+ * registration in the actor system (cell, handle, maps).
+ * 
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar io.actor4j.core.benchmarks.FootprintMeasurement [impl] [actors]
+ * </pre>
+ */
+public final class FootprintMeasurement {
+	public static class IdleActor extends Actor {
+		@Override
+		public void receive(ActorMessage<?> message) {
+			// empty
+		}
+	}
+	
+	private FootprintMeasurement() {
+	}
+	
+	protected static long usedHeap(MemoryMXBean memory) throws InterruptedException {
+		for (int i=0; i<5; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+	
+	public static void main(String[] args) throws InterruptedException {
+		String impl = args.length>0 ? args[0] : ActorSystemFactory.DEFAULT_UNBOUNDED;
+		int actors = args.length>1 ? Integer.parseInt(args[1]) : 1_000_000;
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		
+		ActorSystem system = ActorSystemFactory.create(impl, ActorSystemFactory.PARK);
+		system.start();
+		system.spawnActors(() -> new IdleActor(), 1_000); // warm-up
+		
+		long before = usedHeap(memory);
+		system.spawnActors(() -> new IdleActor(), actors);
+		long after = usedHeap(memory);
+		
+		System.out.printf("%s: %d idle actors, %d bytes per actor%n", impl, actors, (after-before)/actors);
+		
+		system.shutdown(true);
+	}
+}
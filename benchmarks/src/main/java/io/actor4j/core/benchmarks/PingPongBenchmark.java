@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Two actors exchanging a single message back and forth. The throughput
+ * benchmark reports messages per second, the latency benchmark the
+ * distribution (including p99) of a single round trip.
+ */
+public class PingPongBenchmark extends ActorSystemBenchmark {
+	public static final int ROUND_TRIPS = 10_000;
+	
+	protected static final int START = 1;
+	protected static final int PING  = 2;
+	protected static final int PONG  = 3;
+	
+	protected UUID ping;
+	protected volatile CountDownLatch done;
+	
+	@Override
+	protected void configure(ActorSystem system) {
+		UUID pong = system.addActor(() -> new Actor("pong") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==PING)
+					tell(null, PONG, message.source);
+			}
+		});
+		
+		ping = system.addActor(() -> new Actor("ping") {
+			protected int remaining;
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==START) {
+					remaining = message.valueAsInt();
+					tell(null, PING, pong);
+				}
+				else if (message.tag==PONG) {
+					if (--remaining>0)
+						tell(null, PING, pong);
+					else
+						done.countDown();
+				}
+			}
+		});
+	}
+	
+	protected void roundTrips(int count) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		done = latch;
+		system.send(new ActorMessage<>(count, START, system.SYSTEM_ID, ping));
+		latch.await();
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@OperationsPerInvocation(2*ROUND_TRIPS)
+	public void throughput() throws InterruptedException {
+		roundTrips(ROUND_TRIPS);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void latency() throws InterruptedException {
+		roundTrips(1);
+	}
+}
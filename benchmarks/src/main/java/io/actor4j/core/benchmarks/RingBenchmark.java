@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * A ring of actors forwarding several tokens to their successor until each
+ * token has made its number of hops.
+ */
+public class RingBenchmark extends ActorSystemBenchmark {
+	public static final int RING_SIZE = 1_000;
+	public static final int TOKENS    = 8;
+	public static final int HOPS      = 10_000;
+	
+	protected static final int TOKEN = 1;
+	
+	protected final UUID[] ring = new UUID[RING_SIZE];
+	protected volatile CountDownLatch done;
+	
+	@Override
+	protected void configure(ActorSystem system) {
+		for (int i=0; i<RING_SIZE; i++) {
+			final int next = (i+1) % RING_SIZE;
+			ring[i] = system.addActor(() -> new Actor() {
+				@Override
+				public void receive(ActorMessage<?> message) {
+					if (message.tag==TOKEN) {
+						int remaining = message.valueAsInt()-1;
+						if (remaining>0)
+							tell(remaining, TOKEN, ring[next]);
+						else
+							done.countDown();
+					}
+				}
+			});
+		}
+	}
+	
+	protected void ring() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(TOKENS);
+		done = latch;
+		for (int i=0; i<TOKENS; i++)
+			system.send(new ActorMessage<>(HOPS, TOKEN, system.SYSTEM_ID, ring[i*RING_SIZE/TOKENS]));
+		latch.await();
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@OperationsPerInvocation(TOKENS*HOPS)
+	public void throughput() throws InterruptedException {
+		ring();
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void latency() throws InterruptedException {
+		ring();
+	}
+}
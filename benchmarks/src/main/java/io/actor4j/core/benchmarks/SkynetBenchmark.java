@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Skynet-style spawn tree: every actor spawns ten children until the leaves
+ * are reached, the leaves reply their number and every inner actor sums the
+ * replies of its children, reports to its parent and stops.
+ */
+public class SkynetBenchmark extends ActorSystemBenchmark {
+	public static final int LEAVES = 10_000;
+	public static final int ACTORS = 10 + 100 + 1_000 + 10_000;
+	
+	protected static final int START  = 1;
+	protected static final int RESULT = 2;
+	
+	protected UUID root;
+	protected volatile CountDownLatch done;
+	
+	public static class SkynetActor extends Actor {
+		protected final long num;
+		protected final long size;
+		
+		protected long sum;
+		protected int replies;
+		
+		public SkynetActor(long num, long size) {
+			super();
+			this.num = num;
+			this.size = size;
+		}
+		
+		@Override
+		public void preStart() {
+			if (size==1) {
+				tell(num, RESULT, getParent());
+				stop();
+			}
+			else
+				for (int i=0; i<10; i++) {
+					final long childNum = num + i*(size/10);
+					addChild(() -> new SkynetActor(childNum, size/10));
+				}
+		}
+		
+		@Override
+		public void receive(ActorMessage<?> message) {
+			if (message.tag==RESULT) {
+				sum += message.valueAsLong();
+				if (++replies==10) {
+					tell(sum, RESULT, getParent());
+					stop();
+				}
+			}
+		}
+	}
+	
+	@Override
+	protected void configure(ActorSystem system) {
+		root = system.addActor(() -> new Actor("skynet") {
+			protected long sum;
+			protected int replies;
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==START) {
+					sum = 0;
+					replies = 0;
+					for (int i=0; i<10; i++) {
+						final long childNum = i*(LEAVES/10);
+						addChild(() -> new SkynetActor(childNum, LEAVES/10));
+					}
+				}
+				else if (message.tag==RESULT) {
+					sum += message.valueAsLong();
+					if (++replies==10)
+						done.countDown();
+				}
+			}
+		});
+	}
+	
+	protected void skynet() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		done = latch;
+		system.send(new ActorMessage<>(null, START, system.SYSTEM_ID, root));
+		latch.await();
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@OperationsPerInvocation(ACTORS)
+	public void throughput() throws InterruptedException {
+		skynet();
+	}
+	
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void latency() throws InterruptedException {
+		skynet();
+	}
+}
@@ -19,20 +19,17 @@ package io.actor4j.core;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
-import java.util.function.Function;
-
-import org.apache.commons.math3.stat.descriptive.SynchronizedDescriptiveStatistics;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -42,7 +39,10 @@ import io.actor4j.core.actors.PersistenceId;
 import io.actor4j.core.actors.PersistentActor;
 import io.actor4j.core.exceptions.ActorInitializationException;
 import io.actor4j.core.exceptions.ActorKilledException;
+import io.actor4j.core.deadletters.DeadLetterReason;
 import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.metrics.LogHistogram;
+import io.actor4j.core.metrics.LogHistogramStatistics;
 import io.actor4j.core.persistence.ActorPersistenceObject;
 import io.actor4j.core.persistence.actor.PersistenceServiceActor;
 import io.actor4j.core.protocols.RecoverProtocol;
@@ -60,6 +60,7 @@ public class ActorCell {
 		protected final Consumer<ActorPersistenceObject> onSuccess;
 		protected final Consumer<Exception> onFailure;
 		protected final List<ActorPersistenceObject> objects;
+		protected Object event; // see ActorEventSink::beginPersistence
 		
 		public PersistenceTuple(Consumer<ActorPersistenceObject> onSuccess, Consumer<Exception> onFailure, List<ActorPersistenceObject> objects) {
 			super();
@@ -75,26 +76,26 @@ public class ActorCell {
 	protected final UUID id;
 	
 	protected UUID parent;
-	protected final Queue<UUID> children;
-	
-	protected final AtomicBoolean active;
+	protected volatile Queue<UUID> children; // allocated on first use
 	
-	protected final Deque<Consumer<ActorMessage<?>>> behaviourStack;
+	protected volatile boolean active;
 	
-	protected final RestartProtocol restartProtocol;
-	protected final StopProtocol stopProtocol;
-	protected final RecoverProtocol recoverProtocol;
+	protected Deque<Consumer<ActorMessage<?>>> behaviourStack; // allocated on first use, only accessed by the actor
 	
-	protected final Queue<UUID> deathWatcher;
+	protected volatile Queue<UUID> deathWatcher; // allocated on first use
 	
-	protected final Function<ActorMessage<?>, Boolean> processedDirective;
 	protected boolean activeDirectiveBehaviour;
 	
-	protected final Queue<PersistenceTuple> persistenceTuples;
+	protected Queue<PersistenceTuple> persistenceTuples; // allocated on first use, only accessed by the actor
 	
-	protected final AtomicLong requestRate;
-	protected final /*thread-safe*/SynchronizedDescriptiveStatistics processingTimeStatistics; 
-			
+	protected volatile AtomicLong requestRate; // allocated on first use
+	protected volatile LogHistogram processingTimeHistogram; // allocated on first use
+	
+	/*
+	 * The parts of an actor cell, that are not needed by an idle actor (protocols,
+	 * children, death watchers, behaviours, persistence tuples, statistics) are
+	 * allocated on first use, to keep the footprint of idle actors small.
+	 */
 	public ActorCell(ActorSystemImpl system, Actor actor) {
 		super();
 		
@@ -104,69 +105,55 @@ public class ActorCell {
 		UUID persistenceId = persistenceId();
 		this.id = (persistenceId!=null)? persistenceId : UUID.randomUUID();
 		
-		children = new ConcurrentLinkedQueue<>();
-		
-		active = new AtomicBoolean(true);
-		
-		behaviourStack = new ArrayDeque<>();
-		
-		restartProtocol = new RestartProtocol(this);
-		stopProtocol = new StopProtocol(this);
-		recoverProtocol = new RecoverProtocol(this);
-		
-		deathWatcher =  new ConcurrentLinkedQueue<>();
+		active = true;
+	}
+	
+	protected boolean processedDirective(ActorMessage<?> message) {
+		boolean result = false;
 		
-		processedDirective = new Function<ActorMessage<?>, Boolean>() {
-			@Override
-			public Boolean apply(ActorMessage<?> message) {
-				boolean result = false;
-				
-				if (isDirective(message) && !activeDirectiveBehaviour) {
-					result = true;
-					if (message.tag==INTERNAL_RESTART || message.tag==INTERNAL_STOP)
-						activeDirectiveBehaviour = true;
-						
-					if (message.tag==INTERNAL_RESTART) {
-						if (message.value instanceof Exception)
-							preRestart((Exception)message.value);
-						else
-							preRestart(null);
-					}
-					else if (message.tag==INTERNAL_STOP)
-						stop();
-					else if (message.tag==INTERNAL_KILL) 
-						throw new ActorKilledException();
-					else if (message.tag==INTERNAL_ACTIVATE)
-						active.set(true);
-					else if (message.tag==INTERNAL_DEACTIVATE)
-						active.set(false);
-					else if (message.tag==INTERNAL_RECOVER)
-						recoverProtocol.apply();
-					else if (message.tag==INTERNAL_PERSISTENCE_RECOVER)
-						recover(message);
-					else if (message.tag==INTERNAL_PERSISTENCE_SUCCESS) {
-						PersistenceTuple tuple = persistenceTuples.poll();
-						if (tuple.onSuccess!=null)
-							for (int i=0; i<tuple.objects.size(); i++)
-								tuple.onSuccess.accept(tuple.objects.get(i));
-					}
-					else if (message.tag==INTERNAL_PERSISTENCE_FAILURE) {
-						PersistenceTuple tuple = persistenceTuples.poll();
-						if (tuple.onFailure!=null)
-							tuple.onFailure.accept((Exception)message.value);
-					}
-					else
-						result = false;
-				}
+		if (isDirective(message) && !activeDirectiveBehaviour) {
+			result = true;
+			if (message.tag==INTERNAL_RESTART || message.tag==INTERNAL_STOP)
+				activeDirectiveBehaviour = true;
 				
-				return result;
-			}	
-		};
-		
-		persistenceTuples = new LinkedList<>();
+			if (message.tag==INTERNAL_RESTART) {
+				if (message.value instanceof Exception)
+					preRestart((Exception)message.value);
+				else
+					preRestart(null);
+			}
+			else if (message.tag==INTERNAL_STOP)
+				stop();
+			else if (message.tag==INTERNAL_KILL) 
+				throw new ActorKilledException();
+			else if (message.tag==INTERNAL_ACTIVATE)
+				active = true;
+			else if (message.tag==INTERNAL_DEACTIVATE)
+				active = false;
+			else if (message.tag==INTERNAL_RECOVER)
+				new RecoverProtocol(this).apply();
+			else if (message.tag==INTERNAL_PERSISTENCE_RECOVER)
+				recover(message);
+			else if (message.tag==INTERNAL_PERSISTENCE_SUCCESS) {
+				PersistenceTuple tuple = persistenceTuples.poll();
+				if (system.eventSink!=null)
+					system.eventSink.endPersistence(tuple.event, id, tuple.objects.size(), true);
+				if (tuple.onSuccess!=null)
+					for (int i=0; i<tuple.objects.size(); i++)
+						tuple.onSuccess.accept(tuple.objects.get(i));
+			}
+			else if (message.tag==INTERNAL_PERSISTENCE_FAILURE) {
+				PersistenceTuple tuple = persistenceTuples.poll();
+				if (system.eventSink!=null)
+					system.eventSink.endPersistence(tuple.event, id, tuple.objects.size(), false);
+				if (tuple.onFailure!=null)
+					tuple.onFailure.accept((Exception)message.value);
+			}
+			else
+				result = false;
+		}
 		
-		requestRate = new AtomicLong(0);
-		processingTimeStatistics = new SynchronizedDescriptiveStatistics();
+		return result;
 	}
 	
 	public ActorSystemImpl getSystem() {
@@ -194,15 +181,33 @@ public class ActorCell {
 	}
 	
 	public Queue<UUID> getChildren() {
-		return children;
+		Queue<UUID> result = children;
+		if (result==null)
+			synchronized (this) {
+				if ((result=children)==null)
+					children = result = new ConcurrentLinkedQueue<>();
+			}
+		
+		return result;
+	}
+	
+	protected Queue<UUID> getDeathWatcher() {
+		Queue<UUID> result = deathWatcher;
+		if (result==null)
+			synchronized (this) {
+				if ((result=deathWatcher)==null)
+					deathWatcher = result = new ConcurrentLinkedQueue<>();
+			}
+		
+		return result;
 	}
 	
 	public boolean isActive() {
-		return active.get();
+		return active;
 	}
 
 	public void setActive(boolean active) {
-		this.active.set(active);
+		this.active = active;
 	}
 
 	public void setActiveDirectiveBehaviour(boolean activeDirectiveBehaviour) {
@@ -218,16 +223,22 @@ public class ActorCell {
 	}
 	
 	public void internal_receive(ActorMessage<?> message) {
-		if (!processedDirective.apply(message) && active.get()) {
-			Consumer<ActorMessage<?>> behaviour = behaviourStack.peek();
-			if (behaviour==null)
-				actor.receive(message);
+		if (!processedDirective(message)) {
+			if (active) {
+				Consumer<ActorMessage<?>> behaviour = behaviourStack!=null ? behaviourStack.peek() : null;
+				if (behaviour==null)
+					actor.receive(message);
+				else
+					behaviour.accept(message);
+			}
 			else
-				behaviour.accept(message);	
+				system.deadLetter(message, DeadLetterReason.INACTIVE);
 		}
 	}
 	
 	public void become(Consumer<ActorMessage<?>> behaviour, boolean replace) {
+		if (behaviourStack==null)
+			behaviourStack = new ArrayDeque<>(4);
 		if (replace && !behaviourStack.isEmpty())
 			behaviourStack.pop();
 		behaviourStack.push(behaviour);
@@ -238,11 +249,14 @@ public class ActorCell {
 	}
 	
 	public void unbecome() {
+		if (behaviourStack==null)
+			throw new NoSuchElementException();
 		behaviourStack.pop();
 	}
 	
 	public void unbecomeAll() {
-		behaviourStack.clear();
+		if (behaviourStack!=null)
+			behaviourStack.clear();
 	}
 	
 	public void send(ActorMessage<?> message) {
@@ -252,20 +266,30 @@ public class ActorCell {
 			system.bufferQueue.offer(message.copy());
 	}
 	
+	public void send(Collection<ActorMessage<?>> messages) {
+		if (system.messagingEnabled.get())
+			system.messageDispatcher.post(messages, id);
+		else
+			for (ActorMessage<?> message : messages)
+				system.bufferQueue.offer(message.copy());
+	}
+	
+	public void send(ActorMessage<?> message, Collection<UUID> dests) {
+		if (system.messagingEnabled.get())
+			system.messageDispatcher.post(message, dests, id);
+		else
+			for (UUID dest : dests) {
+				message.dest = dest;
+				system.bufferQueue.offer(message.copy());
+			}
+	}
+	
 	public void send(ActorMessage<?> message, String alias) {
 		if (system.messagingEnabled.get())
 			system.messageDispatcher.post(message, id, alias);
 		else {
 			if (alias!=null) {
-				List<UUID> destinations = system.getActorsFromAlias(alias);
-
-				UUID dest = null;
-				if (!destinations.isEmpty()) {
-					if (destinations.size()==1)
-						dest = destinations.get(0);
-					else
-						dest = destinations.get(ThreadLocalRandom.current().nextInt(destinations.size()));
-				}
+				UUID dest = system.routeAlias(alias, message);
 				message.dest = (dest!=null) ? dest : ActorMessageDispatcher.UUID_ALIAS;
 				system.bufferQueue.offer(message.copy());
 			}
@@ -299,7 +323,7 @@ public class ActorCell {
 	
 	protected UUID internal_addChild(ActorCell cell) {
 		cell.parent = id;
-		children.add(cell.id);
+		getChildren().add(cell.id);
 		system.internal_addCell(cell);
 		
 		return cell.id;
@@ -348,7 +372,7 @@ public class ActorCell {
 	}
 	
 	public void preStart() {
-		recoverProtocol.apply();
+		new RecoverProtocol(this).apply();
 		actor.preStart();
 	}
 	
@@ -365,35 +389,37 @@ public class ActorCell {
 	}
 	
 	public void restart(Exception reason) {
-		restartProtocol.apply(reason);
+		new RestartProtocol(this).apply(reason);
 	}
 	
 	public void stop() {
-		stopProtocol.apply();
+		new StopProtocol(this).apply();
 	}
 	
 	public void internal_stop() {
 		if (parent!=null)
-			system.cells.get(parent).children.remove(id);
+			system.cells.get(parent).getChildren().remove(id);
 		system.messageDispatcher.unregisterCell(this);
 		system.removeActor(id);
 		
-		Iterator<UUID> iterator = deathWatcher.iterator();
-		while (iterator.hasNext()) {
-			UUID dest = iterator.next();
-			system.sendAsDirective(new ActorMessage<>(null, INTERNAL_STOP_SUCCESS, id, dest));
+		if (deathWatcher!=null) {
+			Iterator<UUID> iterator = deathWatcher.iterator();
+			while (iterator.hasNext()) {
+				UUID dest = iterator.next();
+				system.sendAsDirective(new ActorMessage<>(null, INTERNAL_STOP_SUCCESS, id, dest));
+			}
 		}
 	}
 	
 	public void watch(UUID dest) {
 		ActorCell cell = system.cells.get(dest);
 		if (cell!=null)
-			cell.deathWatcher.add(id);
+			cell.getDeathWatcher().add(id);
 	}
 	
 	public void unwatch(UUID dest) {
 		ActorCell cell = system.cells.get(dest);
-		if (cell!=null)
+		if (cell!=null && cell.deathWatcher!=null)
 			cell.deathWatcher.remove(id);
 	}
 	
@@ -404,8 +430,12 @@ public class ActorCell {
 			for (ActorPersistenceObject obj : list)
 				obj.persistenceId = persistenceId();
 			PersistenceTuple tuple = new PersistenceTuple((Consumer<ActorPersistenceObject>)onSuccess, onFailure, list);
+			if (system.eventSink!=null)
+				tuple.event = system.eventSink.beginPersistence();
 			try {
 				system.messageDispatcher.postPersistence(new ActorMessage<String>(new ObjectMapper().writeValueAsString(events), PersistenceServiceActor.PERSIST_EVENTS, id, null));
+				if (persistenceTuples==null)
+					persistenceTuples = new LinkedList<>();
 				persistenceTuples.offer(tuple);
 			} catch (JsonProcessingException e) {
 				e.printStackTrace();
@@ -421,8 +451,12 @@ public class ActorCell {
 			List<ActorPersistenceObject> list = new ArrayList<>();
 			list.add(state);
 			PersistenceTuple tuple = new PersistenceTuple((Consumer<ActorPersistenceObject>)onSuccess, onFailure, list);
+			if (system.eventSink!=null)
+				tuple.event = system.eventSink.beginPersistence();
 			try {
 				system.messageDispatcher.postPersistence(new ActorMessage<String>(new ObjectMapper().writeValueAsString(state), PersistenceServiceActor.PERSIST_STATE, id, null));
+				if (persistenceTuples==null)
+					persistenceTuples = new LinkedList<>();
 				persistenceTuples.offer(tuple);
 			} catch (JsonProcessingException e) {
 				e.printStackTrace();
@@ -434,7 +468,7 @@ public class ActorCell {
 	public void recover(ActorMessage<?> message) {
 		if (system.persistenceMode && actor instanceof PersistentActor) {
 			((PersistentActor<?, ?>)actor).recover(message.valueAsString());
-			active.set(true);
+			active = true;
 		}
 	}
 	
@@ -447,6 +481,42 @@ public class ActorCell {
 	}
 
 	public AtomicLong getRequestRate() {
-		return requestRate;
+		AtomicLong result = requestRate;
+		if (result==null)
+			synchronized (this) {
+				if ((result=requestRate)==null)
+					requestRate = result = new AtomicLong(0);
+			}
+		
+		return result;
+	}
+	
+	protected void incrementRequestRate() {
+		AtomicLong requestRate = this.requestRate;
+		if (requestRate!=null)
+			requestRate.incrementAndGet();
+		else
+			getRequestRate().incrementAndGet();
+	}
+	
+	/**
+	 * @return the processing times in nanoseconds (see ActorSystemImpl::processingTimeMode)
+	 */
+	public LogHistogram getProcessingTimeHistogram() {
+		LogHistogram result = processingTimeHistogram;
+		if (result==null)
+			synchronized (this) {
+				if ((result=processingTimeHistogram)==null)
+					processingTimeHistogram = result = new LogHistogram();
+			}
+		
+		return result;
+	}
+	
+	/**
+	 * @return the statistics of the processing times in nanoseconds, derived from the histogram
+	 */
+	public LogHistogramStatistics getProcessingTimeStatistics() {
+		return LogHistogramStatistics.of(getProcessingTimeHistogram());
 	}
 }
@@ -35,6 +35,8 @@ import io.actor4j.core.actors.Actor;
 import io.actor4j.core.failsafe.ErrorHandler;
 import io.actor4j.core.failsafe.FailsafeManager;
 import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.metrics.ActorMetricsHttpServer;
+import io.actor4j.core.metrics.ActorMetricsJmxExporter;
 import io.actor4j.core.persistence.ActorPersistenceService;
 
 public class ActorExecuterService {
@@ -42,7 +44,8 @@ public class ActorExecuterService {
 	
 	protected final FailsafeManager failsafeManager;
 	
-	protected ActorThreadPool actorThreadPool;
+	protected ActorProcessPool actorProcessPool;
+	protected ActorThreadPool actorThreadPool; // actorProcessPool, if based on actor threads
 	protected Runnable onTermination;
 	
 	protected final AtomicBoolean started;
@@ -56,6 +59,10 @@ public class ActorExecuterService {
 	
 	protected ScheduledExecutorService podReplicationControllerExecuterService;
 	protected PodReplicationControllerRunnable podReplicationControllerRunnable;
+	protected ActorRebalancingRunnable rebalancingRunnable;
+	
+	protected ActorMetricsJmxExporter metricsJmxExporter;
+	protected ActorMetricsHttpServer metricsHttpServer;
 	
 	protected int maxResourceThreads;
 	
@@ -91,6 +98,10 @@ public class ActorExecuterService {
 						systemLogger().fatal(
 								String.format("[SAFETY] Exception in PodReplicationControllerThread"));
 					}
+					else if (message.equals("rebalancing")) {
+						systemLogger().fatal(
+								String.format("[SAFETY] Exception in rebalancing of actors"));
+					}
 				}
 				else {
 					systemLogger().fatal(
@@ -110,6 +121,10 @@ public class ActorExecuterService {
 		return failsafeManager;
 	}
 	
+	public ActorProcessPool getActorProcessPool() {
+		return actorProcessPool;
+	}
+	
 	public ActorThreadPool getActorThreadPool() {
 		return actorThreadPool;
 	}
@@ -138,7 +153,14 @@ public class ActorExecuterService {
 		
 		this.onTermination = onTermination;
 		
-		actorThreadPool = new ActorThreadPool(system);
+		try {
+			Constructor<? extends ActorProcessPool> constructor = system.actorProcessPoolClass.getConstructor(ActorSystemImpl.class);
+			actorProcessPool = constructor.newInstance(system);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		if (actorProcessPool instanceof ActorThreadPool)
+			actorThreadPool = (ActorThreadPool)actorProcessPool;
 		
 		podReplicationControllerExecuterService = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory("actor4j-replication-controller-thread"));
 		try {
@@ -150,6 +172,31 @@ public class ActorExecuterService {
 		}
 		if (podReplicationControllerRunnable!=null)
 			podReplicationControllerExecuterService.scheduleAtFixedRate(podReplicationControllerRunnable, system.horizontalPodAutoscalerSyncTime, system.horizontalPodAutoscalerSyncTime, TimeUnit.MILLISECONDS);
+		if (system.rebalancingMode && actorThreadPool!=null) {
+			rebalancingRunnable = new ActorRebalancingRunnable(system);
+			podReplicationControllerExecuterService.scheduleAtFixedRate(rebalancingRunnable, system.rebalancingSyncTime, system.rebalancingSyncTime, TimeUnit.MILLISECONDS);
+		}
+		if (system.processingTimeMode && system.processingTimeResetInterval>0)
+			podReplicationControllerExecuterService.scheduleAtFixedRate(() -> system.resetProcessingTimeHistograms(), 
+				system.processingTimeResetInterval, system.processingTimeResetInterval, TimeUnit.MILLISECONDS);
+		if (system.mailboxLatencyMode && system.mailboxLatencyResetInterval>0)
+			podReplicationControllerExecuterService.scheduleAtFixedRate(() -> system.resetMailboxLatencyHistograms(), 
+				system.mailboxLatencyResetInterval, system.mailboxLatencyResetInterval, TimeUnit.MILLISECONDS);
+		
+		if (system.metricsJmxMode)
+			try {
+				metricsJmxExporter = new ActorMetricsJmxExporter(system.metrics, system.name);
+				metricsJmxExporter.register();
+			} catch (Exception e) {
+				systemLogger().error(String.format("[METRICS] JMX export failed: %s", e.getMessage()));
+			}
+		if (system.metricsPrometheusPort>=0)
+			try {
+				metricsHttpServer = new ActorMetricsHttpServer(system.metrics, system.metricsPrometheusPort);
+				metricsHttpServer.start();
+			} catch (Exception e) {
+				systemLogger().error(String.format("[METRICS] Prometheus endpoint failed: %s", e.getMessage()));
+			}
 		
 		/*
 		 * necessary before executing onStartup; 
@@ -173,6 +220,17 @@ public class ActorExecuterService {
 	public ActorTimer globalTimer() {
 		return globalTimerExecuterService;
 	}
+	
+	public ActorMetricsJmxExporter getMetricsJmxExporter() {
+		return metricsJmxExporter;
+	}
+	
+	/**
+	 * @return the running Prometheus endpoint, or null
+	 */
+	public ActorMetricsHttpServer getMetricsHttpServer() {
+		return metricsHttpServer;
+	}
 
 	public void clientViaAlias(final ActorMessage<?> message, final String alias) {
 		if (system.clientRunnable!=null)
@@ -224,6 +282,17 @@ public class ActorExecuterService {
 	public void shutdown(boolean await) {
 		podReplicationControllerExecuterService.shutdown();
 		
+		if (metricsJmxExporter!=null)
+			try {
+				metricsJmxExporter.unregister();
+			} catch (Exception e) {
+				systemLogger().error(String.format("[METRICS] JMX export failed: %s", e.getMessage()));
+			}
+		metricsJmxExporter = null;
+		if (metricsHttpServer!=null)
+			metricsHttpServer.stop();
+		metricsHttpServer = null;
+		
 		globalTimerExecuterService.shutdown();
 		timerExecuterService.shutdown();
 		
@@ -231,7 +300,7 @@ public class ActorExecuterService {
 		if (system.clientMode)
 			clientExecuterService.shutdown();
 		
-		actorThreadPool.shutdown(onTermination, await);
+		actorProcessPool.shutdown(onTermination, await);
 		
 		if (system.persistenceMode)
 			persistenceService.shutdown();
@@ -240,9 +309,9 @@ public class ActorExecuterService {
 	}
 	
 	public long getCount() {
-		return actorThreadPool!=null ? actorThreadPool.getCount() : 0;
+		return actorProcessPool!=null ? actorProcessPool.getCount() : 0;
 	}
 	public List<Long> getCounts() {
-		return actorThreadPool!=null ? actorThreadPool.getCounts() : new ArrayList<>();
+		return actorProcessPool!=null ? actorProcessPool.getCounts() : new ArrayList<>();
 	}
 }
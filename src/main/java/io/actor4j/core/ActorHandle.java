@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolved address of a registered actor: its cell and the actor thread that
+ * owns it. The dispatcher and the actor threads use the handle instead of
+ * looking up the destination in several maps per message. A handle is only
+ * valid as long as the actor is registered and not redirected; otherwise the
+ * regular lookup is used.
+ * <p>
+ * The handles are also the routing table of the dispatcher: one entry per id
+ * with the kind of the cell and its redirection, if any.
+ */
+public class ActorHandle {
+	protected final ActorCell cell; // null, for REDIRECT
+	protected volatile ActorThread thread; // null, for PSEUDO and REDIRECT
+	protected volatile boolean valid; // ACTOR, that is not redirected
+	protected volatile ActorCellKind kind;
+	protected volatile UUID redirect;
+	protected volatile ActorHandover handover; // current migration of the actor
+	protected final ActorMailboxQuota quota; // null, if not limited
+	
+	protected volatile int epoch; // incremented with each change of the thread
+	protected final AtomicInteger[] producers; // senders per epoch (odd, even), that are posting to the thread
+	
+	public ActorHandle(ActorCell cell, ActorThread thread) {
+		this(cell, thread, null);
+	}
+	
+	public ActorHandle(ActorCell cell, ActorThread thread, ActorMailboxQuota quota) {
+		this(cell, thread, quota, ActorCellKind.ACTOR);
+	}
+	
+	public ActorHandle(ActorCell cell, ActorThread thread, ActorMailboxQuota quota, ActorCellKind kind) {
+		super();
+		
+		this.cell = cell;
+		this.thread = thread;
+		this.quota = quota;
+		this.kind = kind;
+		
+		producers = new AtomicInteger[] { new AtomicInteger(0), new AtomicInteger(0) };
+	}
+	
+	/*
+	 * Registers a sender, before it reads the thread and posts the message.
+	 */
+	protected int enter() {
+		for (;;) {
+			int result = epoch;
+			producers[result & 1].incrementAndGet();
+			if (result==epoch)
+				return result;
+			producers[result & 1].decrementAndGet();
+		}
+	}
+	
+	protected void exit(int epoch) {
+		producers[epoch & 1].decrementAndGet();
+	}
+	
+	/*
+	 * Changes the thread and waits until all senders, that could have read
+	 * the previous thread, have posted their messages.
+	 */
+	protected void switchThread(ActorThread thread) {
+		int previous = epoch;
+		this.thread = thread;
+		epoch = previous + 1;
+		
+		while (producers[previous & 1].get()!=0)
+			Thread.yield();
+	}
+	
+	public ActorCell getCell() {
+		return cell;
+	}
+	
+	public ActorThread getThread() {
+		return thread;
+	}
+	
+	public boolean isValid() {
+		return valid;
+	}
+	
+	public ActorCellKind getKind() {
+		return kind;
+	}
+	
+	public UUID getRedirect() {
+		return redirect;
+	}
+	
+	public ActorMailboxQuota getQuota() {
+		return quota;
+	}
+	
+	public ActorHandover getHandover() {
+		return handover;
+	}
+	
+	public void invalidate() {
+		valid = false;
+	}
+}
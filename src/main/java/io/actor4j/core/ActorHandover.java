@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jctools.queues.MpscLinkedQueue;
+
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Migration of an actor from one actor thread to another, preserving the
+ * order of its messages:
+ * <ol>
+ * <li>the old thread switches the owner of the handle to the new thread and
+ * waits for the senders, that could still post to the old thread,</li>
+ * <li>it processes its own local messages for the actor and puts a marker
+ * into each of its shared queues,</li>
+ * <li>until all markers are processed, the old thread keeps processing the
+ * messages for the actor, while the new thread stashes them,</li>
+ * <li>afterwards the new thread processes the stash first.</li>
+ * </ol>
+ */
+public class ActorHandover {
+	protected final ActorHandle handle;
+	protected final ActorThread from;
+	protected final ActorThread to;
+	
+	protected final AtomicInteger markers;
+	protected final Queue<ActorMessage<?>> stash;
+	
+	protected volatile boolean started;
+	protected volatile boolean done;
+	
+	public ActorHandover(ActorHandle handle, ActorThread from, ActorThread to) {
+		super();
+		
+		this.handle = handle;
+		this.from = from;
+		this.to = to;
+		
+		markers = new AtomicInteger(0);
+		stash = new MpscLinkedQueue<>();
+	}
+	
+	public ActorHandle getHandle() {
+		return handle;
+	}
+	
+	public ActorThread getFrom() {
+		return from;
+	}
+	
+	public ActorThread getTo() {
+		return to;
+	}
+	
+	public boolean isStarted() {
+		return started;
+	}
+	
+	public boolean isDone() {
+		return done;
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jctools.queues.MpscLinkedQueue;
+
+import io.actor4j.core.deadletters.DeadLetterReason;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Mailbox of a single actor, used by the {@link WorkStealingActorProcessPool}.
+ * The mailbox is scheduled on the work-stealing pool as soon as it receives a
+ * message and processes up to <code>throughput</code> messages per activation
+ * (directives and priority messages are always processed completely).
+ */
+public class ActorMailbox implements Runnable {
+	protected final WorkStealingActorProcessPool pool;
+	protected final ActorSystemImpl system;
+	protected final ActorCell cell;
+	
+	protected final Queue<ActorMessage<?>> directiveQueue;
+	protected final Queue<ActorMessage<?>> priorityQueue;
+	protected final Queue<ActorMessage<?>> outerQueue;
+	
+	protected final AtomicBoolean scheduled;
+	protected volatile boolean registered;
+	protected volatile boolean valid;
+	
+	public ActorMailbox(WorkStealingActorProcessPool pool, ActorCell cell) {
+		super();
+		
+		this.pool = pool;
+		this.system = cell.system;
+		this.cell = cell;
+		
+		directiveQueue = new MpscLinkedQueue<>(); /* unbounded */
+		priorityQueue  = new PriorityLaneQueue(); /* unbounded, lock-free */
+		outerQueue     = new MpscLinkedQueue<>(); /* unbounded */
+		
+		scheduled = new AtomicBoolean(false);
+		registered = true;
+	}
+	
+	public ActorCell getCell() {
+		return cell;
+	}
+	
+	public void directiveQueue(ActorMessage<?> message) {
+		directiveQueue.offer(message);
+		schedule();
+	}
+	
+	public void priorityQueue(ActorMessage<?> message) {
+		priorityQueue.offer(message);
+		schedule();
+	}
+	
+	public void outerQueue(ActorMessage<?> message) {
+		outerQueue.offer(message);
+		schedule();
+	}
+	
+	protected void schedule() {
+		if (!scheduled.get() && scheduled.compareAndSet(false, true))
+			pool.execute(this);
+	}
+	
+	public boolean isEmpty() {
+		return directiveQueue.isEmpty() && priorityQueue.isEmpty() && outerQueue.isEmpty();
+	}
+	
+	public int size() {
+		return directiveQueue.size() + priorityQueue.size() + outerQueue.size();
+	}
+	
+	protected void failsafeMethod(ActorMessage<?> message) {
+		try {
+			cell.internal_receive(message);
+		}
+		catch(Exception e) {
+			system.executerService.failsafeManager.notifyErrorHandler(e, "actor", cell.id);
+			system.actorStrategyOnFailure.handle(cell, e);
+		}	
+	}
+	
+	protected boolean poll(Queue<ActorMessage<?>> queue) {
+		boolean result = false;
+		
+		ActorMessage<?> message = queue.poll();
+		if (message!=null) {
+			if (registered) {
+				cell.incrementRequestRate();
+				failsafeMethod(message);
+			}
+			else
+				system.deadLetter(message, DeadLetterReason.UNKNOWN_DESTINATION); // actor was removed meanwhile
+			if (system.counterEnabled)
+				pool.count();
+			
+			result = true;
+		}
+		
+		return result;
+	}
+	
+	@Override
+	public void run() {
+		try {
+			while (poll(directiveQueue));
+			while (poll(priorityQueue));
+			for (int i=0; i<system.throughput && poll(outerQueue); i++);
+		}
+		finally {
+			scheduled.set(false);
+			if (!isEmpty())
+				schedule();
+		}
+	}
+}
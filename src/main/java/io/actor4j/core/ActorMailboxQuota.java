@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.actor4j.core.deadletters.DeadLetterReason;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Limits the number of pending messages of a single actor, independent of
+ * the (shared) queues of its actor thread. Directives and priority messages
+ * are not limited.
+ * <p>
+ * The counters are updated per actor and can be read at any time.
+ */
+public class ActorMailboxQuota {
+	protected static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	
+	protected final int capacity;
+	protected final ActorOverflowPolicy policy;
+	protected final long timeoutNanos; // only BLOCK_SENDER
+	
+	protected final AtomicInteger pending;
+	protected final AtomicInteger drops; // pending messages to drop (DROP_OLDEST)
+	
+	protected final AtomicLong accepted;
+	protected final AtomicLong rejected;
+	protected final AtomicLong dropped;
+	protected final AtomicLong blocked;
+	protected final AtomicLong timeouts;
+	protected final AtomicLong deadLetters;
+	
+	public ActorMailboxQuota(int capacity, ActorOverflowPolicy policy) {
+		this(capacity, policy, 0, TimeUnit.MILLISECONDS);
+	}
+	
+	public ActorMailboxQuota(int capacity, ActorOverflowPolicy policy, long timeout, TimeUnit unit) {
+		super();
+		
+		if (capacity<1)
+			throw new IllegalArgumentException("capacity must be positive");
+		if (policy==null)
+			throw new NullPointerException();
+		
+		this.capacity = capacity;
+		this.policy = policy;
+		this.timeoutNanos = unit.toNanos(timeout);
+		
+		pending = new AtomicInteger(0);
+		drops = new AtomicInteger(0);
+		
+		accepted = new AtomicLong(0);
+		rejected = new AtomicLong(0);
+		dropped = new AtomicLong(0);
+		blocked = new AtomicLong(0);
+		timeouts = new AtomicLong(0);
+		deadLetters = new AtomicLong(0);
+	}
+	
+	protected boolean tryAcquire() {
+		for (;;) {
+			int current = pending.get();
+			if (current>=capacity)
+				return false;
+			if (pending.compareAndSet(current, current+1))
+				return true;
+		}
+	}
+	
+	/*
+	 * At most capacity pending messages are marked to be dropped (DROP_OLDEST).
+	 */
+	protected boolean tryDrop() {
+		for (;;) {
+			int current = drops.get();
+			if (current>=capacity)
+				return false;
+			if (drops.compareAndSet(current, current+1))
+				return true;
+		}
+	}
+	
+	protected boolean await() {
+		blocked.incrementAndGet();
+		
+		long deadline = System.nanoTime() + timeoutNanos;
+		long parkNanos = 1_000;
+		for (;;) {
+			if (tryAcquire())
+				return true;
+			long remaining = deadline - System.nanoTime();
+			if (remaining<=0)
+				return false;
+			LockSupport.parkNanos(Math.min(parkNanos, remaining));
+			parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+		}
+	}
+	
+	/**
+	 * Called by the sender, before the message is enqueued.
+	 * 
+	 * @return true, if the message has to be enqueued
+	 */
+	protected boolean admit(ActorSystemImpl system, ActorMessage<?> message) {
+		boolean result = tryAcquire();
+		
+		if (!result)
+			switch (policy) {
+				case BLOCK_SENDER:
+					if (Thread.currentThread() instanceof ActorThread) {
+						rejected.incrementAndGet();
+						system.deadLetter(message, DeadLetterReason.MAILBOX_QUOTA);
+					}
+					else if (await())
+						result = true;
+					else {
+						timeouts.incrementAndGet();
+						system.deadLetter(message, DeadLetterReason.MAILBOX_QUOTA);
+					}
+					break;
+				case DEAD_LETTERS:
+					deadLetters.incrementAndGet();
+					system.deadLetter(message, DeadLetterReason.MAILBOX_QUOTA);
+					break;
+				case DROP_OLDEST:
+					if (tryDrop()) {
+						pending.incrementAndGet();
+						result = true;
+						break;
+					}
+					// falls through, as REJECT_NEW
+				default:
+					rejected.incrementAndGet();
+					system.deadLetter(message, DeadLetterReason.MAILBOX_QUOTA);
+			}
+		
+		if (result)
+			accepted.incrementAndGet();
+		
+		return result;
+	}
+	
+	/**
+	 * Called by the actor thread, before the message is processed.
+	 * 
+	 * @return true, if the message has to be dropped
+	 */
+	protected boolean release() {
+		pending.decrementAndGet();
+		
+		for (;;) {
+			int current = drops.get();
+			if (current==0)
+				return false;
+			if (drops.compareAndSet(current, current-1)) {
+				dropped.incrementAndGet();
+				return true;
+			}
+		}
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	public ActorOverflowPolicy getPolicy() {
+		return policy;
+	}
+	
+	public int getPending() {
+		return pending.get();
+	}
+	
+	public long getAccepted() {
+		return accepted.get();
+	}
+	
+	public long getRejected() {
+		return rejected.get();
+	}
+	
+	public long getDropped() {
+		return dropped.get();
+	}
+	
+	public long getBlocked() {
+		return blocked.get();
+	}
+	
+	public long getTimeouts() {
+		return timeouts.get();
+	}
+	
+	public long getDeadLetters() {
+		return deadLetters.get();
+	}
+}
@@ -17,20 +17,30 @@ package io.actor4j.core;
 
 import static io.actor4j.core.utils.ActorUtils.*;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
+import io.actor4j.core.deadletters.DeadLetterReason;
 import io.actor4j.core.messages.ActorMessage;
 
 public abstract class ActorMessageDispatcher {
 	protected final ActorSystemImpl system;
 	
-	protected static final UUID UUID_ALIAS = UUID_ZERO;
+	protected static final UUID UUID_ALIAS = UUID_ZERO; // destination of a message to an alias without members
 	
 	public ActorMessageDispatcher(ActorSystemImpl system) {
 		super();
 		
 		this.system = system;
 	}
+	
+	/**
+	 * @return the reason for a message without a registered destination
+	 */
+	public static DeadLetterReason undeliverable(ActorMessage<?> message) {
+		return UUID_ALIAS.equals(message.dest) ? DeadLetterReason.UNRESOLVED_ALIAS : DeadLetterReason.UNKNOWN_DESTINATION;
+	}
 
 	public void post(ActorMessage<?> message, UUID source) {
 		post(message, source, null);
@@ -38,10 +48,37 @@ public abstract class ActorMessageDispatcher {
 	
 	public abstract void post(ActorMessage<?> message, UUID source, String alias);
 	
+	public void post(Collection<ActorMessage<?>> messages, UUID source) {
+		for (ActorMessage<?> message : messages)
+			post(message, source);
+	}
+	
+	/**
+	 * Posts the message to each destination, it is copied once per destination.
+	 */
+	public void post(ActorMessage<?> message, Collection<UUID> dests, UUID source) {
+		for (UUID dest : dests) {
+			message.dest = dest;
+			post(message, source);
+		}
+	}
+	
 	public abstract void post(ActorMessage<?> message, ActorServiceNode node, String path);
 	
 	public abstract void postOuter(ActorMessage<?> message);
 	
+	public void postOuter(Collection<ActorMessage<?>> messages) {
+		for (ActorMessage<?> message : messages)
+			postOuter(message);
+	}
+	
+	public void postOuter(ActorMessage<?> message, Collection<UUID> dests) {
+		for (UUID dest : dests) {
+			message.dest = dest;
+			postOuter(message);
+		}
+	}
+	
 	public abstract void postServer(ActorMessage<?> message);
 	
 	public abstract void postPriority(ActorMessage<?> message);
@@ -51,14 +88,18 @@ public abstract class ActorMessageDispatcher {
 	public abstract void postPersistence(ActorMessage<?> message);
 	
 	public void registerCell(ActorCell cell) {
-		system.executerService.actorThreadPool.actorThreadPoolHandler.registerCell(cell);
+		system.executerService.actorProcessPool.registerCell(cell);
+	}
+	
+	public void registerCells(List<ActorCell> cells) {
+		system.executerService.actorProcessPool.registerCells(cells);
 	}
 	
 	public void unregisterCell(ActorCell cell) {
-		system.executerService.actorThreadPool.actorThreadPoolHandler.unregisterCell(cell);
+		system.executerService.actorProcessPool.unregisterCell(cell);
 	}
 	
 	public boolean isRegisteredCell(ActorCell cell) {
-		return system.executerService.actorThreadPool.actorThreadPoolHandler.isRegisteredCell(cell);
+		return system.executerService.actorProcessPool.isRegisteredCell(cell);
 	}
 }
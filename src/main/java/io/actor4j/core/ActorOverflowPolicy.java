@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+/**
+ * What happens to a message for an actor, whose mailbox quota is exhausted
+ * (see ActorMailboxQuota).
+ */
+public enum ActorOverflowPolicy {
+	/**
+	 * The new message is discarded and passed to the dead letters of the system
+	 * (see DeadLetterReason.MAILBOX_QUOTA).
+	 */
+	REJECT_NEW,
+	/**
+	 * The new message is accepted, the oldest pending message of the actor is
+	 * discarded instead (when it is reached by the actor thread). At most capacity
+	 * messages are marked to be discarded, so an actor holds at most twice the
+	 * capacity of pending messages. Beyond that, the new message is discarded
+	 * (see REJECT_NEW).
+	 */
+	DROP_OLDEST,
+	/**
+	 * The sender waits up to the timeout of the quota, then the message is
+	 * discarded. Actor threads are never blocked, they are rejected instead.
+	 * Discarded and rejected messages are passed to the dead letters of the
+	 * system (see DeadLetterReason.MAILBOX_QUOTA).
+	 */
+	BLOCK_SENDER,
+	/**
+	 * The new message is passed to the dead letter handler of the system.
+	 */
+	DEAD_LETTERS
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Executes the actors of an actor system. The default implementation is the
+ * {@link ActorThreadPool}, which pins every actor to one of its actor threads.
+ */
+public interface ActorProcessPool {
+	public void shutdown(Runnable onTermination, boolean await);
+	
+	public void registerCell(ActorCell cell);
+	
+	/**
+	 * Registers the actors and executes their preStart. Returns after all
+	 * preStart methods were executed.
+	 */
+	public default void registerCells(List<ActorCell> cells) {
+		for (ActorCell cell : cells) {
+			registerCell(cell);
+			cell.preStart();
+		}
+	}
+	
+	public void unregisterCell(ActorCell cell);
+	
+	public boolean isRegisteredCell(ActorCell cell);
+	
+	/**
+	 * Called after a redirection of the actor has changed.
+	 */
+	public void updateHandle(UUID id);
+	
+	/**
+	 * Called after all redirections have been changed.
+	 */
+	public void updateHandles();
+	
+	public long getCount();
+	
+	public List<Long> getCounts();
+}
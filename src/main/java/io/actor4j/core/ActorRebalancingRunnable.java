@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.actors.ActorDistributedGroupMember;
+import io.actor4j.core.actors.ActorGroupMember;
+import io.actor4j.core.actors.PersistentActor;
+import io.actor4j.core.failsafe.FailsafeMethod;
+import io.actor4j.core.failsafe.Method;
+
+/**
+ * Periodically measures the load of the actor threads (the number of
+ * processed messages of their actors since the last run) and migrates hot
+ * actors from overloaded threads to the least loaded threads (see
+ * ActorHandover). Members of groups and persistent actors stay on their
+ * threads.
+ */
+public class ActorRebalancingRunnable implements Runnable {
+	protected final UUID uuid; // for failsafe
+	
+	protected final ActorSystemImpl system;
+	
+	protected final Map<UUID, Long> lastRequestRates; // ActorCellID -> requestRate
+	
+	public ActorRebalancingRunnable(ActorSystemImpl system) {
+		super();
+		
+		this.system = system;
+		uuid = UUID.randomUUID();
+		
+		lastRequestRates = new HashMap<>();
+	}
+	
+	public void onRun() {
+		ActorThreadPool actorThreadPool = system.executerService.actorThreadPool;
+		if (actorThreadPool==null || actorThreadPool.actorThreads.size()<2)
+			return;
+		ActorThreadPoolHandler handler = actorThreadPool.actorThreadPoolHandler;
+		
+		Map<ActorThread, Long> threadLoads = new HashMap<>();
+		Map<ActorThread, List<ActorHandle>> threadHandles = new HashMap<>();
+		for (ActorThread t : actorThreadPool.actorThreads) {
+			threadLoads.put(t, 0L);
+			threadHandles.put(t, new ArrayList<>());
+		}
+		
+		Map<ActorHandle, Long> loads = new HashMap<>();
+		for (ActorHandle handle : handler.handlesMap.values()) {
+			if (handle.thread==null)
+				continue; // pseudo actors and redirections
+			AtomicLong counter = handle.cell.requestRate; // null, if the actor never received a message
+			long requestRate = counter!=null ? counter.get() : 0;
+			Long lastRequestRate = lastRequestRates.put(handle.cell.id, requestRate);
+			long load = requestRate - (lastRequestRate!=null ? lastRequestRate : 0);
+			
+			ActorThread t = handle.thread;
+			if (threadLoads.containsKey(t)) {
+				threadLoads.put(t, threadLoads.get(t)+load);
+				if (load>0 && isMigratable(handle)) {
+					loads.put(handle, load);
+					threadHandles.get(t).add(handle);
+				}
+			}
+		}
+		lastRequestRates.keySet().retainAll(handler.handlesMap.keySet());
+		
+		long sum = 0;
+		for (long load : threadLoads.values())
+			sum += load;
+		double average = sum / (double)threadLoads.size();
+		if (average==0)
+			return;
+		
+		int migrations = Math.max(1, threadLoads.size()/2);
+		for (int i=0; i<migrations; i++) {
+			ActorThread busiest = null;
+			ActorThread idlest = null;
+			for (ActorThread t : actorThreadPool.actorThreads) {
+				if (busiest==null || threadLoads.get(t)>threadLoads.get(busiest))
+					busiest = t;
+				if (idlest==null || isLessLoaded(t, idlest, threadLoads))
+					idlest = t;
+			}
+			
+			long difference = threadLoads.get(busiest)-threadLoads.get(idlest);
+			if (busiest==idlest || threadLoads.get(busiest)<=average*system.rebalancingThreshold)
+				break;
+			
+			// the heaviest actor, that reduces the imbalance
+			ActorHandle candidate = null;
+			for (ActorHandle handle : threadHandles.get(busiest)) {
+				long load = loads.get(handle);
+				if (load<difference && (candidate==null || load>loads.get(candidate)))
+					candidate = handle;
+			}
+			if (candidate==null || !handler.migrateCell(candidate, idlest))
+				break;
+			
+			long load = loads.get(candidate);
+			threadHandles.get(busiest).remove(candidate);
+			threadLoads.put(busiest, threadLoads.get(busiest)-load);
+			threadLoads.put(idlest, threadLoads.get(idlest)+load);
+		}
+	}
+	
+	protected boolean isMigratable(ActorHandle handle) {
+		Actor actor = handle.cell.actor;
+		
+		return handle.valid && handle.handover==null 
+			&& !(actor instanceof ActorGroupMember) && !(actor instanceof ActorDistributedGroupMember) 
+			&& !(actor instanceof PersistentActor);
+	}
+	
+	protected boolean isLessLoaded(ActorThread t, ActorThread other, Map<ActorThread, Long> threadLoads) {
+		long load = threadLoads.get(t);
+		long otherLoad = threadLoads.get(other);
+		
+		// prefers idle threads on equal load
+		return load<otherLoad || (load==otherLoad && !t.threadLoad.get() && other.threadLoad.get());
+	}
+	
+	@Override
+	public void run() {
+		FailsafeMethod.runAndCatchThrowable(system.executerService.failsafeManager, "rebalancing", new Method() {
+			@Override
+			public void run(UUID uuid) {
+				onRun();
+			}
+			
+			@Override
+			public void error(Throwable t) {
+				t.printStackTrace();
+			}
+			
+			@Override
+			public void after() {
+			}
+		}, uuid);
+	}
+	
+	public UUID getUUID() {
+		return uuid;
+	}
+}
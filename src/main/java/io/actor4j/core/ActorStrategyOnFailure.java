@@ -56,7 +56,7 @@ public class ActorStrategyOnFailure {
 		if (!cell.isRoot()) {
 			ActorCell parent = system.cells.get(cell.parent);
 			if (parent!=null) {
-				Iterator<UUID> iterator = parent.children.iterator();
+				Iterator<UUID> iterator = parent.getChildren().iterator();
 				while (iterator.hasNext()) {
 					UUID dest = iterator.next();
 					if (!dest.equals(cell.id))
@@ -73,7 +73,7 @@ public class ActorStrategyOnFailure {
 		if (!cell.isRoot()) {
 			ActorCell parent = system.cells.get(cell.parent);
 			if (parent!=null) {
-				Iterator<UUID> iterator = parent.children.iterator();
+				Iterator<UUID> iterator = parent.getChildren().iterator();
 				while (iterator.hasNext()) {
 					UUID dest = iterator.next();
 					if (!dest.equals(cell.id))
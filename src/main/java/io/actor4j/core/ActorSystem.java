@@ -17,11 +17,19 @@ package io.actor4j.core;
 
 import java.io.File;
 import java.lang.reflect.Constructor;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import io.actor4j.core.actors.Actor;
+import io.actor4j.core.balancing.ActorPlacementPolicy;
+import io.actor4j.core.deadletters.DeadLetters;
 import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.metrics.ActorMetricsRegistry;
+import io.actor4j.core.routing.ActorRouter;
 import io.actor4j.core.persistence.connectors.PersistenceConnector;
 import io.actor4j.core.pods.Database;
 import io.actor4j.core.pods.PodConfiguration;
@@ -127,6 +135,158 @@ public class ActorSystem {
 		return this;
 	}
 	
+	public ActorSystem trustedImmutableMode() {
+		system.trustedImmutableMode();
+		
+		return this;
+	}
+	
+	public ActorSystem envelopePoolMode() {
+		system.envelopePoolMode();
+		
+		return this;
+	}
+	
+	public ActorSystem envelopePoolMode(boolean debug) {
+		system.envelopePoolMode(debug);
+		
+		return this;
+	}
+	
+	public ActorSystem fairMode() {
+		system.fairMode();
+		
+		return this;
+	}
+	
+	public ActorSystem fairMode(int quantum) {
+		system.fairMode(quantum);
+		
+		return this;
+	}
+	
+	public ActorSystem deadlineMode() {
+		system.deadlineMode();
+		
+		return this;
+	}
+	
+	public ActorSystem rebalancingMode() {
+		system.rebalancingMode();
+		
+		return this;
+	}
+	
+	public ActorSystem rebalancingMode(long syncTime) {
+		system.rebalancingMode(syncTime);
+		
+		return this;
+	}
+	
+	public ActorSystem processingTimeMode() {
+		system.processingTimeMode();
+		
+		return this;
+	}
+	
+	public ActorSystem processingTimeMode(long resetInterval) {
+		system.processingTimeMode(resetInterval);
+		
+		return this;
+	}
+	
+	public ActorSystem profilerMode(int sampleRate) {
+		system.profilerMode(sampleRate);
+		
+		return this;
+	}
+	
+	public ActorSystem profilerMode(int sampleRate, int topN) {
+		system.profilerMode(sampleRate, topN);
+		
+		return this;
+	}
+	
+	public ActorSystem flightRecorderMode() {
+		system.flightRecorderMode();
+		
+		return this;
+	}
+	
+	public ActorSystem mailboxLatencyMode() {
+		system.mailboxLatencyMode();
+		
+		return this;
+	}
+	
+	public ActorSystem mailboxLatencyMode(long resetInterval) {
+		system.mailboxLatencyMode(resetInterval);
+		
+		return this;
+	}
+	
+	public ActorMetricsRegistry getMetrics() {
+		return system.getMetrics();
+	}
+	
+	public ActorSystem metricsJmxMode() {
+		system.metricsJmxMode();
+		
+		return this;
+	}
+	
+	public ActorSystem metricsPrometheusMode(int port) {
+		system.metricsPrometheusMode(port);
+		
+		return this;
+	}
+	
+	public ActorSystem backoffMode() {
+		system.backoffMode();
+		
+		return this;
+	}
+	
+	public ActorSystem setFactoryIdleStrategy(Function<ActorThread, IdleStrategy> factoryIdleStrategy) {
+		system.setFactoryIdleStrategy(factoryIdleStrategy);
+		
+		return this;
+	}
+	
+	public ActorSystem setFactoryMailboxQuota(Supplier<ActorMailboxQuota> factoryMailboxQuota) {
+		system.setFactoryMailboxQuota(factoryMailboxQuota);
+		
+		return this;
+	}
+	
+	public ActorSystem setPlacementPolicy(ActorPlacementPolicy placementPolicy) {
+		system.setPlacementPolicy(placementPolicy);
+		
+		return this;
+	}
+	
+	public ActorSystem setDeadLetterHandler(Consumer<ActorMessage<?>> deadLetterHandler) {
+		system.setDeadLetterHandler(deadLetterHandler);
+		
+		return this;
+	}
+	
+	public DeadLetters getDeadLetters() {
+		return system.getDeadLetters();
+	}
+	
+	public ActorSystem subscribeDeadLetters(UUID subscriber) {
+		system.subscribeDeadLetters(subscriber);
+		
+		return this;
+	}
+	
+	public ActorSystem unsubscribeDeadLetters(UUID subscriber) {
+		system.unsubscribeDeadLetters(subscriber);
+		
+		return this;
+	}
+	
 	public ActorSystem persistenceMode(PersistenceConnector persistenceConnector) {
 		system.persistenceMode(persistenceConnector);
 		
@@ -171,6 +331,10 @@ public class ActorSystem {
 		return system.addActor(factory, instances);
 	}
 	
+	public List<UUID> spawnActors(ActorFactory factory, int instances) {
+		return system.spawnActors(factory, instances);
+	}
+	
 	public void deployPods(File jarFile, PodConfiguration podConfiguration) {
 		system.deployPods(jarFile, podConfiguration);
 	}
@@ -195,6 +359,18 @@ public class ActorSystem {
 		return this;
 	}
 	
+	public ActorSystem setAliasRouter(String alias, ActorRouter router) {
+		system.setAliasRouter(alias, router);
+		
+		return this;
+	}
+	
+	public ActorSystem setAliasRouter(ActorRouter aliasRouter) {
+		system.setAliasRouter(aliasRouter);
+		
+		return this;
+	}
+	
 	public String getActorPath(UUID uuid) {
 		return system.getActorPath(uuid);
 	}
@@ -209,6 +385,12 @@ public class ActorSystem {
 		return this;
 	}
 	
+	public ActorSystem send(Collection<ActorMessage<?>> messages) {
+		system.send(messages);
+		
+		return this;
+	}
+	
 	public ActorSystem sendViaPath(ActorMessage<?> message, String path) {
 		system.sendViaPath(message, path);
 		
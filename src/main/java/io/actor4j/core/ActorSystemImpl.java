@@ -17,8 +17,9 @@ package io.actor4j.core;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -28,16 +29,31 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import io.actor4j.core.actors.Actor;
 import io.actor4j.core.actors.PseudoActor;
 import io.actor4j.core.actors.ResourceActor;
+import io.actor4j.core.balancing.ActorPlacementPolicy;
+import io.actor4j.core.balancing.RoundRobinPlacementPolicy;
 import io.actor4j.core.di.DIContainer;
+import io.actor4j.core.deadletters.DeadLetter;
+import io.actor4j.core.deadletters.DeadLetterReason;
+import io.actor4j.core.deadletters.DeadLetters;
+import io.actor4j.core.deadletters.DeadLettersActor;
+import io.actor4j.core.di.DIMapEntry;
 import io.actor4j.core.exceptions.ActorInitializationException;
+import io.actor4j.core.jfr.ActorEventSink;
+import io.actor4j.core.jfr.ActorFlightRecorder;
 import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.metrics.ActorMetricsRegistry;
+import io.actor4j.core.metrics.ActorProfiler;
+import io.actor4j.core.metrics.ActorTopN;
+import io.actor4j.core.metrics.LogHistogram;
 import io.actor4j.core.persistence.connectors.PersistenceConnector;
 import io.actor4j.core.pods.Database;
 import io.actor4j.core.pods.PodConfiguration;
@@ -45,12 +61,16 @@ import io.actor4j.core.pods.PodContext;
 import io.actor4j.core.pods.PodFactory;
 import io.actor4j.core.pods.PodReplicationController;
 import io.actor4j.core.pods.actors.PodActor;
+import io.actor4j.core.routing.ActorAlias;
+import io.actor4j.core.routing.ActorRouter;
+import io.actor4j.core.routing.RandomRouter;
 import io.actor4j.core.utils.ActorFactory;
 import io.actor4j.core.utils.ActorGroup;
 import io.actor4j.core.utils.ActorGroupSet;
 import io.actor4j.core.utils.PodActorFactory;
 
 import static io.actor4j.core.protocols.ActorProtocolTag.*;
+import static io.actor4j.core.utils.ActorLogger.systemLogger;
 import static io.actor4j.core.utils.ActorUtils.*;
 
 public abstract class ActorSystemImpl implements ActorPodService {
@@ -63,7 +83,8 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	protected /*quasi final*/ Class<? extends PodReplicationControllerRunnable> podReplicationControllerRunnableClass;
 	
 	protected final Map<UUID, ActorCell> cells; // ActorCellID    -> ActorCell
-	protected final Map<String, Queue<UUID>> aliases;  // ActorCellAlias -> ActorCellID
+	protected final Map<String, ActorAlias> aliases;  // ActorCellAlias -> ActorCellIDs
+	protected /*quasi final*/ ActorRouter aliasRouter; // default for aliases without an own router
 	protected final Map<UUID, String> hasAliases;
 	protected final Map<UUID, Boolean> resourceCells;
 	protected final Map<UUID, Boolean> podCells;
@@ -73,6 +94,7 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	protected /*quasi final*/ ActorMessageDispatcher messageDispatcher;
 	protected final AtomicBoolean messagingEnabled;
 	protected /*quasi final*/ Class<? extends ActorThread> actorThreadClass;
+	protected /*quasi final*/ Class<? extends ActorProcessPool> actorProcessPoolClass;
 	
 	protected boolean counterEnabled;
 	
@@ -83,9 +105,27 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	protected final int load;
 	protected ActorThreadMode threadMode;
 	protected long sleepTime;
+	protected /*quasi final*/ Function<ActorThread, IdleStrategy> factoryIdleStrategy; // null, if determined by the thread mode
 	protected long horizontalPodAutoscalerSyncTime;
 	protected long horizontalPodAutoscalerMeasurementTime;
 	
+	protected boolean rebalancingMode;
+	protected long rebalancingSyncTime;
+	protected double rebalancingThreshold;
+	protected /*quasi final*/ ActorPlacementPolicy placementPolicy; // for actors, that are created after the start
+	
+	protected boolean processingTimeMode;
+	protected long processingTimeResetInterval;
+	
+	protected int profilerSampleRate; // 0, if disabled
+	protected int profilerTopN;
+	
+	protected /*quasi final*/ ActorEventSink eventSink; // null, if not in flight recorder mode
+	
+	protected boolean mailboxLatencyMode;
+	protected long mailboxLatencyResetInterval;
+	protected final Map<String, LogHistogram> mailboxLatencyHistograms; // per alias
+	
 	protected boolean debugUnhandled;
 	
 	protected int queueSize;
@@ -93,6 +133,24 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	
 	protected int throughput;
 	
+	protected boolean fairMode;
+	protected int fairQuantum;
+	
+	protected boolean deadlineMode;
+	
+	protected boolean trustedImmutableMode;
+	protected boolean envelopePoolMode;
+	protected boolean envelopePoolDebug;
+	
+	protected /*quasi final*/ Supplier<ActorMailboxQuota> factoryMailboxQuota; // default quota for actors, that define none
+	protected /*quasi final*/ Consumer<ActorMessage<?>> deadLetterHandler;
+	protected final DeadLetters deadLetters;
+	protected volatile UUID deadLettersId; // DeadLettersActor, created on the first subscription
+	
+	protected final ActorMetricsRegistry metrics;
+	protected boolean metricsJmxMode;
+	protected int metricsPrometheusPort; // -1, if disabled
+	
 	protected final Queue<ActorMessage<?>> bufferQueue;
 	protected final ActorExecuterService executerService;
 	
@@ -136,6 +194,7 @@ public abstract class ActorSystemImpl implements ActorPodService {
 		cells          = new ConcurrentHashMap<>();
 		aliases        = new ConcurrentHashMap<>();
 		hasAliases     = new ConcurrentHashMap<>();
+		aliasRouter    = new RandomRouter();
 		resourceCells  = new ConcurrentHashMap<>();
 		podCells       = new ConcurrentHashMap<>();
 		podDomains     = new ConcurrentHashMap<>();
@@ -143,6 +202,7 @@ public abstract class ActorSystemImpl implements ActorPodService {
 		redirector     = new ConcurrentHashMap<>();
 		
 		messagingEnabled = new AtomicBoolean();
+		actorProcessPoolClass = ActorThreadPool.class;
 		
 		setParallelismMin(0);
 		parallelismFactor = 1;
@@ -154,11 +214,38 @@ public abstract class ActorSystemImpl implements ActorPodService {
 		horizontalPodAutoscalerSyncTime = 15_000;
 		horizontalPodAutoscalerMeasurementTime = 2_000;
 		
+		rebalancingMode = false;
+		rebalancingSyncTime = 1_000;
+		rebalancingThreshold = 1.25;
+		placementPolicy = new RoundRobinPlacementPolicy();
+		
+		processingTimeMode = false;
+		processingTimeResetInterval = 60_000;
+		
+		profilerSampleRate = 0;
+		profilerTopN = 10;
+		
+		mailboxLatencyMode = false;
+		mailboxLatencyResetInterval = 60_000;
+		mailboxLatencyHistograms = new ConcurrentHashMap<>();
+		
+		deadLetters = new DeadLetters();
+		
+		metrics = new ActorMetricsRegistry();
+		metrics.addCollector(new ActorSystemMetricsCollector(this));
+		metricsJmxMode = false;
+		metricsPrometheusPort = -1;
+		
 		queueSize       = 50_000;
 		bufferQueueSize = 10_000;
 		
 		throughput = 100;
 		
+		fairMode = false;
+		fairQuantum = FairActorQueue.DEFAULT_QUANTUM;
+		
+		deadlineMode = false;
+		
 		bufferQueue = new ConcurrentLinkedQueue<>();
 		executerService = new ActorExecuterService(this);
 		
@@ -261,7 +348,7 @@ public abstract class ActorSystemImpl implements ActorPodService {
 		return podDomains;
 	}
 
-	public Map<String, Queue<UUID>> getAliases() {
+	public Map<String, ActorAlias> getAliases() {
 		return aliases;
 	}
 
@@ -338,19 +425,423 @@ public abstract class ActorSystemImpl implements ActorPodService {
 
 	public void parkMode() {
 		threadMode = ActorThreadMode.PARK;
+		factoryIdleStrategy = null;
 	}
 	
 	public void sleepMode() {
 		threadMode = ActorThreadMode.SLEEP;
+		factoryIdleStrategy = null;
 	}
 	
 	public void sleepMode(long sleepTime) {
 		this.sleepTime = sleepTime;
 		threadMode = ActorThreadMode.SLEEP;
+		factoryIdleStrategy = null;
 	}
 	
 	public void yieldMode() {
 		threadMode = ActorThreadMode.YIELD;
+		factoryIdleStrategy = null;
+	}
+	
+	/**
+	 * Spins, yields and then parks with growing timeouts, when an actor thread is idle.
+	 */
+	public void backoffMode() {
+		threadMode = ActorThreadMode.PARK;
+		factoryIdleStrategy = (t) -> new BackoffIdleStrategy(t);
+	}
+	
+	public Function<ActorThread, IdleStrategy> getFactoryIdleStrategy() {
+		return factoryIdleStrategy;
+	}
+	
+	public void setFactoryIdleStrategy(Function<ActorThread, IdleStrategy> factoryIdleStrategy) {
+		threadMode = ActorThreadMode.PARK;
+		this.factoryIdleStrategy = factoryIdleStrategy;
+	}
+	
+	public boolean isTrustedImmutableMode() {
+		return trustedImmutableMode;
+	}
+	
+	/**
+	 * Messages with immutable or shareable values are passed without copying the
+	 * value, only the envelope is copied per destination. Senders must not modify
+	 * the value of a message after sending it.
+	 */
+	public void trustedImmutableMode() {
+		trustedImmutableMode = true;
+	}
+	
+	public boolean isEnvelopePoolMode() {
+		return envelopePoolMode;
+	}
+	
+	/**
+	 * Messages are dispatched in recyclable envelopes of the actor threads,
+	 * which are released after they were received, unless the actor retains
+	 * them (see ActorMessage::retain).
+	 */
+	public void envelopePoolMode() {
+		envelopePoolMode(false);
+	}
+	
+	/**
+	 * @param debug released envelopes are not reused, but detect a use after release
+	 */
+	public void envelopePoolMode(boolean debug) {
+		envelopePoolMode = true;
+		envelopePoolDebug = debug;
+	}
+	
+	public boolean isEnvelopePoolDebug() {
+		return envelopePoolDebug;
+	}
+	
+	public Supplier<ActorMailboxQuota> getFactoryMailboxQuota() {
+		return factoryMailboxQuota;
+	}
+	
+	/**
+	 * Default mailbox quota for actors, that do not override Actor::mailboxQuota.
+	 */
+	public void setFactoryMailboxQuota(Supplier<ActorMailboxQuota> factoryMailboxQuota) {
+		this.factoryMailboxQuota = factoryMailboxQuota;
+	}
+	
+	public Consumer<ActorMessage<?>> getDeadLetterHandler() {
+		return deadLetterHandler;
+	}
+	
+	/**
+	 * Receives messages, that could not be delivered to their destination.
+	 */
+	public void setDeadLetterHandler(Consumer<ActorMessage<?>> deadLetterHandler) {
+		this.deadLetterHandler = deadLetterHandler;
+	}
+	
+	/**
+	 * Counts the undeliverable message, passes it to the dead letter handler and
+	 * publishes a sample to the subscribers of the DeadLettersActor. Is not called
+	 * on the hot path, only when a message is lost.
+	 */
+	public void deadLetter(ActorMessage<?> message, DeadLetterReason reason) {
+		deadLetters.count(message, reason);
+		if (deadLetterHandler!=null)
+			deadLetterHandler.accept(message);
+		
+		UUID deadLettersId = this.deadLettersId;
+		if (deadLettersId!=null && message.tag!=DeadLettersActor.DEAD_LETTER && messagingEnabled.get() && deadLetters.sample())
+			messageDispatcher.postOuter(new ActorMessage<>(new DeadLetter(reason, message.weakCopy(message.dest)), DeadLettersActor.DEAD_LETTER, SYSTEM_ID, deadLettersId));
+	}
+	
+	/**
+	 * @return the counters of the undeliverable messages per reason and per destination
+	 */
+	public DeadLetters getDeadLetters() {
+		return deadLetters;
+	}
+	
+	public UUID getDeadLettersActor() {
+		UUID result = deadLettersId;
+		if (result==null)
+			synchronized (deadLetters) {
+				result = deadLettersId;
+				if (result==null)
+					deadLettersId = result = internal_addCell(generateCell(new DeadLettersActor()));
+			}
+		
+		return result;
+	}
+	
+	/**
+	 * Subscribes the actor to the sampled dead letters (see DeadLetters::setSampleRate),
+	 * that are received with the tag DeadLettersActor.DEAD_LETTER.
+	 */
+	public ActorSystemImpl subscribeDeadLetters(UUID subscriber) {
+		send(new ActorMessage<>(null, DeadLettersActor.SUBSCRIBE, subscriber, getDeadLettersActor()));
+		
+		return this;
+	}
+	
+	public ActorSystemImpl unsubscribeDeadLetters(UUID subscriber) {
+		send(new ActorMessage<>(null, DeadLettersActor.UNSUBSCRIBE, subscriber, getDeadLettersActor()));
+		
+		return this;
+	}
+	
+	protected ActorMessage<?> copy(ActorMessage<?> message) {
+		if (trustedImmutableMode && message.isShareable())
+			return message.weakCopy(message.dest); // the envelope carries the routing state of its destination
+		if (envelopePoolMode && Thread.currentThread() instanceof ActorThread)
+			return ((ActorThread)Thread.currentThread()).messagePool.copy(message);
+		
+		return message.copy();
+	}
+	
+	public boolean isRebalancingMode() {
+		return rebalancingMode;
+	}
+	
+	public void rebalancingMode() {
+		rebalancingMode = true;
+	}
+	
+	public void rebalancingMode(long rebalancingSyncTime) {
+		this.rebalancingSyncTime = rebalancingSyncTime;
+		rebalancingMode = true;
+	}
+	
+	public long getRebalancingSyncTime() {
+		return rebalancingSyncTime;
+	}
+	
+	public double getRebalancingThreshold() {
+		return rebalancingThreshold;
+	}
+	
+	public void setRebalancingThreshold(double rebalancingThreshold) {
+		this.rebalancingThreshold = rebalancingThreshold;
+	}
+	
+	public boolean isProcessingTimeMode() {
+		return processingTimeMode;
+	}
+	
+	/**
+	 * Measures the processing time of each message in histograms per actor and
+	 * per actor thread (only for actor thread pools, see ActorCell::getProcessingTimeHistogram
+	 * and ActorThread::getProcessingTimeHistogram).
+	 */
+	public void processingTimeMode() {
+		processingTimeMode = true;
+	}
+	
+	/**
+	 * @param resetInterval in milliseconds, the histograms are periodically reset (0 = never)
+	 */
+	public void processingTimeMode(long resetInterval) {
+		processingTimeResetInterval = resetInterval;
+		processingTimeMode = true;
+	}
+	
+	public long getProcessingTimeResetInterval() {
+		return processingTimeResetInterval;
+	}
+	
+	/**
+	 * Enables or disables the measuring of the processing times at runtime (see processingTimeMode).
+	 */
+	public void setProcessingTimeEnabled(boolean enabled) {
+		processingTimeMode = enabled;
+		if (executerService.actorThreadPool!=null)
+			for (ActorThread t : executerService.actorThreadPool.actorThreads)
+				t.getProcessingTimeEnabled().set(enabled);
+	}
+	
+	public boolean isProfilerMode() {
+		return profilerSampleRate>0;
+	}
+	
+	public void profilerMode(int sampleRate) {
+		profilerMode(sampleRate, profilerTopN);
+	}
+	
+	/**
+	 * Measures the CPU time of the handler for 1 out of sampleRate messages and keeps
+	 * the most expensive actors, aliases and tags per actor thread (only for actor
+	 * thread pools, see ActorThread::getProfiler and getTopActors). Can be enabled
+	 * at runtime, the tables are then reset.
+	 */
+	public void profilerMode(int sampleRate, int topN) {
+		if (sampleRate<1)
+			throw new IllegalArgumentException("sampleRate");
+		if (topN<1)
+			throw new IllegalArgumentException("topN");
+		
+		profilerSampleRate = sampleRate;
+		profilerTopN = topN;
+		if (executerService.actorThreadPool!=null)
+			for (ActorThread t : executerService.actorThreadPool.actorThreads)
+				t.setProfiler(new ActorProfiler(sampleRate, topN));
+	}
+	
+	/**
+	 * Disables the profiler at runtime (see profilerMode).
+	 */
+	public void disableProfiler() {
+		profilerSampleRate = 0;
+		if (executerService.actorThreadPool!=null)
+			for (ActorThread t : executerService.actorThreadPool.actorThreads)
+				t.setProfiler(null);
+	}
+	
+	public int getProfilerSampleRate() {
+		return profilerSampleRate;
+	}
+	
+	public int getProfilerTopN() {
+		return profilerTopN;
+	}
+	
+	protected <K> List<ActorTopN.Entry<K>> getTop(Function<ActorProfiler, ActorTopN<K>> table) {
+		List<ActorTopN<K>> tables = new ArrayList<>();
+		if (executerService.actorThreadPool!=null)
+			for (ActorThread t : executerService.actorThreadPool.actorThreads) {
+				ActorProfiler profiler = t.getProfiler();
+				if (profiler!=null)
+					tables.add(table.apply(profiler));
+			}
+		
+		return ActorTopN.merge(tables, profilerTopN);
+	}
+	
+	/**
+	 * @return the actors with the highest sampled CPU time (in nanoseconds) of all actor threads
+	 */
+	public List<ActorTopN.Entry<UUID>> getTopActors() {
+		return getTop(ActorProfiler::getActors);
+	}
+	
+	public List<ActorTopN.Entry<String>> getTopAliases() {
+		return getTop(ActorProfiler::getAliases);
+	}
+	
+	public List<ActorTopN.Entry<Integer>> getTopTags() {
+		return getTop(ActorProfiler::getTags);
+	}
+	
+	public boolean isFlightRecorderMode() {
+		return eventSink!=null;
+	}
+	
+	/**
+	 * Emits Java Flight Recorder events (Java 11+) for the dispatch of messages, the
+	 * handlers above a threshold, the parking of actor threads, the stop and restart
+	 * protocols and the persistence round trips (see ActorEventSink). Which events are
+	 * recorded is configured by the recording (e.g. a .jfc file), some are disabled by default.
+	 * 
+	 * @return false, if not supported by the JVM
+	 */
+	public boolean flightRecorderMode() {
+		eventSink = ActorFlightRecorder.createSink();
+		if (eventSink==null)
+			systemLogger().error("[JFR] Java Flight Recorder events are not supported by this JVM");
+		
+		return eventSink!=null;
+	}
+	
+	/**
+	 * Sets an own receiver of the events instead of the Java Flight Recorder (null disables the events),
+	 * before the start of the system.
+	 */
+	public void setEventSink(ActorEventSink eventSink) {
+		this.eventSink = eventSink;
+	}
+	
+	public ActorEventSink getEventSink() {
+		return eventSink;
+	}
+	
+	public boolean isMailboxLatencyMode() {
+		return mailboxLatencyMode;
+	}
+	
+	/**
+	 * Measures the time of each message from the enqueuing by the dispatcher until
+	 * the dequeuing in histograms per queue of an actor thread and per alias of the
+	 * destination (only for actor thread pools, see ActorThread::getMailboxLatencyHistogram
+	 * and getMailboxLatencyHistogram). Without this mode the messages are not stamped.
+	 */
+	public void mailboxLatencyMode() {
+		mailboxLatencyMode = true;
+	}
+	
+	/**
+	 * @param resetInterval in milliseconds, the histograms are periodically reset (0 = never)
+	 */
+	public void mailboxLatencyMode(long resetInterval) {
+		mailboxLatencyResetInterval = resetInterval;
+		mailboxLatencyMode = true;
+	}
+	
+	public long getMailboxLatencyResetInterval() {
+		return mailboxLatencyResetInterval;
+	}
+	
+	/**
+	 * @return the histogram of the mailbox latencies in nanoseconds of the actors with this alias
+	 */
+	public LogHistogram getMailboxLatencyHistogram(String alias) {
+		return mailboxLatencyHistograms.computeIfAbsent(alias, (key) -> new LogHistogram());
+	}
+	
+	public Map<String, LogHistogram> getMailboxLatencyHistograms() {
+		return mailboxLatencyHistograms;
+	}
+	
+	public void resetMailboxLatencyHistograms() {
+		for (LogHistogram histogram : mailboxLatencyHistograms.values())
+			histogram.reset();
+		if (executerService.actorThreadPool!=null)
+			for (ActorThread t : executerService.actorThreadPool.actorThreads)
+				for (ActorQueueKind kind : ActorQueueKind.values())
+					if (t.getMailboxLatencyHistogram(kind)!=null)
+						t.getMailboxLatencyHistogram(kind).reset();
+	}
+	
+	/**
+	 * Metrics of the system (per actor thread, per alias, per pod domain), further
+	 * metrics of the application can be registered.
+	 */
+	public ActorMetricsRegistry getMetrics() {
+		return metrics;
+	}
+	
+	public boolean isMetricsJmxMode() {
+		return metricsJmxMode;
+	}
+	
+	/**
+	 * Exports the metrics as MBean (io.actor4j:type=Metrics,name=...) while the system is running.
+	 */
+	public void metricsJmxMode() {
+		metricsJmxMode = true;
+	}
+	
+	public int getMetricsPrometheusPort() {
+		return metricsPrometheusPort;
+	}
+	
+	/**
+	 * Exports the metrics in the Prometheus text format via HTTP (GET /metrics) while the system is running.
+	 * 
+	 * @param port 0 for an ephemeral port (see ActorExecuterService::getMetricsHttpServer)
+	 */
+	public void metricsPrometheusMode(int port) {
+		metricsPrometheusPort = port;
+	}
+	
+	public void resetProcessingTimeHistograms() {
+		for (ActorCell cell : cells.values())
+			if (cell.processingTimeHistogram!=null)
+				cell.processingTimeHistogram.reset();
+		if (executerService.actorThreadPool!=null)
+			for (ActorThread t : executerService.actorThreadPool.actorThreads)
+				t.processingTimeHistogram.reset();
+	}
+	
+	public ActorPlacementPolicy getPlacementPolicy() {
+		return placementPolicy;
+	}
+	
+	/**
+	 * Selects the actor thread for actors, that are created after the start of
+	 * the actor system (default RoundRobinPlacementPolicy). Must be set before the start.
+	 */
+	public void setPlacementPolicy(ActorPlacementPolicy placementPolicy) {
+		this.placementPolicy = placementPolicy;
 	}
 	
 	public boolean isPersistenceMode() {
@@ -397,6 +888,53 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	public void setThroughput(int throughput) {
 		this.throughput = throughput;
 	}
+	
+	public boolean isFairMode() {
+		return fairMode;
+	}
+	
+	/**
+	 * The messages of the outer queue are scheduled by deficit round-robin across
+	 * the actors of an actor thread, instead of FIFO (see FairActorQueue). The shared
+	 * outer queue is drained into the per actor lanes on each loop of the thread, so
+	 * messages of other actors are not queued behind the burst of one actor. The lanes
+	 * hold at most the buffer queue size of messages in total, so a bounded outer queue
+	 * still limits the pending messages of a thread (see BoundedActorThread).
+	 */
+	public void fairMode() {
+		fairMode = true;
+	}
+	
+	/**
+	 * @param quantum the number of messages, that are delivered to an actor per visit
+	 */
+	public void fairMode(int quantum) {
+		if (quantum<=0)
+			throw new IllegalArgumentException("quantum must be positive");
+		
+		fairQuantum = quantum;
+		fairMode = true;
+	}
+	
+	public int getFairQuantum() {
+		return fairQuantum;
+	}
+	
+	public boolean isDeadlineMode() {
+		return deadlineMode;
+	}
+	
+	/**
+	 * Messages of the outer queue, that carry a deadline (see ActorMessage::timeToLive),
+	 * are served earliest deadline first in a separate lane of the actor thread, with
+	 * its own throughput (only for DefaultActorThread). Inner, server and priority
+	 * messages are not reordered by their deadline. Expired messages are dropped by
+	 * the actor threads on dequeue in any mode and queue, and counted as dead letters
+	 * (see DeadLetterReason.EXPIRED).
+	 */
+	public void deadlineMode() {
+		deadlineMode = true;
+	}
 
 	public ActorSystemImpl setDebugUnhandled(boolean debugUnhandled) {
 		this.debugUnhandled = debugUnhandled;
@@ -412,15 +950,13 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	
 	protected UUID internal_addCell(ActorCell cell) {
 		Actor actor = cell.actor;
-		if (actor instanceof PseudoActor)
+		if (actor instanceof PseudoActor) {
 			pseudoCells.put(cell.id, cell);
+			if (executerService.isStarted())
+				messageDispatcher.registerCell(cell);
+		}
 		else {
-			actor.setCell(cell);
-			cells.put(cell.id, cell);
-			if (actor instanceof ResourceActor)
-				resourceCells.put(cell.id, false);
-			else if (actor instanceof PodActor)
-				podCells.put(cell.id, false);
+			putCell(cell);
 			if (executerService.isStarted()) {
 				messageDispatcher.registerCell(cell);
 				/* preStart */
@@ -430,15 +966,25 @@ public abstract class ActorSystemImpl implements ActorPodService {
 		return cell.id;
 	}
 	
+	protected void putCell(ActorCell cell) {
+		Actor actor = cell.actor;
+		actor.setCell(cell);
+		cells.put(cell.id, cell);
+		if (actor instanceof ResourceActor)
+			resourceCells.put(cell.id, false);
+		else if (actor instanceof PodActor)
+			podCells.put(cell.id, false);
+	}
+	
 	protected UUID user_addCell(ActorCell cell) {
 		cell.parent = USER_ID;
-		cells.get(USER_ID).children.add(cell.id);
+		cells.get(USER_ID).getChildren().add(cell.id);
 		return internal_addCell(cell);
 	}
 	
 	protected UUID system_addCell(ActorCell cell) {
 		cell.parent = SYSTEM_ID;
-		cells.get(SYSTEM_ID).children.add(cell.id);
+		cells.get(SYSTEM_ID).getChildren().add(cell.id);
 		return internal_addCell(cell);
 	}
 	
@@ -482,6 +1028,42 @@ public abstract class ActorSystemImpl implements ActorPodService {
 		return result;
 	}
 	
+	/**
+	 * Bulk variant of addActor(factory, instances) for large numbers of actors.
+	 * The actors share one injector entry and are registered in batches per
+	 * actor thread. Their preStart is executed on the owning actor threads in
+	 * parallel (when called outside of an actor thread). Returns after all
+	 * preStart methods were executed.
+	 */
+	public List<UUID> spawnActors(ActorFactory factory, int instances) {
+		List<UUID> result = new ArrayList<>(instances);
+		
+		DIMapEntry entry = new DIMapEntry();
+		entry.setFactoryInjector(factory);
+		ActorCell user = cells.get(USER_ID);
+		
+		boolean started = executerService.isStarted();
+		List<ActorCell> spawned = new ArrayList<>(started ? instances : 0);
+		for (int i=0; i<instances; i++) {
+			ActorCell cell = generateCell(factory.create());
+			container.register(cell.id, entry);
+			if (!started || cell.actor instanceof PseudoActor) {
+				result.add(user_addCell(cell));
+				continue;
+			}
+			
+			cell.parent = USER_ID;
+			user.getChildren().add(cell.id);
+			putCell(cell);
+			spawned.add(cell);
+			result.add(cell.id);
+		}
+		if (!spawned.isEmpty())
+			messageDispatcher.registerCells(spawned);
+		
+		return result;
+	}
+	
 	public void setPodDomain(UUID id, String domain) {
 		if (id!=null && domain!=null && !domain.isEmpty()) {
 			Queue<UUID> queue = null;
@@ -562,10 +1144,10 @@ public abstract class ActorSystemImpl implements ActorPodService {
 		String alias = null;
 		if ((alias=hasAliases.get(id))!=null) {
 			hasAliases.remove(id);
-			Queue<UUID> queue = aliases.get(alias);
-			queue.remove(id);
-			if (queue.isEmpty())
-				aliases.remove(alias);
+			aliases.computeIfPresent(alias, (key, value) -> {
+				value.remove(id);
+				return (value.isEmpty() && value.getRouter()==null) ? null : value;
+			});
 		}
 	}
 	
@@ -582,17 +1164,13 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	
 	public ActorSystemImpl setAlias(UUID id, String alias) {
 		if (id!=null && alias!=null && !alias.isEmpty()) {
-			Queue<UUID> queue = null;
-			if ((queue=aliases.get(alias))==null) {
-				queue = new ConcurrentLinkedQueue<>();
-				queue.add(id);
-				aliases.put(alias, queue);
-				hasAliases.put(id, alias);
-			}	
-			else {
-				queue.add(id);
-				hasAliases.put(id, alias);
-			}
+			aliases.compute(alias, (key, value) -> {
+				if (value==null)
+					value = new ActorAlias();
+				value.add(id);
+				return value;
+			});
+			hasAliases.put(id, alias);
 		}
 		
 		return this;
@@ -605,20 +1183,59 @@ public abstract class ActorSystemImpl implements ActorPodService {
 		return this;
 	}
 	
+	/**
+	 * Routes all messages via this alias with the given router (null for the
+	 * default router). The setting is kept, when the alias has no members.
+	 */
+	public ActorSystemImpl setAliasRouter(String alias, ActorRouter router) {
+		if (alias!=null && !alias.isEmpty())
+			aliases.compute(alias, (key, value) -> {
+				if (value==null)
+					value = new ActorAlias();
+				value.setRouter(router);
+				return (value.isEmpty() && router==null) ? null : value;
+			});
+		
+		return this;
+	}
+	
+	public ActorRouter getAliasRouter() {
+		return aliasRouter;
+	}
+	
+	/**
+	 * Default router for aliases (RandomRouter).
+	 */
+	public ActorSystemImpl setAliasRouter(ActorRouter aliasRouter) {
+		this.aliasRouter = aliasRouter;
+		
+		return this;
+	}
+	
 	public UUID getActorFromAlias(String alias) {
-		List<UUID> result = getActorsFromAlias(alias);
+		ActorAlias result = aliases.get(alias);
 		
-		return !result.isEmpty() ? result.get(0) : null;
+		return (result!=null && !result.isEmpty()) ? result.getMembers()[0] : null;
 	}
 	
+	/**
+	 * @return immutable snapshot of the members
+	 */
 	public List<UUID> getActorsFromAlias(String alias) {
-		List<UUID> result = new LinkedList<>();
+		ActorAlias result = aliases.get(alias);
 		
-		Queue<UUID> queue = aliases.get(alias);
-		if (queue!=null)
-			queue.forEach((id) -> result.add(id));
+		return result!=null ? result.getMembersAsList() : Collections.emptyList();
+	}
+	
+	/**
+	 * Selects one member of the alias for the message.
+	 * 
+	 * @return null, if the alias has no members
+	 */
+	public UUID routeAlias(String alias, ActorMessage<?> message) {
+		ActorAlias result = aliases.get(alias);
 		
-		return result;
+		return result!=null ? result.route(this, aliasRouter, message) : null;
 	}
 	
 	public String getActorPath(UUID uuid) {
@@ -687,6 +1304,16 @@ public abstract class ActorSystemImpl implements ActorPodService {
 		return this;
 	}
 	
+	public ActorSystemImpl send(Collection<ActorMessage<?>> messages) {
+		if (!messagingEnabled.get())
+			for (ActorMessage<?> message : messages)
+				bufferQueue.offer(message.copy());
+		else
+			messageDispatcher.postOuter(messages);
+		
+		return this;
+	}
+	
 	public ActorSystemImpl sendViaPath(ActorMessage<?> message, String path) {
 		message.dest = getActorFromPath(path);
 		if (message.dest!=null)
@@ -696,16 +1323,13 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	}
 	
 	public ActorSystemImpl sendViaAlias(ActorMessage<?> message, String alias) {
-		List<UUID> destinations = getActorsFromAlias(alias);
-		
-		if (!destinations.isEmpty()) {
-			if (destinations.size()==1)
-				message.dest = destinations.get(0);
-			else 
-				message.dest = destinations.get(ThreadLocalRandom.current().nextInt(destinations.size()));
-			if (message.dest!=null)
-				send(message);
+		UUID dest = routeAlias(alias, message);
+		if (dest!=null) {
+			message.dest = dest;
+			send(message);
 		}
+		else
+			deadLetter(message, DeadLetterReason.UNRESOLVED_ALIAS);
 		
 		return this;
 	}
@@ -713,17 +1337,14 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	public boolean sendViaAliasAsServer(ActorMessage<?> message, String alias) {
 		boolean result = false;
 		
-		List<UUID> destinations = getActorsFromAlias(alias);
-		if (!destinations.isEmpty()) {
-			if (destinations.size()==1)
-				message.dest = destinations.get(0);
-			else 
-				message.dest = destinations.get(ThreadLocalRandom.current().nextInt(destinations.size()));
-			if (message.dest!=null) {
-				sendAsServer(message);
-				result = true;
-			}
+		UUID dest = routeAlias(alias, message);
+		if (dest!=null) {
+			message.dest = dest;
+			sendAsServer(message);
+			result = true;
 		}
+		else
+			deadLetter(message, DeadLetterReason.UNRESOLVED_ALIAS);
 		
 		return result;
 	}
@@ -767,10 +1388,7 @@ public abstract class ActorSystemImpl implements ActorPodService {
 				bufferQueue.offer(message.copy());
 			}
 		else
-			for (UUID id : group) {
-				message.dest = id;
-				messageDispatcher.postOuter(message);
-			}
+			messageDispatcher.postOuter(message, group);
 		
 		return this;
 	}
@@ -781,14 +1399,20 @@ public abstract class ActorSystemImpl implements ActorPodService {
 	
 	public void addRedirection(UUID source, UUID dest) {
 		redirector.put(source, dest);
+		if (executerService.isStarted())
+			executerService.actorProcessPool.updateHandle(source);
 	}
 	
 	public void removeRedirection(UUID source) {
 		redirector.remove(source);
+		if (executerService.isStarted())
+			executerService.actorProcessPool.updateHandle(source);
 	}
 	
 	public void clearRedirections() {
 		redirector.clear();
+		if (executerService.isStarted())
+			executerService.actorProcessPool.updateHandles();
 	}
 	
 	public ActorTimer timer() {
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import io.actor4j.core.deadletters.DeadLetterReason;
+import io.actor4j.core.metrics.ActorGauge;
+import io.actor4j.core.metrics.ActorMetric;
+import io.actor4j.core.metrics.ActorMetricType;
+import io.actor4j.core.metrics.ActorMetricsCollector;
+import io.actor4j.core.metrics.ActorSummary;
+import io.actor4j.core.metrics.LogHistogram;
+import io.actor4j.core.routing.ActorAlias;
+
+/**
+ * Collects the metrics of the actor system per actor thread, per alias and per
+ * pod domain on export. The values are read from counters, that are already
+ * maintained on the hot path, nothing is recorded additionally.
+ */
+public class ActorSystemMetricsCollector implements ActorMetricsCollector {
+	protected final ActorSystemImpl system;
+	
+	public ActorSystemMetricsCollector(ActorSystemImpl system) {
+		super();
+		
+		this.system = system;
+	}
+	
+	@Override
+	public void collect(Consumer<ActorMetric> consumer) {
+		consumer.accept(new ActorGauge("actor4j_actors", "Number of actors.", () -> system.cells.size()));
+		for (DeadLetterReason reason : DeadLetterReason.values())
+			consumer.accept(new ActorGauge(ActorMetricType.COUNTER, "actor4j_dead_letters_total", "Messages, that could not be delivered.", () -> system.deadLetters.getCount(reason), "reason", reason.name().toLowerCase()));
+		
+		collectThreads(consumer);
+		collectAliases(consumer);
+		collectMailboxLatencies(consumer);
+		collectPodDomains(consumer);
+	}
+	
+	protected void collectThreads(Consumer<ActorMetric> consumer) {
+		ActorThreadPool actorThreadPool = system.executerService.actorThreadPool;
+		if (actorThreadPool!=null) {
+			for (ActorThread t : actorThreadPool.actorThreads) {
+				String name = t.getName();
+				consumer.accept(new ActorGauge(ActorMetricType.COUNTER, "actor4j_thread_messages_total", "Messages processed by the actor thread.", () -> t.getCount(), "thread", name));
+				consumer.accept(new ActorGauge("actor4j_thread_outer_queue_size", "Size of the outer queue of the actor thread.", () -> t.getOuterQueue().size(), "thread", name));
+				consumer.accept(new ActorGauge("actor4j_thread_inner_queue_size", "Size of the inner queue of the actor thread.", () -> t.getInnerQueue().size(), "thread", name));
+				consumer.accept(new ActorGauge("actor4j_thread_actors", "Number of actors assigned to the actor thread.", () -> t.getCellsCount(), "thread", name));
+				if (t.getProcessingTimeEnabled().get())
+					consumer.accept(new ActorSummary("actor4j_thread_processing_time_seconds", "Processing time of the messages of the actor thread.", t.getProcessingTimeHistogram(), 1e-9, "thread", name));
+				for (ActorQueueKind kind : ActorQueueKind.values())
+					if (t.getMailboxLatencyHistogram(kind)!=null)
+						consumer.accept(new ActorSummary("actor4j_thread_mailbox_latency_seconds", "Time of the messages in the queue of the actor thread.", t.getMailboxLatencyHistogram(kind), 1e-9, "thread", name, "queue", kind.name().toLowerCase()));
+			}
+		}
+		else {
+			List<Long> counts = system.executerService.getCounts();
+			for (int i=0; i<counts.size(); i++) {
+				long count = counts.get(i);
+				consumer.accept(new ActorGauge(ActorMetricType.COUNTER, "actor4j_thread_messages_total", "Messages processed by the actor thread.", () -> count, "thread", String.valueOf(i)));
+			}
+		}
+	}
+	
+	protected void collectAliases(Consumer<ActorMetric> consumer) {
+		for (Map.Entry<String, ActorAlias> entry : system.aliases.entrySet()) {
+			ActorAlias alias = entry.getValue();
+			consumer.accept(new ActorGauge("actor4j_alias_actors", "Number of members of the alias.", () -> alias.size(), "alias", entry.getKey()));
+			consumer.accept(new ActorGauge(ActorMetricType.COUNTER, "actor4j_alias_messages_total", "Messages sent via the alias.", () -> alias.getRouted(), "alias", entry.getKey()));
+		}
+	}
+	
+	protected void collectMailboxLatencies(Consumer<ActorMetric> consumer) {
+		for (Map.Entry<String, LogHistogram> entry : system.mailboxLatencyHistograms.entrySet())
+			consumer.accept(new ActorSummary("actor4j_alias_mailbox_latency_seconds", "Time of the messages in the queues of the actors with the alias.", entry.getValue(), 1e-9, "alias", entry.getKey()));
+	}
+	
+	protected void collectPodDomains(Consumer<ActorMetric> consumer) {
+		for (Map.Entry<String, Queue<UUID>> entry : system.podDomains.entrySet()) {
+			Queue<UUID> queue = entry.getValue();
+			consumer.accept(new ActorGauge("actor4j_pod_domain_actors", "Number of pod actors of the domain.", () -> queue.size(), "domain", entry.getKey()));
+		}
+	}
+}
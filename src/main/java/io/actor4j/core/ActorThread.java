@@ -15,25 +15,56 @@
  */
 package io.actor4j.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.jctools.queues.MpscLinkedQueue;
+
+import io.actor4j.core.deadletters.DeadLetterReason;
 import io.actor4j.core.failsafe.Method;
 import io.actor4j.core.failsafe.FailsafeMethod;
 import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.messages.ActorMessagePool;
+import io.actor4j.core.metrics.ActorProfiler;
+import io.actor4j.core.metrics.LogHistogram;
+
+import static io.actor4j.core.protocols.ActorProtocolTag.*;
 
 public abstract class ActorThread extends Thread {
+	protected static final Comparator<ActorMessage<?>> PRIORITY_ORDER = (m1, m2) -> Integer.compare(m1.tag, m2.tag); // see ActorMessage::compareTo
+	
 	protected final UUID uuid; // for safety
 	
 	protected final ActorSystemImpl system;
 	
 	protected final AtomicBoolean threadLoad;
 	protected final AtomicBoolean processingTimeEnabled;
+	protected final LogHistogram processingTimeHistogram; // of all actors of this thread
+	protected final LogHistogram[] mailboxLatencyHistograms; // per ActorQueueKind, null if disabled
+	protected volatile ActorProfiler profiler; // null if disabled, see ActorSystemImpl::profilerMode
 	protected final AtomicLong counter;
+	protected final AtomicInteger cellsCount; // registered actors of this thread
+	protected final boolean processingTimeRequired; // see ActorPlacementPolicy
+	protected volatile long processingTime; // in nanoseconds, only written by this thread
 	protected Runnable onTermination;
 	
+	protected final Queue<ActorHandover> handoverQueue; // completed migrations to this thread
+	
+	protected final ActorMessagePool messagePool; // only in envelope pool mode
+	
+	protected final IdleStrategy idleStrategy;
+	protected boolean deferSignals; // while an actor of this thread receives a message
+	protected ActorThread[] signals; // deferred signals to other threads
+	protected int signalsCount;
+	
 	public ActorThread(ThreadGroup group, String name, ActorSystemImpl system) {
 		super(group, name);
 		
@@ -41,20 +72,37 @@ public abstract class ActorThread extends Thread {
 		uuid = UUID.randomUUID();
 		
 		threadLoad = new AtomicBoolean(false);
-		processingTimeEnabled = new AtomicBoolean(false);
+		processingTimeEnabled = new AtomicBoolean(system.processingTimeMode);
+		processingTimeHistogram = new LogHistogram();
+		if (system.mailboxLatencyMode) {
+			mailboxLatencyHistograms = new LogHistogram[ActorQueueKind.values().length];
+			for (int i=0; i<mailboxLatencyHistograms.length; i++)
+				mailboxLatencyHistograms[i] = new LogHistogram();
+		}
+		else
+			mailboxLatencyHistograms = null;
+		profiler = system.profilerSampleRate>0 ? new ActorProfiler(system.profilerSampleRate, system.profilerTopN) : null;
 		counter = new AtomicLong(0);
+		cellsCount = new AtomicInteger(0);
+		processingTimeRequired = system.placementPolicy!=null && system.placementPolicy.isProcessingTimeRequired();
+		
+		handoverQueue = new MpscLinkedQueue<>();
+		
+		idleStrategy = system.factoryIdleStrategy!=null ? system.factoryIdleStrategy.apply(this) : new DefaultIdleStrategy(this);
+		signals = new ActorThread[4];
+		messagePool = system.envelopePoolMode ? new ActorMessagePool(system.bufferQueueSize, system.envelopePoolDebug) : null;
 	}
 	
 	protected void failsafeMethod(ActorMessage<?> message, ActorCell cell) {
 		try {
-			if (processingTimeEnabled.get()) {
-				long startTime = System.nanoTime();
-				cell.internal_receive(message);
-				long stopTime = System.nanoTime();
-				cell.processingTimeStatistics.addValue(stopTime-startTime);
+			ActorProfiler profiler = this.profiler;
+			if (profiler!=null && profiler.sample()) {
+				long startTime = ActorProfiler.getCpuTime();
+				receive(message, cell);
+				profiler.record(cell.id, system.hasAliases.get(cell.id), message.tag, ActorProfiler.getCpuTime()-startTime);
 			}
 			else
-				cell.internal_receive(message);
+				receive(message, cell);
 		}
 		catch(Exception e) {
 			system.executerService.failsafeManager.notifyErrorHandler(e, "actor", cell.id);
@@ -62,15 +110,52 @@ public abstract class ActorThread extends Thread {
 		}	
 	}
 	
-	protected boolean poll(Queue<ActorMessage<?>> queue) {
+	protected void receive(ActorMessage<?> message, ActorCell cell) {
+		if (system.eventSink!=null) {
+			Object event = system.eventSink.beginHandler();
+			measure(message, cell);
+			system.eventSink.endHandler(event, cell.id, cell.actor!=null ? cell.actor.getName() : null, message.tag);
+		}
+		else
+			measure(message, cell);
+	}
+	
+	protected void measure(ActorMessage<?> message, ActorCell cell) {
+		if (processingTimeEnabled.get()) {
+			long startTime = System.nanoTime();
+			cell.internal_receive(message);
+			long stopTime = System.nanoTime();
+			cell.getProcessingTimeHistogram().record(stopTime-startTime);
+			processingTimeHistogram.record(stopTime-startTime);
+		}
+		else
+			cell.internal_receive(message);
+	}
+	
+	protected void failsafePreStart(ActorCell cell) {
+		try {
+			cell.preStart();
+		}
+		catch(Exception e) {
+			system.executerService.failsafeManager.notifyErrorHandler(e, "actor", cell.id);
+			system.actorStrategyOnFailure.handle(cell, e);
+		}
+	}
+	
+	protected boolean poll(Queue<ActorMessage<?>> queue, ActorQueueKind kind) {
 		boolean result = false;
 		
 		ActorMessage<?> message = queue.poll();
 		if (message!=null) {
-			ActorCell cell = system.cells.get(message.dest);
-			if (cell!=null) {
-				cell.requestRate.getAndIncrement();
-				failsafeMethod(message, cell);
+			ActorHandle handle = message.handle;
+			if (handle!=null && (handle.handover!=null || handle.thread!=this))
+				handover(message, handle, kind);
+			else if (handle==null && message.tag==INTERNAL_PRE_START)
+				((Runnable)message.value).run(); // see ActorThreadPoolHandler::registerCells
+			else {
+				if (mailboxLatencyHistograms!=null && message.enqueueTime!=0)
+					recordMailboxLatency(message, kind);
+				process(message, handle);
 			}
 			if (system.counterEnabled)
 				counter.getAndIncrement();
@@ -81,6 +166,206 @@ public abstract class ActorThread extends Thread {
 		return result;
 	}
 	
+	/*
+	 * Time between the enqueuing by the dispatcher and the dequeuing (see ActorThreadPoolHandler::resolved).
+	 */
+	protected void recordMailboxLatency(ActorMessage<?> message, ActorQueueKind kind) {
+		long latency = System.nanoTime()-message.enqueueTime;
+		mailboxLatencyHistograms[kind.ordinal()].record(latency);
+		
+		String alias = system.hasAliases.get(message.dest);
+		if (alias!=null)
+			system.getMailboxLatencyHistogram(alias).record(latency);
+	}
+	
+	protected void process(ActorMessage<?> message, ActorHandle handle) {
+		if (message.deadline!=0 && message.isExpired(System.nanoTime())) {
+			deadLetter(message, DeadLetterReason.EXPIRED); // the sender does not wait any longer
+			if (messagePool!=null)
+				messagePool.release(message);
+			return;
+		}
+		
+		boolean dropped = message.quota && handle!=null && handle.quota!=null && handle.quota.release(); // see ActorOverflowPolicy.DROP_OLDEST
+		
+		ActorCell cell = (handle!=null && handle.valid) ? handle.cell : system.cells.get(message.dest);
+		if (cell!=null && !dropped) {
+			cell.incrementRequestRate();
+			deferSignals = true;
+			failsafeMethod(message, cell);
+			deferSignals = false;
+			flushSignals();
+		}
+		else
+			system.deadLetter(message, dropped ? DeadLetterReason.MAILBOX_QUOTA : ActorMessageDispatcher.undeliverable(message));
+		if (messagePool!=null)
+			messagePool.release(message);
+	}
+	
+	/*
+	 * Messages for actors that are migrated, see ActorHandover.
+	 */
+	protected void handover(ActorMessage<?> message, ActorHandle handle, ActorQueueKind kind) {
+		ActorHandover handover = handle.handover;
+		
+		if (message.tag==INTERNAL_HANDOVER) {
+			handover = (ActorHandover)message.value;
+			if (handover==handle.handover && handover.from==this && handle.thread==this)
+				startHandover(handover);
+		}
+		else if (message.tag==INTERNAL_HANDOVER_MARKER) {
+			handover = (ActorHandover)message.value;
+			if (handover.markers.decrementAndGet()==0) {
+				handover.done = true;
+				handover.to.notifyHandover(handover);
+			}
+		}
+		else if (handle.thread==this) {
+			if (handover!=null && handover.to==this) {
+				if (!handover.done) {
+					handover.stash.offer(message);
+					return;
+				}
+				completeHandover(handover);
+			}
+			process(message, handle);
+		}
+		else if (handover!=null && handover.from==this && handover.started && !handover.done)
+			process(message, handle); // this thread stays the owner, until all markers are processed
+		else
+			system.executerService.actorThreadPool.actorThreadPoolHandler.forward(message, handle, kind);
+	}
+	
+	protected void startHandover(ActorHandover handover) {
+		ActorHandle handle = handover.handle;
+		
+		system.executerService.actorThreadPool.actorThreadPoolHandler.cellsMap.put(handle.cell.id, handover.to.getId());
+		handle.switchThread(handover.to);
+		cellsCount.decrementAndGet();
+		handover.to.cellsCount.incrementAndGet();
+		handover.started = true;
+		
+		handoverLocalQueues(handle);
+		
+		ActorMessage<ActorHandover> marker = new ActorMessage<>(handover, INTERNAL_HANDOVER_MARKER, system.SYSTEM_ID, handle.cell.id);
+		marker.handle = handle;
+		handover.markers.set(handoverMarkers(marker)); // markers are only processed by this thread
+	}
+	
+	/*
+	 * Processes the messages for the migrated actor in a queue, that is only
+	 * accessed by this thread (they precede the messages in the shared queues).
+	 */
+	protected void handoverLocalQueue(Queue<ActorMessage<?>> queue, ActorHandle handle) {
+		handoverLocalQueue(queue, handle, null);
+	}
+	
+	/*
+	 * @param order of the messages for the migrated actor, or null for the order of the iterator
+	 */
+	protected void handoverLocalQueue(Queue<ActorMessage<?>> queue, ActorHandle handle, Comparator<ActorMessage<?>> order) {
+		List<ActorMessage<?>> messages = null;
+		
+		Iterator<ActorMessage<?>> iterator = queue.iterator();
+		while (iterator.hasNext()) {
+			ActorMessage<?> message = iterator.next();
+			if (message.handle==handle) {
+				iterator.remove();
+				if (messages==null)
+					messages = new ArrayList<>();
+				messages.add(message);
+			}
+		}
+		
+		if (messages!=null) {
+			if (order!=null)
+				messages.sort(order); // stable, ties keep the order of the iterator
+			for (ActorMessage<?> message : messages)
+				process(message, handle);
+		}
+	}
+	
+	protected void completeHandover(ActorHandover handover) {
+		ActorMessage<?> message = null;
+		while ((message=handover.stash.poll())!=null)
+			process(message, handover.handle);
+		
+		if (handover.handle.handover==handover)
+			handover.handle.handover = null;
+	}
+	
+	public void notifyHandover(ActorHandover handover) {
+		handoverQueue.offer(handover);
+		newMessage();
+	}
+	
+	protected boolean pollHandovers() {
+		boolean result = false;
+		
+		ActorHandover handover = null;
+		while ((handover=handoverQueue.poll())!=null) {
+			completeHandover(handover);
+			result = true;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Processes the messages for the migrated actor in the queues, that are
+	 * only accessed by this thread.
+	 */
+	protected abstract void handoverLocalQueues(ActorHandle handle);
+	
+	/**
+	 * Puts the marker into the shared queues, that are polled by this thread.
+	 * 
+	 * @return the number of markers
+	 */
+	protected abstract int handoverMarkers(ActorMessage<?> marker);
+	
+	/*
+	 * Message, that was displaced from a full local queue.
+	 */
+	protected void evicted(ActorMessage<?> message) {
+		deadLetter(message, DeadLetterReason.QUEUE_OVERFLOW);
+	}
+	
+	/*
+	 * Enqueues the message into a bounded queue, a message that does not fit is discarded.
+	 */
+	protected void offer(Queue<ActorMessage<?>> queue, ActorMessage<?> message) {
+		if (!queue.offer(message))
+			deadLetter(message, DeadLetterReason.QUEUE_OVERFLOW);
+	}
+	
+	/*
+	 * Message, that was discarded by this thread.
+	 */
+	protected void deadLetter(ActorMessage<?> message, DeadLetterReason reason) {
+		if (message.quota && message.handle!=null && message.handle.quota!=null)
+			message.handle.quota.release();
+		system.deadLetter(message, reason);
+	}
+	
+	/*
+	 * Moves the head of a (full) bounded queue to the local queue.
+	 */
+	protected void transfer(Queue<ActorMessage<?>> from, Queue<ActorMessage<?>> to) {
+		ActorMessage<?> message = from.poll();
+		if (message!=null)
+			to.offer(message);
+	}
+	
+	/*
+	 * Moves up to max messages from the shared queue to the local queue.
+	 */
+	protected void transfer(Queue<ActorMessage<?>> from, Queue<ActorMessage<?>> to, int max) {
+		ActorMessage<?> message = null;
+		for (int i=0; i<max && (message=from.poll())!=null; i++)
+			to.offer(message);
+	}
+	
 	public abstract void directiveQueue(ActorMessage<?> message);
 	
 	public abstract void priorityQueue(ActorMessage<?> message);
@@ -93,7 +378,41 @@ public abstract class ActorThread extends Thread {
 	
 	public abstract void onRun();
 	
-	protected abstract void newMessage();
+	protected void newMessage() {
+		Thread current = Thread.currentThread();
+		if (current==this)
+			return; // this thread is running and polls its queues again, before it idles
+		if (current instanceof ActorThread && ((ActorThread)current).deferSignal(this))
+			return;
+		
+		idleStrategy.signal();
+	}
+	
+	/*
+	 * Signals of the current message are sent, when the actor has received it
+	 * (once per target thread).
+	 */
+	protected boolean deferSignal(ActorThread t) {
+		if (!deferSignals)
+			return false;
+		
+		for (int i=0; i<signalsCount; i++)
+			if (signals[i]==t)
+				return true;
+		if (signalsCount==signals.length)
+			signals = Arrays.copyOf(signals, signalsCount<<1);
+		signals[signalsCount++] = t;
+		
+		return true;
+	}
+	
+	protected void flushSignals() {
+		for (int i=0; i<signalsCount; i++) {
+			signals[i].idleStrategy.signal();
+			signals[i] = null;
+		}
+		signalsCount = 0;
+	}
 		
 	@Override
 	public void run() {
@@ -117,6 +436,10 @@ public abstract class ActorThread extends Thread {
 		}, uuid);
 	}
 	
+	public IdleStrategy getIdleStrategy() {
+		return idleStrategy;
+	}
+	
 	public AtomicLong getCounter() {
 		return counter;
 	}
@@ -125,6 +448,47 @@ public abstract class ActorThread extends Thread {
 		return counter.longValue();
 	}
 	
+	public AtomicBoolean getProcessingTimeEnabled() {
+		return processingTimeEnabled;
+	}
+	
+	/**
+	 * @return the processing times of the actors of this thread in nanoseconds (see ActorSystemImpl::processingTimeMode)
+	 */
+	public LogHistogram getProcessingTimeHistogram() {
+		return processingTimeHistogram;
+	}
+	
+	/**
+	 * @return the time of the messages in the queue in nanoseconds, or null if not in mailbox latency mode
+	 * (see ActorSystemImpl::mailboxLatencyMode)
+	 */
+	public LogHistogram getMailboxLatencyHistogram(ActorQueueKind kind) {
+		return mailboxLatencyHistograms!=null ? mailboxLatencyHistograms[kind.ordinal()] : null;
+	}
+	
+	/**
+	 * @return the profiler of this thread, or null if disabled
+	 */
+	public ActorProfiler getProfiler() {
+		return profiler;
+	}
+	
+	public void setProfiler(ActorProfiler profiler) {
+		this.profiler = profiler;
+	}
+	
+	public int getCellsCount() {
+		return cellsCount.get();
+	}
+	
+	/**
+	 * @return the total processing time in nanoseconds, if required by the placement policy, otherwise zero
+	 */
+	public long getProcessingTime() {
+		return processingTime;
+	}
+	
 	public abstract Queue<ActorMessage<?>> getDirectiveQueue();
 	
 	public abstract Queue<ActorMessage<?>> getPriorityQueue();
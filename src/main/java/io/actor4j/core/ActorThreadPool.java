@@ -23,7 +23,7 @@ import java.util.function.BiConsumer;
 
 import io.actor4j.core.messages.ActorMessage;
 
-public class ActorThreadPool {
+public class ActorThreadPool implements ActorProcessPool {
 	protected final ActorSystemImpl system;
 	
 	protected final List<ActorThread> actorThreads;
@@ -60,6 +60,7 @@ public class ActorThreadPool {
 			t.start();
 	}
 	
+	@Override
 	public void shutdown(Runnable onTermination, boolean await) {
 		if (actorThreads.size()>0) {
 			for (ActorThread t : actorThreads)
@@ -117,6 +118,37 @@ public class ActorThreadPool {
 		actorThreadPoolHandler.postPersistence(message);
 	}
 	
+	@Override
+	public void registerCell(ActorCell cell) {
+		actorThreadPoolHandler.registerCell(cell);
+	}
+	
+	@Override
+	public void registerCells(List<ActorCell> cells) {
+		actorThreadPoolHandler.registerCells(cells);
+	}
+	
+	@Override
+	public void unregisterCell(ActorCell cell) {
+		actorThreadPoolHandler.unregisterCell(cell);
+	}
+	
+	@Override
+	public boolean isRegisteredCell(ActorCell cell) {
+		return actorThreadPoolHandler.isRegisteredCell(cell);
+	}
+	
+	@Override
+	public void updateHandle(UUID id) {
+		actorThreadPoolHandler.updateHandle(id);
+	}
+	
+	@Override
+	public void updateHandles() {
+		actorThreadPoolHandler.updateHandles();
+	}
+	
+	@Override
 	public long getCount() {
 		long sum = 0;
 		for (ActorThread t : actorThreads)
@@ -124,6 +156,8 @@ public class ActorThreadPool {
 		
 		return sum;
 	}
+	
+	@Override
 	public List<Long> getCounts() {
 		List<Long> list = new ArrayList<>();
 		for (ActorThread t : actorThreads)
@@ -16,12 +16,15 @@
 package io.actor4j.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import io.actor4j.core.annotations.concurrent.Readonly;
 import io.actor4j.core.balancing.ActorLoadBalancingBeforeStart;
@@ -29,10 +32,19 @@ import io.actor4j.core.balancing.ActorLoadBalancingAfterStart;
 import io.actor4j.core.messages.ActorMessage;
 import io.actor4j.core.persistence.ActorPersistenceService;
 
+import static io.actor4j.core.protocols.ActorProtocolTag.INTERNAL_HANDOVER;
+import static io.actor4j.core.protocols.ActorProtocolTag.INTERNAL_PRE_START;
+
 public class ActorThreadPoolHandler {
+	protected static final BiConsumer<ActorThread, ActorMessage<?>> OUTER_QUEUE     = (t, msg) -> t.outerQueue(msg);
+	protected static final BiConsumer<ActorThread, ActorMessage<?>> SERVER_QUEUE    = (t, msg) -> t.serverQueue(msg);
+	protected static final BiConsumer<ActorThread, ActorMessage<?>> PRIORITY_QUEUE  = (t, msg) -> t.priorityQueue(msg);
+	protected static final BiConsumer<ActorThread, ActorMessage<?>> DIRECTIVE_QUEUE = (t, msg) -> t.directiveQueue(msg);
+	
 	protected final ActorSystemImpl system;
 	
 	protected final Map<UUID, Long> cellsMap;  // ActorCellID -> ThreadID
+	protected final Map<UUID, ActorHandle> handlesMap; // ActorCellID -> ActorHandle (routing table)
 	@Readonly
 	protected final Map<Long, ActorThread> threadsMap;
 	@Readonly
@@ -52,6 +64,7 @@ public class ActorThreadPoolHandler {
 		this.system = system;
 		
 		cellsMap = new ConcurrentHashMap<>();
+		handlesMap = new ConcurrentHashMap<>();
 		threadsMap = new HashMap<>();
 		threadsList = new ArrayList<>();
 		persistenceMap = new HashMap<>();
@@ -60,13 +73,17 @@ public class ActorThreadPoolHandler {
 		groupsDistributedMap = new ConcurrentHashMap<>();
 		
 		actorLoadBalancingBeforeStart = new ActorLoadBalancingBeforeStart();
-		actorLoadBalancingAfterStart = new ActorLoadBalancingAfterStart();
+		actorLoadBalancingAfterStart = new ActorLoadBalancingAfterStart(system.placementPolicy);
 	}
 	
 	public Map<UUID, Long> getCellsMap() {
 		return cellsMap;
 	}
 
+	public Map<UUID, ActorHandle> getHandlesMap() {
+		return handlesMap;
+	}
+
 	public Map<Long, ActorThread> getThreadsMap() {
 		return threadsMap;
 	}
@@ -85,69 +102,351 @@ public class ActorThreadPoolHandler {
 			persistenceMap.put(t.getId(), ActorPersistenceService.getAlias(i));
 			i++;
 		}
+		
+		for (ActorCell cell : system.cells.values())
+			registerHandle(cell);
+		for (ActorCell cell : system.pseudoCells.values())
+			registerPseudoHandle(cell);
+		updateHandles();
+	}
+	
+	protected void registerHandle(ActorCell cell) {
+		Long id = cellsMap.get(cell.id);
+		if (id!=null) {
+			ActorHandle handle = new ActorHandle(cell, threadsMap.get(id), mailboxQuota(cell));
+			handlesMap.put(cell.id, handle);
+			updateHandle(handle);
+			handle.thread.cellsCount.incrementAndGet();
+		}
+	}
+	
+	protected void registerPseudoHandle(ActorCell cell) {
+		ActorHandle handle = new ActorHandle(cell, null, null, ActorCellKind.PSEUDO);
+		handlesMap.put(cell.id, handle);
+		updateHandle(handle);
+	}
+	
+	protected ActorMailboxQuota mailboxQuota(ActorCell cell) {
+		ActorMailboxQuota result = cell.actor!=null ? cell.actor.mailboxQuota() : null;
+		if (result==null && system.factoryMailboxQuota!=null)
+			result = system.factoryMailboxQuota.get();
+		
+		return result;
+	}
+	
+	/*
+	 * Applies the mailbox quota of the destination, before the message is copied.
+	 */
+	protected boolean admit(ActorMessage<?> message, ActorHandle handle) {
+		return handle==null || handle.quota==null || handle.quota.admit(system, message);
+	}
+	
+	protected ActorMessage<?> counted(ActorMessage<?> message, ActorHandle handle) {
+		message.quota = handle!=null && handle.quota!=null; // the flag of a shared envelope may be stale
+		
+		return message;
+	}
+	
+	protected void updateHandle(ActorHandle handle) {
+		if (handle.kind==ActorCellKind.REDIRECT)
+			return;
+		
+		if (handle.kind!=ActorCellKind.PSEUDO)
+			handle.kind = system.resourceCells.containsKey(handle.cell.id) ? ActorCellKind.RESOURCE : ActorCellKind.ACTOR;
+		handle.redirect = system.redirector.get(handle.cell.id);
+		// resource actors and redirected actors are dispatched by the regular lookup
+		handle.valid = handle.kind==ActorCellKind.ACTOR && handle.redirect==null;
+	}
+	
+	public void updateHandle(UUID id) {
+		UUID redirect = system.redirector.get(id);
+		
+		handlesMap.compute(id, (key, handle) -> {
+			if (handle==null) {
+				if (redirect!=null) {
+					handle = new ActorHandle(null, null, null, ActorCellKind.REDIRECT);
+					handle.redirect = redirect;
+				}
+			}
+			else if (handle.kind==ActorCellKind.REDIRECT) {
+				if (redirect==null)
+					handle = null;
+				else
+					handle.redirect = redirect;
+			}
+			else
+				updateHandle(handle);
+			
+			return handle;
+		});
+	}
+	
+	public void updateHandles() {
+		for (UUID id : handlesMap.keySet())
+			updateHandle(id);
+		for (UUID id : system.redirector.keySet())
+			updateHandle(id);
+	}
+	
+	public ActorHandle getHandle(UUID id) {
+		ActorHandle result = handlesMap.get(id);
+		
+		return (result!=null && result.valid) ? result : null;
+	}
+	
+	/**
+	 * Looks up the routing entry of the destination and applies its redirection
+	 * (the destination of the message is changed).
+	 * 
+	 * @return the entry of the (redirected) destination, or null if unknown
+	 */
+	public ActorHandle resolve(ActorMessage<?> message) {
+		ActorHandle result = handlesMap.get(message.dest);
+		
+		if (result!=null && result.redirect!=null) {
+			message.dest = result.redirect;
+			result = handlesMap.get(message.dest);
+		}
+		
+		return result;
 	}
 	
 	public boolean postInnerOuter(ActorMessage<?> message, UUID source) {
+		return postInnerOuter(message, actor(handlesMap.get(message.dest)));
+	}
+	
+	protected ActorHandle actor(ActorHandle handle) {
+		return (handle!=null && handle.thread!=null) ? handle : null;
+	}
+	
+	public boolean postInnerOuter(ActorMessage<?> message, ActorHandle handle) {
 		boolean result = false;
 		
 		if (system.parallelismMin==1 && system.parallelismFactor==1 && Thread.currentThread() instanceof ActorThread) {
-			ActorThread t = ((ActorThread)Thread.currentThread());
-			t.innerQueue(message.copy());
-			t.newMessage();
+			if (admit(message, handle)) {
+				ActorThread t = ((ActorThread)Thread.currentThread());
+				t.innerQueue(counted(resolved(system.copy(message), handle), handle));
+				t.newMessage();
+			}
 			result = true;
 		}
-		else {
-			Long id_source = cellsMap.get(source);
-			Long id_dest   = cellsMap.get(message.dest);
-		
-			if (id_dest!=null) {
-				ActorThread t = threadsMap.get(id_dest);
-				
-				if (id_source!=null && id_source.equals(id_dest)
-						&& Thread.currentThread().getId()==id_source.longValue())
-					t.innerQueue(message.copy());
+		else if (handle!=null) {
+			if (admit(message, handle)) {
+				ActorMessage<?> copy = counted(resolved(system.copy(message), handle), handle);
+				if (system.rebalancingMode) {
+					int epoch = handle.enter();
+					postInnerOuter(copy, handle.thread);
+					handle.exit(epoch);
+				}
 				else
-					t.outerQueue(message.copy());
-				
-				t.newMessage();
-				result = true;
-			}	
+					postInnerOuter(copy, handle.thread);
+			}
+			result = true;
 		}
 		
 		return result;
 	}
 	
+	protected void postInnerOuter(ActorMessage<?> message, ActorThread t) {
+		if (Thread.currentThread()==t)
+			t.innerQueue(message);
+		else
+			t.outerQueue(message);
+		
+		t.newMessage();
+	}
+	
 	public boolean postOuter(ActorMessage<?> message) {
-		Long id_dest = cellsMap.get(message.dest);
-		if (id_dest!=null) {
-			ActorThread t = threadsMap.get(id_dest);
-			t.outerQueue(message.copy());
+		return postQueueLimited(message, OUTER_QUEUE);
+	}
+	
+	public void postInnerOuter(Collection<ActorMessage<?>> messages, Consumer<ActorMessage<?>> fallback) {
+		postBatch(messages, true, fallback);
+	}
+	
+	public void postOuter(Collection<ActorMessage<?>> messages, Consumer<ActorMessage<?>> fallback) {
+		postBatch(messages, false, fallback);
+	}
+	
+	public void postInnerOuter(ActorMessage<?> message, Collection<UUID> dests, Consumer<ActorMessage<?>> fallback) {
+		postBatch(message, dests, true, fallback);
+	}
+	
+	public void postOuter(ActorMessage<?> message, Collection<UUID> dests, Consumer<ActorMessage<?>> fallback) {
+		postBatch(message, dests, false, fallback);
+	}
+	
+	/*
+	 * Enqueues the messages for registered actors and signals each target thread
+	 * only once, all other messages are passed to the fallback.
+	 */
+	protected void postBatch(Collection<ActorMessage<?>> messages, boolean inner, Consumer<ActorMessage<?>> fallback) {
+		List<ActorThread> signals = new ArrayList<>();
+		
+		for (ActorMessage<?> message : messages)
+			signal(signals, postBatch(message, inner, fallback));
+		
+		for (ActorThread t : signals)
 			t.newMessage();
+	}
+	
+	/*
+	 * Same as above for one message to several destinations, the message is
+	 * copied once per destination.
+	 */
+	protected void postBatch(ActorMessage<?> message, Collection<UUID> dests, boolean inner, Consumer<ActorMessage<?>> fallback) {
+		List<ActorThread> signals = new ArrayList<>();
+		
+		for (UUID dest : dests) {
+			message.dest = dest;
+			signal(signals, postBatch(message, inner, fallback));
 		}
 		
-		return id_dest!=null;
+		for (ActorThread t : signals)
+			t.newMessage();
 	}
 	
-	public boolean postServer(ActorMessage<?> message) {
-		Long id_dest = cellsMap.get(message.dest);
-		if (id_dest!=null) {
-			ActorThread t = threadsMap.get(id_dest);
-			t.serverQueue(message.copy());
-			t.newMessage();
+	/*
+	 * @return the target thread to signal, null if there is none
+	 */
+	protected ActorThread postBatch(ActorMessage<?> message, boolean inner, Consumer<ActorMessage<?>> fallback) {
+		ActorHandle handle = getHandle(message.dest);
+		if (handle==null) {
+			fallback.accept(message);
+			return null;
 		}
+		if (!admit(message, handle))
+			return null;
+		
+		ActorMessage<?> copy = counted(resolved(system.copy(message), handle), handle);
+		ActorThread t;
+		if (system.rebalancingMode) {
+			int epoch = handle.enter();
+			t = enqueue(copy, handle.thread, inner);
+			handle.exit(epoch);
+		}
+		else
+			t = enqueue(copy, handle.thread, inner);
+		
+		return t;
+	}
+	
+	protected void signal(List<ActorThread> signals, ActorThread t) {
+		if (t!=null && !signals.contains(t))
+			signals.add(t);
+	}
+	
+	protected ActorThread enqueue(ActorMessage<?> message, ActorThread t, boolean inner) {
+		if (inner && Thread.currentThread()==t)
+			t.innerQueue(message);
+		else
+			t.outerQueue(message);
 		
-		return id_dest!=null;
+		return t;
+	}
+	
+	public boolean postServer(ActorMessage<?> message) {
+		return postQueueLimited(message, SERVER_QUEUE);
+	}
+	
+	protected boolean postQueueLimited(ActorMessage<?> message, BiConsumer<ActorThread, ActorMessage<?>> biconsumer) {
+		ActorHandle handle = actor(handlesMap.get(message.dest));
+		if (handle!=null)
+			postQueue(message, handle, biconsumer, true);
+		
+		return handle!=null;
 	}
 	
 	public boolean postQueue(ActorMessage<?> message, BiConsumer<ActorThread, ActorMessage<?>> biconsumer) {
-		Long id_dest = cellsMap.get(message.dest);
-		if (id_dest!=null) {
-			ActorThread t = threadsMap.get(id_dest);
-			biconsumer.accept(t, message.copy());
-			t.newMessage();
+		ActorHandle handle = actor(handlesMap.get(message.dest));
+		if (handle!=null)
+			postQueue(resolved(system.copy(message), handle), handle, biconsumer);
+		
+		return handle!=null;
+	}
+	
+	/**
+	 * Posts the message to a registered actor, see resolve.
+	 * 
+	 * @param limited whether the mailbox quota of the actor applies
+	 */
+	public void postQueue(ActorMessage<?> message, ActorHandle handle, BiConsumer<ActorThread, ActorMessage<?>> biconsumer, boolean limited) {
+		if (!limited)
+			postQueue(resolved(system.copy(message), handle), handle, biconsumer);
+		else if (admit(message, handle))
+			postQueue(counted(resolved(system.copy(message), handle), handle), handle, biconsumer);
+	}
+	
+	protected void postQueue(ActorMessage<?> message, ActorHandle handle, BiConsumer<ActorThread, ActorMessage<?>> biconsumer) {
+		ActorThread t;
+		if (system.rebalancingMode) {
+			int epoch = handle.enter();
+			t = handle.thread;
+			biconsumer.accept(t, message);
+			handle.exit(epoch);
 		}
+		else {
+			t = handle.thread;
+			biconsumer.accept(t, message);
+		}
+		t.newMessage();
+	}
+	
+	/*
+	 * Forwards a message, that was received by a previous thread of the actor,
+	 * into the same kind of queue of the current thread (inner messages are
+	 * forwarded to the outer queue).
+	 */
+	protected void forward(ActorMessage<?> message, ActorHandle handle, ActorQueueKind kind) {
+		switch (kind) {
+			case DIRECTIVE:
+				postQueue(message, handle, DIRECTIVE_QUEUE);
+				break;
+			case PRIORITY:
+				postQueue(message, handle, PRIORITY_QUEUE);
+				break;
+			case SERVER:
+				postQueue(message, handle, SERVER_QUEUE);
+				break;
+			default:
+				postQueue(message, handle, OUTER_QUEUE);
+		}
+	}
+	
+	protected ActorMessage<?> resolved(ActorMessage<?> message, ActorHandle handle) {
+		message.handle = handle;
+		if (system.mailboxLatencyMode)
+			message.enqueueTime = System.nanoTime();
+		if (system.eventSink!=null)
+			system.eventSink.dispatch(message.tag, message.source, message.dest, handle!=null && handle.thread!=null ? handle.thread.getName() : null);
 		
-		return id_dest!=null;
+		return message;
+	}
+	
+	/**
+	 * Migrates a registered actor to another actor thread (see ActorHandover).
+	 * 
+	 * @return false, if the actor cannot be migrated currently
+	 */
+	public boolean migrateCell(ActorHandle handle, ActorThread to) {
+		boolean result = false;
+		
+		synchronized (handle) {
+			ActorThread from = handle.thread;
+			if (system.rebalancingMode && handle.valid && handle.handover==null && from!=to && threadsMap.get(to.getId())==to) {
+				ActorHandover handover = new ActorHandover(handle, from, to);
+				handle.handover = handover;
+				
+				ActorMessage<ActorHandover> message = new ActorMessage<>(handover, INTERNAL_HANDOVER, system.SYSTEM_ID, handle.cell.id);
+				message.handle = handle;
+				from.directiveQueue(message);
+				from.newMessage();
+				
+				result = true;
+			}
+		}
+		
+		return result;
 	}
 	
 	public void postPersistence(ActorMessage<?> message) {
@@ -157,10 +456,62 @@ public class ActorThreadPoolHandler {
 	}
 	
 	public void registerCell(ActorCell cell) {
+		if (cell instanceof PseudoActorCell) {
+			registerPseudoHandle(cell);
+			return;
+		}
+		
 		actorLoadBalancingAfterStart.registerCell(cellsMap, threadsList, threadsMap, groupsMap, groupsDistributedMap, cell);
+		registerHandle(cell);
+	}
+	
+	/*
+	 * Registers the actors and executes their preStart in batches per actor
+	 * thread, on the owning threads in parallel (see ActorSystemImpl::spawnActors).
+	 */
+	public void registerCells(List<ActorCell> cells) {
+		Map<ActorThread, List<ActorCell>> batches = new HashMap<>();
+		for (ActorCell cell : cells) {
+			actorLoadBalancingAfterStart.registerCell(cellsMap, threadsList, threadsMap, groupsMap, groupsDistributedMap, cell);
+			registerHandle(cell);
+			batches.computeIfAbsent(threadsMap.get(cellsMap.get(cell.id)), (t) -> new ArrayList<>()).add(cell);
+		}
+		
+		if (Thread.currentThread() instanceof ActorThread) {
+			// waiting for other actor threads could deadlock
+			for (ActorCell cell : cells)
+				cell.preStart();
+			return;
+		}
+		
+		CountDownLatch done = new CountDownLatch(batches.size());
+		for (Map.Entry<ActorThread, List<ActorCell>> entry : batches.entrySet()) {
+			ActorThread t = entry.getKey();
+			List<ActorCell> batch = entry.getValue();
+			Runnable task = () -> {
+				for (ActorCell cell : batch)
+					t.failsafePreStart(cell);
+				done.countDown();
+			};
+			t.directiveQueue(new ActorMessage<>(task, INTERNAL_PRE_START, system.SYSTEM_ID, system.SYSTEM_ID));
+			t.newMessage();
+		}
+		try {
+			done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 	}
 	
 	public void unregisterCell(ActorCell cell) {
+		ActorHandle handle = handlesMap.remove(cell.id);
+		if (handle!=null) {
+			handle.invalidate();
+			if (handle.thread!=null)
+				handle.thread.cellsCount.decrementAndGet();
+		}
+		if (system.redirector.containsKey(cell.id))
+			updateHandle(cell.id); // the redirection remains
 		actorLoadBalancingAfterStart.unregisterCell(cellsMap, threadsMap, groupsMap, groupsDistributedMap, cell);
 	}
 	
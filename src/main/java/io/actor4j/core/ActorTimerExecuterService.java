@@ -55,8 +55,7 @@ public class ActorTimerExecuterService implements ActorTimer {
 			@Override
 			public void run() {
 				ActorMessage<?> message = supplier.get();
-				message.dest = dest;
-				system.send(message);
+				system.send(message.weakCopy(dest));
 			}
 		}, delay, unit); 
 	}
@@ -77,10 +76,8 @@ public class ActorTimerExecuterService implements ActorTimer {
 			@Override
 			public void run() {
 				ActorMessage<?> message = supplier.get();
-				for (UUID id : group) {
-					message.dest = id;
-					system.send(message);
-				}
+				for (UUID id : group)
+					system.send(message.weakCopy(id));
 			}
 		}, delay, unit); 
 	}
@@ -101,8 +98,7 @@ public class ActorTimerExecuterService implements ActorTimer {
 			@Override
 			public void run() {
 				ActorMessage<?> message = supplier.get();
-				message.dest = dest;
-				system.send(message);
+				system.send(message.weakCopy(dest));
 			}
 		}, initalDelay, period, unit); 
 	}
@@ -123,10 +119,8 @@ public class ActorTimerExecuterService implements ActorTimer {
 			@Override
 			public void run() {
 				ActorMessage<?> message = supplier.get();
-				for (UUID id : group) {
-					message.dest = id;
-					system.send(message);
-				}
+				for (UUID id : group)
+					system.send(message.weakCopy(id));
 			}
 		}, initalDelay, period, unit); 
 	}
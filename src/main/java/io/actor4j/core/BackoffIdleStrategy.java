@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Progressive backoff: a bounded spin, then yielding, then parking with
+ * growing timeouts (up to <code>maxParkNanos</code>).
+ */
+public class BackoffIdleStrategy extends IdleStrategy {
+	protected static final MethodHandle ON_SPIN_WAIT; // Thread::onSpinWait, since Java 9
+	
+	protected final int maxSpins;
+	protected final int maxYields;
+	protected final long minParkNanos;
+	protected final long maxParkNanos;
+	
+	protected int count;
+	protected long parkNanos;
+	
+	public BackoffIdleStrategy(ActorThread thread) {
+		this(thread, 100, 10, 1_000, 1_000_000);
+	}
+	
+	public BackoffIdleStrategy(ActorThread thread, int maxSpins, int maxYields, long minParkNanos, long maxParkNanos) {
+		super(thread);
+		
+		this.maxSpins = maxSpins;
+		this.maxYields = maxYields;
+		this.minParkNanos = minParkNanos;
+		this.maxParkNanos = maxParkNanos;
+		
+		parkNanos = minParkNanos;
+	}
+	
+	@Override
+	public void idle() {
+		if (count<maxSpins) {
+			count++;
+			spins++;
+			onSpinWait();
+		}
+		else if (count<maxSpins+maxYields) {
+			count++;
+			yields++;
+			Thread.yield();
+		}
+		else {
+			park(parkNanos);
+			parkNanos = Math.min(parkNanos<<1, maxParkNanos);
+		}
+	}
+	
+	@Override
+	public void reset() {
+		count = 0;
+		parkNanos = minParkNanos;
+	}
+	
+	protected static void onSpinWait() {
+		if (ON_SPIN_WAIT!=null)
+			try {
+				ON_SPIN_WAIT.invokeExact();
+			} catch (Throwable t) {
+				// empty
+			}
+	}
+	
+	static {
+		MethodHandle handle = null;
+		try {
+			handle = MethodHandles.lookup().findStatic(Thread.class, "onSpinWait", MethodType.methodType(void.class));
+		} catch (Exception e) {
+			// before Java 9
+		}
+		ON_SPIN_WAIT = handle;
+	}
+}
@@ -16,12 +16,13 @@
 package io.actor4j.core;
 
 import java.util.ArrayDeque;
-import java.util.concurrent.PriorityBlockingQueue;
 
 import org.apache.commons.collections4.queue.CircularFifoQueue;
 import org.jctools.queues.MpscArrayQueue;
 import org.jctools.queues.MpscLinkedQueue;
 
+import io.actor4j.core.messages.ActorMessage;
+
 public class BoundedActorThread extends DefaultActorThread {
 	public BoundedActorThread(ThreadGroup group, String name, ActorSystemImpl system) {
 		super(group, name, system);
@@ -30,14 +31,21 @@ public class BoundedActorThread extends DefaultActorThread {
 	@Override
 	public void configQueues() {
 		directiveQueue = new MpscLinkedQueue<>(); /* unbounded */
-		priorityQueue  = new PriorityBlockingQueue<>(system.getQueueSize()); /* unbounded */
+		priorityQueue  = new PriorityLaneQueue(); /* unbounded, lock-free */
 		
 		serverQueueL2  = new MpscArrayQueue<>(system.getQueueSize()); /* bounded */
 		serverQueueL1  = new ArrayDeque<>(system.getBufferQueueSize()); /* unbounded */
 		
 		outerQueueL2   = new MpscArrayQueue<>(system.getQueueSize()); /* bounded */
-		outerQueueL1   = new ArrayDeque<>(system.getBufferQueueSize()); /* unbounded */
+		outerQueueL1   = system.isFairMode() ? new FairActorQueue(system.getFairQuantum()) : new ArrayDeque<>(system.getBufferQueueSize()); /* unbounded */
 		
 		innerQueue     = new CircularFifoQueue<>(system.getQueueSize()); /* bounded */
 	}
+	
+	@Override
+	public void innerQueue(ActorMessage<?> message) {
+		if (((CircularFifoQueue<ActorMessage<?>>)innerQueue).isAtFullCapacity())
+			evicted(innerQueue.poll()); // the oldest message would be overwritten
+		innerQueue.offer(message);
+	}
 }
@@ -17,11 +17,10 @@ package io.actor4j.core;
 
 import static io.actor4j.core.utils.ActorUtils.*;
 
-import java.util.List;
+import java.util.Collection;
 import java.util.Queue;
 import java.util.Random;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
@@ -44,6 +43,8 @@ public class DefaultActorMessageDispatcher extends ActorMessageDispatcher {
 				ActorCell cell = DefaultActorMessageDispatcher.this.system.pseudoCells.get(msg.dest);
 				if (cell!=null)
 					((PseudoActorCell)cell).getOuterQueue().offer(msg);
+				else
+					DefaultActorMessageDispatcher.this.system.deadLetter(msg, undeliverable(msg));
 			}
 		};
 		
@@ -74,36 +75,53 @@ public class DefaultActorMessageDispatcher extends ActorMessageDispatcher {
 			throw new NullPointerException();
 		
 		if (alias!=null) {
-			List<UUID> destinations = system.getActorsFromAlias(alias);
-
-			UUID dest = null;
-			if (!destinations.isEmpty()) {
-				if (destinations.size()==1)
-					dest = destinations.get(0);
-				else
-					dest = destinations.get(ThreadLocalRandom.current().nextInt(destinations.size()));
-			}
+			UUID dest = system.routeAlias(alias, message);
 			message.dest = (dest!=null) ? dest : UUID_ALIAS;
 		}
 		
-		UUID redirect = system.redirector.get(message.dest);
-		if (redirect!=null) 
-			message.dest = redirect;
-		
-		if (system.pseudoCells.containsKey(message.dest)) {
-			consumerPseudo.accept(message.copy());
-			return;
+		ActorThreadPoolHandler actorThreadPoolHandler = system.executerService.actorThreadPool.actorThreadPoolHandler;
+		ActorHandle handle = actorThreadPoolHandler.resolve(message);
+		if (handle!=null) {
+			if (handle.kind==ActorCellKind.ACTOR) {
+				actorThreadPoolHandler.postInnerOuter(message, handle);
+				return;
+			}
+			else if (handle.kind==ActorCellKind.RESOURCE) {
+				system.executerService.resource(message.copy());
+				return;
+			}
+			else if (handle.kind==ActorCellKind.PSEUDO) {
+				consumerPseudo.accept(message.copy());
+				return;
+			}
 		}
-		else if (system.clientMode && !system.cells.containsKey(message.dest)) {
+		
+		if (system.clientMode && !system.cells.containsKey(message.dest)) {
 			system.executerService.clientViaAlias(message.copy(), alias);
 			return;
 		}
-		else if (system.resourceCells.containsKey(message.dest)) {
-			system.executerService.resource(message.copy());
-			return;
-		}
 		
-		system.executerService.actorThreadPool.actorThreadPoolHandler.postInnerOuter(message, source);
+		if (!actorThreadPoolHandler.postInnerOuter(message, source))
+			system.deadLetter(message, undeliverable(message));
+	}
+	
+	/*
+	 * Messages to registered actors are enqueued in one pass, each target thread is signaled once.
+	 */
+	@Override
+	public void post(Collection<ActorMessage<?>> messages, UUID source) {
+		if (messages==null)
+			throw new NullPointerException();
+		
+		system.executerService.actorThreadPool.actorThreadPoolHandler.postInnerOuter(messages, (message) -> post(message, source));
+	}
+	
+	@Override
+	public void post(ActorMessage<?> message, Collection<UUID> dests, UUID source) {
+		if (message==null || dests==null)
+			throw new NullPointerException();
+		
+		system.executerService.actorThreadPool.actorThreadPoolHandler.postInnerOuter(message, dests, (msg) -> post(msg, source));
 	}
 	
 	public void post(ActorMessage<?> message, ActorServiceNode node, String path) {
@@ -115,71 +133,65 @@ public class DefaultActorMessageDispatcher extends ActorMessageDispatcher {
 	}
 	
 	protected void postQueue(ActorMessage<?> message, BiConsumer<ActorThread, ActorMessage<?>> biconsumer) {
+		postQueue(message, biconsumer, false);
+	}
+	
+	/*
+	 * Dispatches the message by the routing entry of its destination (see ActorHandle).
+	 */
+	protected void postQueue(ActorMessage<?> message, BiConsumer<ActorThread, ActorMessage<?>> biconsumer, boolean limited) {
 		if (message==null)
 			throw new NullPointerException();
 		
-		UUID redirect = system.redirector.get(message.dest);
-		if (redirect!=null) 
-			message.dest = redirect;
-		
-		if (system.resourceCells.containsKey(message.dest)) {
+		ActorThreadPoolHandler actorThreadPoolHandler = system.executerService.actorThreadPool.actorThreadPoolHandler;
+		ActorHandle handle = actorThreadPoolHandler.resolve(message);
+		if (handle!=null && handle.kind==ActorCellKind.RESOURCE)
 			system.executerService.resource(message.copy());
-			return;
-		}
-		
-		if (!system.executerService.actorThreadPool.actorThreadPoolHandler.postQueue(message, biconsumer)) 
+		else if (handle!=null && handle.thread!=null)
+			actorThreadPoolHandler.postQueue(message, handle, biconsumer, limited);
+		else
 			consumerPseudo.accept(message.copy());
 	}
 	
 	@Override
 	public void postOuter(ActorMessage<?> message) {
-		if (message==null)
+		postQueue(message, ActorThreadPoolHandler.OUTER_QUEUE, true);
+	}
+	
+	@Override
+	public void postOuter(Collection<ActorMessage<?>> messages) {
+		if (messages==null)
 			throw new NullPointerException();
 		
-		UUID redirect = system.redirector.get(message.dest);
-		if (redirect!=null) 
-			message.dest = redirect;
-		
-		if (system.resourceCells.containsKey(message.dest)) {
-			system.executerService.resource(message.copy());
-			return;
-		}
-		
-		if (!system.executerService.actorThreadPool.actorThreadPoolHandler.postOuter(message))
-			consumerPseudo.accept(message.copy());
+		system.executerService.actorThreadPool.actorThreadPoolHandler.postOuter(messages, (message) -> postOuter(message));
 	}
 	
 	@Override
-	public void postServer(ActorMessage<?> message) {
-		if (message==null)
+	public void postOuter(ActorMessage<?> message, Collection<UUID> dests) {
+		if (message==null || dests==null)
 			throw new NullPointerException();
 		
-		UUID redirect = system.redirector.get(message.dest);
-		if (redirect!=null) 
-			message.dest = redirect;
-		
-		if (system.resourceCells.containsKey(message.dest)) {
-			system.executerService.resource(message.copy());
-			return;
-		}
-		
-		if (!system.executerService.actorThreadPool.actorThreadPoolHandler.postServer(message))
-			consumerPseudo.accept(message.copy());
+		system.executerService.actorThreadPool.actorThreadPoolHandler.postOuter(message, dests, (msg) -> postOuter(msg));
+	}
+	
+	@Override
+	public void postServer(ActorMessage<?> message) {
+		postQueue(message, ActorThreadPoolHandler.SERVER_QUEUE, true);
 	}
 	/*
 	@Override
 	public void postServer(ActorMessage<?> message) {
-		postQueue(message, (t, msg) -> t.serverQueue(message));
+		postQueue(message, (t, msg) -> t.serverQueue(msg));
 	}
 	*/
 	@Override
 	public void postPriority(ActorMessage<?> message) {
-		postQueue(message, (t, msg) -> t.priorityQueue(message));
+		postQueue(message, (t, msg) -> t.priorityQueue(msg));
 	}
 	
 	@Override
 	public void postDirective(ActorMessage<?> message) {
-		postQueue(message, (t, msg) -> t.directiveQueue(message));
+		postQueue(message, (t, msg) -> t.directiveQueue(msg));
 	}
 
 	@Override
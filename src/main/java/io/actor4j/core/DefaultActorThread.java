@@ -15,13 +15,17 @@
  */
 package io.actor4j.core;
 
+import java.util.Comparator;
+import java.util.PriorityQueue;
 import java.util.Queue;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.LockSupport;
 
 import io.actor4j.core.messages.ActorMessage;
 
+import static io.actor4j.core.ActorQueueKind.*;
+
 public abstract class DefaultActorThread extends ActorThread {
+	protected static final Comparator<ActorMessage<?>> EARLIEST_DEADLINE = (m1, m2) -> Long.signum(m1.deadline-m2.deadline);
+	
 	protected Queue<ActorMessage<?>> directiveQueue;
 	protected Queue<ActorMessage<?>> priorityQueue;
 	protected Queue<ActorMessage<?>> innerQueue;
@@ -29,15 +33,16 @@ public abstract class DefaultActorThread extends ActorThread {
 	protected Queue<ActorMessage<?>> outerQueueL1;
 	protected Queue<ActorMessage<?>> serverQueueL2;
 	protected Queue<ActorMessage<?>> serverQueueL1;
+	protected Queue<ActorMessage<?>> deadlineQueue; // local, null if not in deadline mode
 	
-	protected final AtomicBoolean newMessage;
 	
 	public DefaultActorThread(ThreadGroup group, String name, ActorSystemImpl system) {
 		super(group, name, system);
 		
 		configQueues();
+		if (system.deadlineMode)
+			deadlineQueue = new PriorityQueue<>(EARLIEST_DEADLINE); /* unbounded */
 		
-		newMessage = new AtomicBoolean(true);
 	}
 	
 	
@@ -55,12 +60,12 @@ public abstract class DefaultActorThread extends ActorThread {
 	
 	@Override
 	public void serverQueue(ActorMessage<?> message) {
-		serverQueueL2.offer(message);
+		offer(serverQueueL2, message);
 	}
 	
 	@Override
 	public void outerQueue(ActorMessage<?> message) {
-		outerQueueL2.offer(message);
+		offer(outerQueueL2, message);
 	}
 	
 	@Override
@@ -68,76 +73,130 @@ public abstract class DefaultActorThread extends ActorThread {
 		innerQueue.offer(message);
 	}
 	
+	@Override
+	protected void handoverLocalQueues(ActorHandle handle) {
+		handoverLocalQueue(priorityQueue, handle, PRIORITY_ORDER); // see PriorityLaneQueue::iterator
+		handoverLocalQueue(serverQueueL1, handle);
+		handoverLocalQueue(outerQueueL1, handle);
+		if (deadlineQueue!=null)
+			handoverLocalQueue(deadlineQueue, handle, EARLIEST_DEADLINE); // the iterator of PriorityQueue is unordered
+		handoverLocalQueue(innerQueue, handle);
+	}
+	
+	/*
+	 * Moves up to max messages from the shared outer queue to the local queues,
+	 * messages with a deadline to the deadline queue (in deadline mode).
+	 */
+	protected void transferOuter(int max) {
+		ActorMessage<?> message = null;
+		for (int j=0; j<max && (message=outerQueueL2.poll())!=null; j++)
+			if (deadlineQueue!=null && message.deadline!=0)
+				deadlineQueue.offer(message);
+			else
+				outerQueueL1.offer(message);
+	}
+	
+	/*
+	 * Number of messages, that may still be moved to the local queues, the local
+	 * queues hold at most the buffer queue size of outer messages in total.
+	 */
+	protected int outerCapacity() {
+		int result = system.getBufferQueueSize()-outerQueueL1.size();
+		if (deadlineQueue!=null)
+			result -= deadlineQueue.size();
+		
+		return result;
+	}
+	
+	@Override
+	protected int handoverMarkers(ActorMessage<?> marker) {
+		int result = 0;
+		
+		directiveQueue.offer(marker);
+		result++;
+		
+		priorityQueue.offer(marker);
+		result++;
+		
+		if (system.serverMode) {
+			while (!serverQueueL2.offer(marker))
+				transfer(serverQueueL2, serverQueueL1);
+			result++;
+		}
+		
+		while (!outerQueueL2.offer(marker))
+			transfer(outerQueueL2, outerQueueL1);
+		result++;
+		
+		return result;
+	}
+	
 	@Override
 	public void onRun() {
+		boolean hasNextHandover;
 		boolean hasNextDirective;
 		boolean hasNextPriority;
 		int hasNextServer;
+		int hasNextDeadline;
 		int hasNextOuter;
 		int hasNextInner;
 		int idle = 0;
 		int load = 0;
 		
 		while (!isInterrupted()) {
+			long startTime = processingTimeRequired ? System.nanoTime() : 0;
+			hasNextHandover  = pollHandovers();
 			hasNextDirective = false;
 			hasNextPriority  = false;
 			hasNextServer    = 0;
+			hasNextDeadline  = 0;
 			hasNextOuter     = 0;
 			hasNextInner     = 0;
 			
-			while (poll(directiveQueue)) 
+			while (poll(directiveQueue, DIRECTIVE)) 
 				hasNextDirective=true;
 			
-			while (poll(priorityQueue)) 
+			while (poll(priorityQueue, PRIORITY)) 
 				hasNextPriority=true;
 			
 			if (system.serverMode) {
-				for (; hasNextServer<system.throughput && poll(serverQueueL1); hasNextServer++);
+				for (; hasNextServer<system.throughput && poll(serverQueueL1, SERVER); hasNextServer++);
 				if (hasNextServer<system.throughput && serverQueueL2.peek()!=null) {
 					ActorMessage<?> message = null;
 					for (int j=0; j<system.getBufferQueueSize() && (message=serverQueueL2.poll())!=null; j++)
 						serverQueueL1.offer(message);
 				
-					for (; hasNextServer<system.throughput && poll(serverQueueL1); hasNextServer++);
+					for (; hasNextServer<system.throughput && poll(serverQueueL1, SERVER); hasNextServer++);
 				}
 			}
 			
-			for (; hasNextOuter<system.throughput && poll(outerQueueL1); hasNextOuter++);
+			if (system.fairMode || deadlineQueue!=null)
+				transferOuter(outerCapacity()); // see FairActorQueue and ActorSystemImpl::deadlineMode
+			if (deadlineQueue!=null)
+				for (; hasNextDeadline<system.throughput && poll(deadlineQueue, OUTER); hasNextDeadline++);
+			
+			for (; hasNextOuter<system.throughput && poll(outerQueueL1, OUTER); hasNextOuter++);
 			if (hasNextOuter<system.throughput && outerQueueL2.peek()!=null) {
-				ActorMessage<?> message = null;
-				for (int j=0; j<system.getBufferQueueSize() && (message=outerQueueL2.poll())!=null; j++)
-					outerQueueL1.offer(message);
+				transferOuter(outerCapacity());
 
-				for (; hasNextOuter<system.throughput && poll(outerQueueL1); hasNextOuter++);
+				for (; hasNextOuter<system.throughput && poll(outerQueueL1, OUTER); hasNextOuter++);
 			}
 			
-			for (; hasNextInner<system.throughput && poll(innerQueue); hasNextInner++);
+			for (; hasNextInner<system.throughput && poll(innerQueue, INNER); hasNextInner++);
 			
-			if (hasNextInner==0 && hasNextOuter==0 && hasNextServer==0 && !hasNextPriority && !hasNextDirective) {
+			if (hasNextInner==0 && hasNextOuter==0 && hasNextDeadline==0 && hasNextServer==0 && !hasNextPriority && !hasNextDirective && !hasNextHandover) {
 				if (idle==0) {
 					load = 0;
 					threadLoad.set(false);
 				}
 				idle++;
-				if (idle>system.idle) {
-					idle = 0;
-					if (system.threadMode==ActorThreadMode.PARK) {
-						if (newMessage.compareAndSet(true, false))
-							LockSupport.park(this);
-					}
-					else if (system.threadMode==ActorThreadMode.SLEEP) {
-						try {
-							sleep(system.sleepTime);
-						} catch (InterruptedException e) {
-							interrupt();
-						}
-					}
-					else
-						yield();
-				}
+				idleStrategy.idle();
 			}
 			else {
+				if (processingTimeRequired)
+					processingTime += System.nanoTime()-startTime;
 				idle = 0;
+				idleStrategy.reset();
 				if (load>system.load)
 					threadLoad.set(true);
 				else
@@ -146,12 +205,6 @@ public abstract class DefaultActorThread extends ActorThread {
 		}		
 	}
 	
-	@Override
-	protected void newMessage() {
-		if (system.threadMode==ActorThreadMode.PARK && newMessage.compareAndSet(false, true))
-			LockSupport.unpark(this);
-	}
-	
 	@Override
 	public Queue<ActorMessage<?>> getDirectiveQueue() {
 		return directiveQueue;
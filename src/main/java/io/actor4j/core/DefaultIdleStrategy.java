@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+/**
+ * Busy loops <code>system.idle</code> passes, then parks, sleeps or yields
+ * according to the thread mode of the actor system.
+ */
+public class DefaultIdleStrategy extends IdleStrategy {
+	protected final ActorSystemImpl system;
+	
+	protected int idle;
+	
+	public DefaultIdleStrategy(ActorThread thread) {
+		super(thread);
+		
+		system = thread.system;
+	}
+	
+	@Override
+	public void idle() {
+		idle++;
+		if (idle>system.idle) {
+			idle = 0;
+			if (system.threadMode==ActorThreadMode.PARK)
+				park(0);
+			else if (system.threadMode==ActorThreadMode.SLEEP) {
+				try {
+					Thread.sleep(system.sleepTime);
+				} catch (InterruptedException e) {
+					thread.interrupt();
+				}
+			}
+			else {
+				yields++;
+				Thread.yield();
+			}
+		}
+		else
+			spins++;
+	}
+	
+	@Override
+	public void reset() {
+		idle = 0;
+	}
+	
+	@Override
+	public void signal() {
+		if (system.threadMode==ActorThreadMode.PARK)
+			super.signal();
+	}
+}
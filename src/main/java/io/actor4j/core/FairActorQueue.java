@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Local queue of an actor thread, that schedules the messages by deficit
+ * round-robin across their destinations (see ActorSystemImpl::fairMode).
+ * Each actor with pending messages has its own lane. The lanes are visited
+ * in turn, and on each visit a lane is credited with the quantum, that is
+ * the maximum number of messages it may deliver, before the next lane is
+ * served. A burst of one actor delays the other actors of the thread by at
+ * most one quantum per active lane.
+ * <p>
+ * Not thread-safe, only accessed by the owning actor thread.
+ */
+public class FairActorQueue extends AbstractQueue<ActorMessage<?>> {
+	public static final int DEFAULT_QUANTUM = 16;
+	
+	protected static class Lane {
+		protected final UUID dest;
+		protected final ArrayDeque<ActorMessage<?>> messages;
+		protected int deficit; // remaining messages of the current visit
+		
+		public Lane(UUID dest) {
+			this.dest = dest;
+			messages = new ArrayDeque<>();
+		}
+	}
+	
+	protected final int quantum;
+	protected final Map<UUID, Lane> lanes;
+	protected final ArrayDeque<Lane> active; // round-robin order, the head is served
+	protected int size;
+	
+	public FairActorQueue() {
+		this(DEFAULT_QUANTUM);
+	}
+	
+	/**
+	 * @param quantum the number of messages, that are delivered to an actor per visit
+	 */
+	public FairActorQueue(int quantum) {
+		super();
+		
+		if (quantum<=0)
+			throw new IllegalArgumentException("quantum must be positive");
+		
+		this.quantum = quantum;
+		lanes = new HashMap<>();
+		active = new ArrayDeque<>();
+	}
+	
+	@Override
+	public boolean offer(ActorMessage<?> message) {
+		if (message==null)
+			throw new NullPointerException();
+		
+		Lane lane = lanes.get(message.dest);
+		if (lane==null) {
+			lane = new Lane(message.dest);
+			lanes.put(message.dest, lane);
+			active.offer(lane);
+		}
+		lane.messages.offer(message);
+		size++;
+		
+		return true;
+	}
+	
+	/**
+	 * @return the lane, that is served next, or null if the queue is empty
+	 */
+	protected Lane next() {
+		Lane lane = null;
+		while ((lane=active.peek())!=null) {
+			if (lane.messages.isEmpty()) {
+				active.poll(); // emptied by the iterator
+				lanes.remove(lane.dest);
+			}
+			else if (lane.deficit==0)
+				lane.deficit = quantum; // new visit
+			else
+				break;
+		}
+		
+		return lane;
+	}
+	
+	@Override
+	public ActorMessage<?> poll() {
+		ActorMessage<?> result = null;
+		
+		Lane lane = next();
+		if (lane!=null) {
+			result = lane.messages.poll();
+			size--;
+			lane.deficit--;
+			if (lane.messages.isEmpty()) {
+				active.poll();
+				lanes.remove(lane.dest);
+			}
+			else if (lane.deficit==0) {
+				active.poll();
+				active.offer(lane); // quantum is used up, the next lane is served
+			}
+		}
+		
+		return result;
+	}
+	
+	@Override
+	public ActorMessage<?> peek() {
+		Lane lane = next();
+		
+		return lane!=null ? lane.messages.peek() : null;
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return the number of actors with pending messages
+	 */
+	public int getActiveLanes() {
+		return lanes.size();
+	}
+	
+	public int getQuantum() {
+		return quantum;
+	}
+	
+	@Override
+	public void clear() {
+		lanes.clear();
+		active.clear();
+		size = 0;
+	}
+	
+	/**
+	 * Iterates over the lanes in round-robin order, supports the removal of messages
+	 * (see ActorThread::handoverLocalQueue).
+	 */
+	@Override
+	public Iterator<ActorMessage<?>> iterator() {
+		return new Iterator<ActorMessage<?>>() {
+			protected final Iterator<Lane> lanesIterator = active.iterator();
+			protected Iterator<ActorMessage<?>> messagesIterator;
+			protected Iterator<ActorMessage<?>> lastIterator;
+			
+			@Override
+			public boolean hasNext() {
+				while (messagesIterator==null || !messagesIterator.hasNext()) {
+					if (!lanesIterator.hasNext())
+						return false;
+					messagesIterator = lanesIterator.next().messages.iterator();
+				}
+				
+				return true;
+			}
+			
+			@Override
+			public ActorMessage<?> next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				lastIterator = messagesIterator;
+				
+				return messagesIterator.next();
+			}
+			
+			@Override
+			public void remove() {
+				if (lastIterator==null)
+					throw new IllegalStateException();
+				lastIterator.remove();
+				lastIterator = null;
+				size--;
+			}
+		};
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Strategy of an actor thread, when it finds no messages. Each actor thread
+ * has its own instance (see ActorSystemImpl::setFactoryIdleStrategy).
+ * <p>
+ * Wake-up protocol: senders call <code>signal</code> after enqueuing a
+ * message. The thread announces that it is going to park, and parks only if
+ * there was no signal since its last check, so a signal cannot be lost.
+ * While the flag is set, further signals only read it, and only the first
+ * signal after the thread started to park unparks it.
+ */
+public abstract class IdleStrategy {
+	protected final ActorThread thread;
+	
+	protected final AtomicBoolean newMessage; // signal since the last check
+	protected volatile boolean parking;
+	
+	protected volatile long spins;
+	protected volatile long yields;
+	protected volatile long parks;
+	protected final AtomicLong wakeups;
+	
+	public IdleStrategy(ActorThread thread) {
+		super();
+		
+		this.thread = thread;
+		
+		newMessage = new AtomicBoolean(false);
+		wakeups = new AtomicLong(0);
+	}
+	
+	/**
+	 * Called by the actor thread after a pass without messages.
+	 */
+	public abstract void idle();
+	
+	/**
+	 * Called by the actor thread after a pass with messages.
+	 */
+	public abstract void reset();
+	
+	/**
+	 * Called by the senders after a message was enqueued.
+	 */
+	public void signal() {
+		if (!newMessage.get() && newMessage.compareAndSet(false, true) && parking) {
+			wakeups.getAndIncrement();
+			LockSupport.unpark(thread);
+			if (thread.system.eventSink!=null)
+				thread.system.eventSink.unpark(thread.getName());
+		}
+	}
+	
+	/**
+	 * Parks the actor thread, unless a message was signaled in the meantime.
+	 * 
+	 * @param nanos the maximum time to park, or zero for no timeout
+	 */
+	protected void park(long nanos) {
+		parking = true;
+		if (!newMessage.getAndSet(false)) {
+			parks++;
+			Object event = thread.system.eventSink!=null ? thread.system.eventSink.beginPark() : null;
+			if (nanos>0)
+				LockSupport.parkNanos(thread, nanos);
+			else
+				LockSupport.park(thread);
+			if (event!=null)
+				thread.system.eventSink.endPark(event, nanos);
+		}
+		parking = false;
+	}
+	
+	public long getSpins() {
+		return spins;
+	}
+	
+	public long getYields() {
+		return yields;
+	}
+	
+	public long getParks() {
+		return parks;
+	}
+	
+	public long getWakeups() {
+		return wakeups.get();
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Lock-free replacement for the <code>PriorityBlockingQueue</code> of the actor
+ * threads. Producers offer into one of several lock-free lanes, selected by the tag of
+ * the message (lower tags go to lower lanes). The single consumer drains a lane
+ * into a local heap, so messages are returned in the order of
+ * {@link ActorMessage#compareTo}, across and within lanes.
+ * <p>
+ * Only one thread may poll or peek at a time. <code>size</code> and
+ * <code>isEmpty</code> are approximations, when called from producers. The
+ * iterator is weakly consistent for the lanes, the heaps may only be iterated
+ * by the consumer (e.g., on a handover, see ActorThread::handoverLocalQueue).
+ */
+public class PriorityLaneQueue extends AbstractQueue<ActorMessage<?>> {
+	/**
+	 * Internal tags (negative), low, middle and high user tags.
+	 */
+	public static final int[] DEFAULT_BOUNDS = { 0, 1<<10, 1<<20 };
+	
+	protected final int[] bounds;
+	protected final Queue<ActorMessage<?>>[] lanes;
+	protected final PriorityQueue<ActorMessage<?>>[] heaps;
+	
+	public PriorityLaneQueue() {
+		this(DEFAULT_BOUNDS);
+	}
+	
+	/**
+	 * @param bounds ascending lower tag bounds of the lanes 1..n, lane 0 takes all
+	 * tags below <code>bounds[0]</code>
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public PriorityLaneQueue(int... bounds) {
+		super();
+		
+		for (int i=1; i<bounds.length; i++)
+			if (bounds[i-1]>=bounds[i])
+				throw new IllegalArgumentException("bounds must be strictly ascending");
+		
+		this.bounds = Arrays.copyOf(bounds, bounds.length);
+		lanes = new Queue[bounds.length+1];
+		heaps = new PriorityQueue[bounds.length+1];
+		for (int i=0; i<lanes.length; i++) {
+			lanes[i] = new ConcurrentLinkedQueue<>(); /* unbounded, weakly consistent iterator */
+			heaps[i] = new PriorityQueue<>(); /* local, consumer only */
+		}
+	}
+	
+	protected int lane(int tag) {
+		int result = 0;
+		for (; result<bounds.length && tag>=bounds[result]; result++);
+		
+		return result;
+	}
+	
+	@Override
+	public boolean offer(ActorMessage<?> message) {
+		if (message==null)
+			throw new NullPointerException();
+		
+		return lanes[lane(message.tag)].offer(message);
+	}
+	
+	/**
+	 * Transfers the lane into its heap. Returns the message directly, if it was
+	 * the only pending message of this lane.
+	 */
+	protected ActorMessage<?> drain(int i) {
+		ActorMessage<?> message = lanes[i].poll();
+		if (message!=null) {
+			PriorityQueue<ActorMessage<?>> heap = heaps[i];
+			if (heap.isEmpty() && lanes[i].peek()==null)
+				return message;
+			
+			heap.offer(message);
+			while ((message=lanes[i].poll())!=null)
+				heap.offer(message);
+		}
+		
+		return null;
+	}
+	
+	@Override
+	public ActorMessage<?> poll() {
+		for (int i=0; i<lanes.length; i++) {
+			ActorMessage<?> message = drain(i);
+			if (message!=null)
+				return message;
+			if (!heaps[i].isEmpty())
+				return heaps[i].poll();
+		}
+		
+		return null;
+	}
+	
+	@Override
+	public ActorMessage<?> peek() {
+		for (int i=0; i<lanes.length; i++) {
+			ActorMessage<?> message = drain(i);
+			if (message!=null) {
+				heaps[i].offer(message);
+				return message;
+			}
+			if (!heaps[i].isEmpty())
+				return heaps[i].peek();
+		}
+		
+		return null;
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		for (int i=0; i<lanes.length; i++)
+			if (!heaps[i].isEmpty() || !lanes[i].isEmpty())
+				return false;
+		
+		return true;
+	}
+	
+	@Override
+	public int size() {
+		int result = 0;
+		for (int i=0; i<lanes.length; i++)
+			result += heaps[i].size() + lanes[i].size();
+		
+		return result;
+	}
+	
+	/**
+	 * Iterates over the heap and the lane of each priority in turn (not in the
+	 * order of poll), supports the removal of messages.
+	 */
+	@Override
+	public Iterator<ActorMessage<?>> iterator() {
+		return new Iterator<ActorMessage<?>>() {
+			protected int index; // heaps[i] at 2*i, lanes[i] at 2*i+1
+			protected Iterator<ActorMessage<?>> iterator;
+			protected Iterator<ActorMessage<?>> lastIterator;
+			
+			@Override
+			public boolean hasNext() {
+				while (iterator==null || !iterator.hasNext()) {
+					if (index==2*lanes.length)
+						return false;
+					iterator = (index&1)==0 ? heaps[index>>1].iterator() : lanes[index>>1].iterator();
+					index++;
+				}
+				
+				return true;
+			}
+			
+			@Override
+			public ActorMessage<?> next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				lastIterator = iterator;
+				
+				return iterator.next();
+			}
+			
+			@Override
+			public void remove() {
+				if (lastIterator==null)
+					throw new IllegalStateException();
+				lastIterator.remove();
+				lastIterator = null;
+			}
+		};
+	}
+}
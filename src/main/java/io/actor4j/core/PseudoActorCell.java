@@ -18,9 +18,7 @@ package io.actor4j.core;
 import static io.actor4j.core.utils.ActorUtils.*;
 
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Queue;
-import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -189,17 +187,7 @@ public class PseudoActorCell extends ActorCell {
 	@Override
 	public void send(ActorMessage<?> message, String alias) {
 		if (alias!=null) {
-			List<UUID> destinations = system.getActorsFromAlias(alias);
-
-			UUID dest = null;
-			if (!destinations.isEmpty()) {
-				if (destinations.size()==1)
-					dest = destinations.get(0);
-				else {
-					Random random = new Random();
-					dest = destinations.get(random.nextInt(destinations.size()));
-				}
-			}
+			UUID dest = system.routeAlias(alias, message);
 			message.dest = (dest!=null) ? dest : UUID_ZERO;
 		}
 		
@@ -17,7 +17,6 @@ package io.actor4j.core;
 
 import java.util.ArrayDeque;
 import java.util.LinkedList;
-import java.util.concurrent.PriorityBlockingQueue;
 
 import org.jctools.queues.MpscLinkedQueue;
 
@@ -29,13 +28,13 @@ public class UnboundedActorThread extends DefaultActorThread {
 	@Override
 	public void configQueues() {
 		directiveQueue = new MpscLinkedQueue<>(); /* unbounded */
-		priorityQueue  = new PriorityBlockingQueue<>(system.getQueueSize()); /* unbounded */
+		priorityQueue  = new PriorityLaneQueue(); /* unbounded, lock-free */
 		
 		serverQueueL2  = new MpscLinkedQueue<>(); /* unbounded */
 		serverQueueL1  = new ArrayDeque<>(system.getBufferQueueSize()); /* unbounded */
 		
 		outerQueueL2   = new MpscLinkedQueue<>(); /* unbounded */
-		outerQueueL1   = new ArrayDeque<>(system.getBufferQueueSize()); /* unbounded */
+		outerQueueL1   = system.isFairMode() ? new FairActorQueue(system.getFairQuantum()) : new ArrayDeque<>(system.getBufferQueueSize()); /* unbounded */
 		
 		innerQueue     = new LinkedList<>(); /* unbounded */
 	}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process pool that runs each activation of an actor mailbox on its own
+ * virtual thread (JDK 21+). An actor, that calls a blocking API, only blocks
+ * its virtual thread, the carrier thread continues with other actors.
+ * <p>
+ * The executor is created via reflection, so the library keeps the Java 8
+ * baseline.
+ */
+public class VirtualThreadActorProcessPool extends WorkStealingActorProcessPool {
+	protected final AtomicLong counter;
+	
+	public VirtualThreadActorProcessPool(ActorSystemImpl system) {
+		super(system);
+		
+		counter = new AtomicLong(0);
+	}
+	
+	public static boolean isSupported() {
+		try {
+			((ExecutorService)newVirtualThreadPerTaskExecutor().invoke(null)).shutdown();
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+	
+	protected static Method newVirtualThreadPerTaskExecutor() throws NoSuchMethodException {
+		return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+	}
+	
+	@Override
+	protected ExecutorService createExecutorService() {
+		try {
+			return (ExecutorService)newVirtualThreadPerTaskExecutor().invoke(null);
+		} catch (Exception e) {
+			throw new UnsupportedOperationException("virtual threads are not supported (JDK 21+)", e);
+		}
+	}
+	
+	@Override
+	protected void count() {
+		counter.getAndIncrement();
+	}
+	
+	@Override
+	public long getCount() {
+		return counter.get();
+	}
+	
+	@Override
+	public List<Long> getCounts() {
+		List<Long> list = new ArrayList<>();
+		list.add(counter.get());
+		return list;
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+/**
+ * Actor system in which every activation of an actor mailbox runs on a
+ * virtual thread (see {@link VirtualThreadActorProcessPool}), requires a
+ * JDK 21+ runtime.
+ */
+public class VirtualThreadActorSystemImpl extends WorkStealingActorSystemImpl {
+	public VirtualThreadActorSystemImpl(ActorSystem wrapper) {
+		this(null, wrapper);
+	}
+
+	public VirtualThreadActorSystemImpl(String name, ActorSystem wrapper) {
+		super(name, wrapper);
+		
+		if (!VirtualThreadActorProcessPool.isSupported())
+			throw new UnsupportedOperationException("virtual threads are not supported (JDK 21+)");
+		
+		actorProcessPoolClass = VirtualThreadActorProcessPool.class;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import io.actor4j.core.messages.ActorMessage;
+
+public class WorkStealingActorMessageDispatcher extends ActorMessageDispatcher {
+	protected final Consumer<ActorMessage<?>> consumerPseudo;
+	
+	public WorkStealingActorMessageDispatcher(ActorSystemImpl system) {
+		super(system);
+		
+		consumerPseudo = new Consumer<ActorMessage<?>>() {
+			@Override
+			public void accept(ActorMessage<?> msg) {
+				ActorCell cell = WorkStealingActorMessageDispatcher.this.system.pseudoCells.get(msg.dest);
+				if (cell!=null)
+					((PseudoActorCell)cell).getOuterQueue().offer(msg);
+				else
+					WorkStealingActorMessageDispatcher.this.system.deadLetter(msg, undeliverable(msg));
+			}
+		};
+	}
+	
+	protected WorkStealingActorProcessPool pool() {
+		return (WorkStealingActorProcessPool)system.executerService.actorProcessPool;
+	}
+	
+	@Override
+	public void post(ActorMessage<?> message, UUID source, String alias) {
+		if (message==null)
+			throw new NullPointerException();
+		
+		if (alias!=null) {
+			UUID dest = system.routeAlias(alias, message);
+			message.dest = (dest!=null) ? dest : UUID_ALIAS;
+		}
+		
+		WorkStealingActorProcessPool pool = pool();
+		ActorMailbox mailbox = pool.getValidMailbox(message.dest);
+		if (mailbox!=null) {
+			mailbox.outerQueue(system.copy(message));
+			return;
+		}
+		
+		UUID redirect = system.redirector.get(message.dest);
+		if (redirect!=null) 
+			message.dest = redirect;
+		
+		if (system.pseudoCells.containsKey(message.dest)) {
+			consumerPseudo.accept(message.copy());
+			return;
+		}
+		else if (system.clientMode && !system.cells.containsKey(message.dest)) {
+			system.executerService.clientViaAlias(message.copy(), alias);
+			return;
+		}
+		else if (system.resourceCells.containsKey(message.dest)) {
+			system.executerService.resource(message.copy());
+			return;
+		}
+		
+		if (!pool.postOuter(message))
+			system.deadLetter(message, undeliverable(message));
+	}
+	
+	@Override
+	public void post(ActorMessage<?> message, ActorServiceNode node, String path) {
+		if (message==null)
+			throw new NullPointerException();
+		
+		if (node!=null && path!=null)
+			system.executerService.clientViaPath(message, node, path);
+	}
+	
+	protected void postQueue(ActorMessage<?> message, BiConsumer<ActorMailbox, ActorMessage<?>> biconsumer) {
+		if (message==null)
+			throw new NullPointerException();
+		
+		UUID redirect = system.redirector.get(message.dest);
+		if (redirect!=null) 
+			message.dest = redirect;
+		
+		if (system.resourceCells.containsKey(message.dest)) {
+			system.executerService.resource(message.copy());
+			return;
+		}
+		
+		if (!pool().postQueue(message, biconsumer)) 
+			consumerPseudo.accept(message.copy());
+	}
+	
+	@Override
+	public void postOuter(ActorMessage<?> message) {
+		postQueue(message, (mailbox, msg) -> mailbox.outerQueue(msg));
+	}
+	
+	@Override
+	public void postServer(ActorMessage<?> message) {
+		postQueue(message, (mailbox, msg) -> mailbox.outerQueue(msg));
+	}
+	
+	@Override
+	public void postPriority(ActorMessage<?> message) {
+		postQueue(message, (mailbox, msg) -> mailbox.priorityQueue(msg));
+	}
+	
+	@Override
+	public void postDirective(ActorMessage<?> message) {
+		postQueue(message, (mailbox, msg) -> mailbox.directiveQueue(msg));
+	}
+
+	@Override
+	public void postPersistence(ActorMessage<?> message) {
+		pool().postPersistence(message);
+	}
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.persistence.ActorPersistenceService;
+
+/**
+ * Process pool in which every actor owns its mailbox. Mailboxes with pending
+ * messages are scheduled on a work-stealing {@link ForkJoinPool} (async mode),
+ * so actors are not pinned to a thread and idle threads steal pending
+ * mailboxes from busy ones. The thread modes (PARK, SLEEP, YIELD) do not
+ * apply, idle worker threads are managed by the pool.
+ */
+public class WorkStealingActorProcessPool implements ActorProcessPool {
+	public static class ActorWorkerThread extends ForkJoinWorkerThread {
+		protected final WorkStealingActorProcessPool processPool;
+		protected final AtomicLong counter;
+		
+		protected ActorWorkerThread(ForkJoinPool pool, WorkStealingActorProcessPool processPool) {
+			super(pool);
+			
+			this.processPool = processPool;
+			counter = new AtomicLong(0);
+		}
+		
+		@Override
+		protected void onTermination(Throwable exception) {
+			processPool.retire(this); // idle workers exit and are replaced by the pool
+			super.onTermination(exception);
+		}
+		
+		public long getCount() {
+			return counter.longValue();
+		}
+	}
+	
+	protected final ActorSystemImpl system;
+	
+	protected final int parallelism;
+	protected final ExecutorService executorService;
+	protected final Queue<ActorWorkerThread> workerThreads; // alive
+	protected final AtomicLong retiredCount; // of the exited worker threads
+	
+	protected final Map<UUID, ActorMailbox> mailboxes; // ActorCellID -> ActorMailbox
+	
+	public WorkStealingActorProcessPool(ActorSystemImpl system) {
+		super();
+		
+		this.system = system;
+		
+		parallelism = system.parallelismMin*system.parallelismFactor;
+		workerThreads = new ConcurrentLinkedQueue<>();
+		retiredCount = new AtomicLong(0);
+		
+		executorService = createExecutorService();
+		
+		mailboxes = new ConcurrentHashMap<>();
+		for (ActorCell cell : system.cells.values())
+			registerCell(cell);
+	}
+	
+	protected ExecutorService createExecutorService() {
+		AtomicInteger index = new AtomicInteger(0);
+		return new ForkJoinPool(parallelism, (pool) -> {
+			ActorWorkerThread t = new ActorWorkerThread(pool, this);
+			t.setName(system.name + "-worker-thread-" + index.getAndIncrement());
+			workerThreads.add(t);
+			
+			return t;
+		}, null, true);
+	}
+	
+	protected void execute(ActorMailbox mailbox) {
+		try {
+			executorService.execute(mailbox);
+		}
+		catch (RejectedExecutionException e) {
+			// pool is shut down
+		}
+	}
+	
+	protected void retire(ActorWorkerThread t) {
+		if (workerThreads.remove(t))
+			retiredCount.addAndGet(t.getCount());
+	}
+	
+	protected void count() {
+		Thread t = Thread.currentThread();
+		if (t instanceof ActorWorkerThread)
+			((ActorWorkerThread)t).counter.getAndIncrement();
+	}
+	
+	protected void updateHandle(ActorMailbox mailbox) {
+		// resource actors and redirected actors are dispatched by the regular lookup
+		mailbox.valid = mailbox.registered && !system.resourceCells.containsKey(mailbox.cell.id) && !system.redirector.containsKey(mailbox.cell.id);
+	}
+	
+	@Override
+	public void updateHandle(UUID id) {
+		ActorMailbox mailbox = mailboxes.get(id);
+		if (mailbox!=null)
+			updateHandle(mailbox);
+	}
+	
+	@Override
+	public void updateHandles() {
+		for (ActorMailbox mailbox : mailboxes.values())
+			updateHandle(mailbox);
+	}
+	
+	public ActorMailbox getMailbox(UUID id) {
+		return mailboxes.get(id);
+	}
+	
+	/**
+	 * @return the mailbox, if the actor can be addressed directly (no resource actor, no redirection)
+	 */
+	public ActorMailbox getValidMailbox(UUID id) {
+		ActorMailbox result = mailboxes.get(id);
+		
+		return (result!=null && result.valid) ? result : null;
+	}
+	
+	public boolean postOuter(ActorMessage<?> message) {
+		ActorMailbox mailbox = mailboxes.get(message.dest);
+		if (mailbox!=null)
+			mailbox.outerQueue(system.copy(message));
+		
+		return mailbox!=null;
+	}
+	
+	public boolean postQueue(ActorMessage<?> message, BiConsumer<ActorMailbox, ActorMessage<?>> biconsumer) {
+		ActorMailbox mailbox = mailboxes.get(message.dest);
+		if (mailbox!=null)
+			biconsumer.accept(mailbox, system.copy(message));
+		
+		return mailbox!=null;
+	}
+	
+	public void postPersistence(ActorMessage<?> message) {
+		// message.source matches original actor
+		String alias = ActorPersistenceService.getAlias(Math.floorMod(message.source.hashCode(), parallelism));
+		message.dest = system.executerService.persistenceService.getService().getActorFromAlias(alias);
+		system.executerService.persistenceService.getService().send(message.copy());
+	}
+	
+	@Override
+	public void registerCell(ActorCell cell) {
+		if (cell instanceof PseudoActorCell)
+			return; // pseudo actors have their own queue
+		
+		ActorMailbox mailbox = new ActorMailbox(this, cell);
+		mailboxes.put(cell.id, mailbox);
+		updateHandle(mailbox);
+	}
+	
+	@Override
+	public void unregisterCell(ActorCell cell) {
+		ActorMailbox mailbox = mailboxes.remove(cell.id);
+		if (mailbox!=null) {
+			mailbox.registered = false;
+			mailbox.valid = false;
+		}
+	}
+	
+	@Override
+	public boolean isRegisteredCell(ActorCell cell) {
+		return mailboxes.containsKey(cell.id);
+	}
+	
+	@Override
+	public void shutdown(Runnable onTermination, boolean await) {
+		executorService.shutdownNow();
+		
+		if (onTermination!=null || await) {
+			Thread waitOnTermination = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					
+					if (onTermination!=null)
+						onTermination.run();
+				}
+			});
+			
+			waitOnTermination.start();
+			if (await)
+				try {
+					waitOnTermination.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+		}
+	}
+	
+	@Override
+	public long getCount() {
+		long sum = retiredCount.get();
+		for (ActorWorkerThread t : workerThreads)
+			sum += t.getCount();
+		
+		return sum;
+	}
+	
+	@Override
+	public List<Long> getCounts() {
+		List<Long> list = new ArrayList<>();
+		for (ActorWorkerThread t : workerThreads)
+			list.add(t.getCount());
+		return list;
+	}
+	
+	public List<Integer> getMailboxSizes() {
+		List<Integer> list = new ArrayList<>();
+		for (ActorMailbox mailbox : mailboxes.values())
+			list.add(mailbox.size());
+		return list;
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core;
+
+import java.util.List;
+
+/**
+ * Actor system in which every actor owns its mailbox and is scheduled on a
+ * work-stealing pool when it has messages (see {@link WorkStealingActorProcessPool}),
+ * instead of being pinned to one actor thread.
+ */
+public class WorkStealingActorSystemImpl extends ActorSystemImpl {
+	public WorkStealingActorSystemImpl(ActorSystem wrapper) {
+		this(null, wrapper);
+	}
+
+	public WorkStealingActorSystemImpl(String name, ActorSystem wrapper) {
+		super(name, wrapper);
+		
+		messageDispatcher = new WorkStealingActorMessageDispatcher(this);
+		actorProcessPoolClass = WorkStealingActorProcessPool.class;
+	}
+	
+	public List<Integer> getMailboxSizes() {
+		return ((WorkStealingActorProcessPool)executerService.actorProcessPool).getMailboxSizes();
+	}
+}
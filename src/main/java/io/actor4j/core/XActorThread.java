@@ -15,19 +15,17 @@
  */
 package io.actor4j.core;
 
+import static io.actor4j.core.ActorQueueKind.*;
 import static io.actor4j.core.utils.ActorUtils.isDirective;
 
 import java.util.ArrayDeque;
 import java.util.LinkedList;
 import java.util.Queue;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.LockSupport;
 
-import org.apache.commons.collections4.queue.CircularFifoQueue;
 import org.jctools.queues.MpscArrayQueue;
 import org.jctools.queues.MpscLinkedQueue;
 
+import io.actor4j.core.deadletters.DeadLetterReason;
 import io.actor4j.core.messages.ActorMessage;
 
 public class XActorThread extends ActorThread {
@@ -44,28 +42,26 @@ public class XActorThread extends ActorThread {
 	protected final XAntiFloodingTimer innerQueueAntiFloodingTimer;
 	protected final XAntiFloodingTimer outerQueueAntiFloodingTimer;
 	
-	protected final AtomicBoolean newMessage;
 	
 	public XActorThread(ThreadGroup group, String name, ActorSystemImpl system) {
 		super(group, name, system);
 		
 		directiveQueue = new MpscLinkedQueue<>(); /* unbounded */
-		priorityQueue  = new PriorityBlockingQueue<>(system.getQueueSize()); /* unbounded */
+		priorityQueue  = new PriorityLaneQueue(); /* unbounded, lock-free */
 		
 		serverQueueL2  = new MpscArrayQueue<>(system.getQueueSize()); /* bounded */
 		serverQueueL1  = new ArrayDeque<>(system.getBufferQueueSize()); /* unbounded */
 		
 		outerQueueL2B  = new MpscLinkedQueue<>(); /* unbounded */
 		outerQueueL2A  = new MpscArrayQueue<>(system.getQueueSize()); /* bounded */
-		outerQueueL1   = new ArrayDeque<>(system.getBufferQueueSize()); /* unbounded */
+		outerQueueL1   = system.isFairMode() ? new FairActorQueue(system.getFairQuantum()) : new ArrayDeque<>(system.getBufferQueueSize()); /* unbounded */
 		
 		innerQueueL2   = new LinkedList<>(); /* unbounded */
-		innerQueueL1   = new CircularFifoQueue<>(system.getQueueSize()); /* bounded */
+		innerQueueL1   = new ArrayDeque<>(system.getQueueSize()); /* bounded by queueSize, see innerQueue */
 		
 		innerQueueAntiFloodingTimer = ((XActorSystemImpl)system).factoryAntiFloodingTimer.get();
 		outerQueueAntiFloodingTimer = ((XActorSystemImpl)system).factoryAntiFloodingTimer.get();
 		
-		newMessage = new AtomicBoolean(true);
 	}
 	
 	@Override
@@ -80,7 +76,7 @@ public class XActorThread extends ActorThread {
 	
 	@Override
 	public void serverQueue(ActorMessage<?> message) {
-		serverQueueL2.offer(message);
+		offer(serverQueueL2, message);
 	}
 	
 	@Override
@@ -89,34 +85,76 @@ public class XActorThread extends ActorThread {
 			if (outerQueueL2A.size()>=system.getQueueSize() || !outerQueueL2B.isEmpty()) {
 				if (isDirective(message) || outerQueueAntiFloodingTimer.isInTimeRange())
 					outerQueueL2B.offer(message);
+				else
+					deadLetter(message, DeadLetterReason.FLOODING);
 			}
 			else {
 				outerQueueAntiFloodingTimer.inactive();
-				outerQueueL2A.offer(message);
+				offer(outerQueueL2A, message);
 			}
 		}
 		else
-			outerQueueL2A.offer(message);
+			offer(outerQueueL2A, message);
 	}
 	
 	@Override
 	public void innerQueue(ActorMessage<?> message) {
 		if (!((XActorSystemImpl)system).antiFloodingEnabled.get()) {
-			if ((((CircularFifoQueue<ActorMessage<?>>)innerQueueL1).isAtFullCapacity() || !innerQueueL2.isEmpty())) {
+			if (innerQueueL1.size()>=system.getQueueSize() || !innerQueueL2.isEmpty()) {
 				if (isDirective(message) || innerQueueAntiFloodingTimer.isInTimeRange())
 					innerQueueL2.offer(message);
+				else
+					deadLetter(message, DeadLetterReason.FLOODING);
 			}
 			else {
 				innerQueueAntiFloodingTimer.inactive();
 				innerQueueL1.offer(message);
 			}
 		}
-		else
+		else if (innerQueueL1.size()<system.getQueueSize())
 			innerQueueL1.offer(message);
+		else
+			deadLetter(message, DeadLetterReason.QUEUE_OVERFLOW);
+	}
+	
+	@Override
+	protected void handoverLocalQueues(ActorHandle handle) {
+		handoverLocalQueue(priorityQueue, handle, PRIORITY_ORDER); // see PriorityLaneQueue::iterator
+		handoverLocalQueue(serverQueueL1, handle);
+		handoverLocalQueue(outerQueueL1, handle);
+		handoverLocalQueue(innerQueueL1, handle);
+		handoverLocalQueue(innerQueueL2, handle);
+	}
+	
+	@Override
+	protected int handoverMarkers(ActorMessage<?> marker) {
+		int result = 0;
+		
+		directiveQueue.offer(marker);
+		result++;
+		
+		priorityQueue.offer(marker);
+		result++;
+		
+		if (system.clientMode) {
+			while (!serverQueueL2.offer(marker))
+				transfer(serverQueueL2, serverQueueL1);
+			result++;
+		}
+		
+		while (!outerQueueL2A.offer(marker))
+			transfer(outerQueueL2A, outerQueueL1);
+		result++;
+		
+		outerQueueL2B.offer(marker);
+		result++;
+		
+		return result;
 	}
 	
 	@Override
 	public void onRun() {
+		boolean hasNextHandover;
 		boolean hasNextDirective;
 		boolean hasNextPriority;
 		int hasNextServer;
@@ -125,84 +163,69 @@ public class XActorThread extends ActorThread {
 		int idle = 0;
 		
 		while (!isInterrupted()) {
+			long startTime = processingTimeRequired ? System.nanoTime() : 0;
+			hasNextHandover  = pollHandovers();
 			hasNextDirective = false;
 			hasNextPriority  = false;
 			hasNextServer    = 0;
 			hasNextOuter     = 0;
 			hasNextInner     = 0;
 			
-			while (poll(directiveQueue)) 
+			while (poll(directiveQueue, DIRECTIVE)) 
 				hasNextDirective=true;
 			
-			while (poll(priorityQueue)) 
+			while (poll(priorityQueue, PRIORITY)) 
 				hasNextPriority=true;
 			
 			if (system.clientMode) {
-				for (; hasNextServer<system.throughput && poll(serverQueueL1); hasNextServer++);
+				for (; hasNextServer<system.throughput && poll(serverQueueL1, SERVER); hasNextServer++);
 				if (hasNextServer<system.throughput && serverQueueL2.peek()!=null) {
 					ActorMessage<?> message = null;
 					for (int j=0; j<system.getBufferQueueSize() && (message=serverQueueL2.poll())!=null; j++)
 						serverQueueL1.offer(message);
 				
-					for (; hasNextServer<system.throughput && poll(serverQueueL1); hasNextServer++);
+					for (; hasNextServer<system.throughput && poll(serverQueueL1, SERVER); hasNextServer++);
 				}
 			}
 			
-			for (; hasNextOuter<system.throughput && poll(outerQueueL1); hasNextOuter++);
+			if (system.fairMode)
+				transfer(outerQueueL2A, outerQueueL1, system.getBufferQueueSize()-outerQueueL1.size()); // see FairActorQueue
+			for (; hasNextOuter<system.throughput && poll(outerQueueL1, OUTER); hasNextOuter++);
 			if (hasNextOuter<system.throughput && outerQueueL2A.peek()!=null) {
 				ActorMessage<?> message = null;
 				for (int j=0; j<system.getBufferQueueSize() && (message=outerQueueL2A.poll())!=null; j++)
 					outerQueueL1.offer(message);
 
-				for (; hasNextOuter<system.throughput && poll(outerQueueL1); hasNextOuter++);
+				for (; hasNextOuter<system.throughput && poll(outerQueueL1, OUTER); hasNextOuter++);
 			}
 			if (hasNextOuter<system.throughput && outerQueueL2B.peek()!=null) {
 				ActorMessage<?> message = null;
 				for (int j=0; j<system.getBufferQueueSize() && (message=outerQueueL2B.poll())!=null; j++)
 					outerQueueL1.offer(message);
 
-				for (; hasNextOuter<system.throughput && poll(outerQueueL1); hasNextOuter++);
+				for (; hasNextOuter<system.throughput && poll(outerQueueL1, OUTER); hasNextOuter++);
 			}
 			
-			for (; hasNextInner<system.throughput && poll(innerQueueL1); hasNextInner++);
+			for (; hasNextInner<system.throughput && poll(innerQueueL1, INNER); hasNextInner++);
 			if (hasNextInner<system.throughput && innerQueueL2.peek()!=null) {
-				ActorMessage<?> message = null;
-				for (int j=0; j<system.getQueueSize() && (message=innerQueueL2.poll())!=null; j++)
-					innerQueueL1.offer(message);
+				transfer(innerQueueL2, innerQueueL1, system.getQueueSize()-innerQueueL1.size());
 
-				for (; hasNextInner<system.throughput && poll(innerQueueL1); hasNextInner++);
+				for (; hasNextInner<system.throughput && poll(innerQueueL1, INNER); hasNextInner++);
 			}
 			
-			if (hasNextInner==0 && hasNextOuter==0 && hasNextServer==0 && !hasNextPriority && !hasNextDirective) {
+			if (hasNextInner==0 && hasNextOuter==0 && hasNextServer==0 && !hasNextPriority && !hasNextDirective && !hasNextHandover) {
 				idle++;
-				if (idle>system.idle) {
-					idle = 0;
-					if (system.threadMode==ActorThreadMode.PARK) {
-						if (newMessage.compareAndSet(true, false))
-							LockSupport.park(this);
-					}
-					else if (system.threadMode==ActorThreadMode.SLEEP) {
-						try {
-							sleep(system.sleepTime);
-						} catch (InterruptedException e) {
-							interrupt();
-						}
-					}
-					else
-						yield();
-				}
+				idleStrategy.idle();
 			}
-			else
+			else {
+				if (processingTimeRequired)
+					processingTime += System.nanoTime()-startTime;
 				idle = 0;
+				idleStrategy.reset();
+			}
 		}		
 	}
 	
-	@Override
-	protected void newMessage() {
-		if (system.threadMode==ActorThreadMode.PARK && newMessage.compareAndSet(false, true))
-			LockSupport.unpark(this);
-	}
-	
 	@Override
 	public Queue<ActorMessage<?>> getDirectiveQueue() {
 		return directiveQueue;
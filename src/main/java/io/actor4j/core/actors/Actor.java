@@ -17,6 +17,7 @@ package io.actor4j.core.actors;
 
 import static io.actor4j.core.protocols.ActorProtocolTag.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Queue;
 import java.util.UUID;
@@ -24,6 +25,7 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import io.actor4j.core.ActorCell;
+import io.actor4j.core.ActorMailboxQuota;
 import io.actor4j.core.ActorServiceNode;
 import io.actor4j.core.ActorSystem;
 import io.actor4j.core.messages.ActorMessage;
@@ -194,6 +196,15 @@ public abstract class Actor implements ActorRef {
 		cell.send(message);
 	}
 	
+	public void sendAll(Collection<ActorMessage<?>> messages) {
+		cell.send(messages);
+	}
+	
+	public void sendAll(ActorMessage<?> message, Collection<UUID> dests) {
+		message.source = self();
+		cell.send(message, dests);
+	}
+	
 	public void sendViaPath(ActorMessage<?> message, String path) {
 		UUID dest = cell.getSystem().getActorFromPath(path);
 		if (dest!=null)
@@ -290,6 +301,14 @@ public abstract class Actor implements ActorRef {
 		return new DefaultSupervisiorStrategy();
 	}
 	
+	/**
+	 * Limits the pending messages of this actor, called once when the actor is
+	 * registered. By default (null), the quota of the system is used, if any.
+	 */
+	public ActorMailboxQuota mailboxQuota() {
+		return null;
+	}
+	
 	/**
 	 * Initialize here, your actor code. Create new actors as child or send too other actors messages, 
 	 * before the first message for this actor could be processed.
@@ -22,8 +22,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import io.actor4j.core.ActorCell;
 import io.actor4j.core.ActorThread;
@@ -32,77 +30,60 @@ import io.actor4j.core.actors.ActorDistributedGroupMember;
 import io.actor4j.core.actors.ActorGroupMember;
 import io.actor4j.core.actors.ActorIgnoreDistributedGroupMember;
 
+/**
+ * Assigns actors, that are created after the start of the actor system, to
+ * the actor threads (lock-free). Group members are placed on the thread of
+ * their group, the members of a distributed group are spread round-robin
+ * over the threads, all other actors are placed by the placement policy.
+ */
 public class ActorLoadBalancingAfterStart {
-	protected AtomicInteger i;
-	protected AtomicInteger j;
-	protected AtomicInteger k;
+	protected final AtomicInteger j;
 	
-	protected Lock lock;
+	protected final ActorPlacementPolicy placementPolicy;
 	
 	public ActorLoadBalancingAfterStart() {
+		this(new RoundRobinPlacementPolicy());
+	}
+	
+	public ActorLoadBalancingAfterStart(ActorPlacementPolicy placementPolicy) {
 		super();
 		
-		i = new AtomicInteger(0);
 		j = new AtomicInteger(0);
-		k = new AtomicInteger(0);
 		
-		lock = new ReentrantLock();
+		this.placementPolicy = placementPolicy;
 	}
 	
 	public void reset() {
-		i.set(0);
 		j.set(0);
-		k.set(0);
+		placementPolicy.reset();
+	}
+	
+	public ActorPlacementPolicy getPlacementPolicy() {
+		return placementPolicy;
 	}
 	
 	public void registerCell(Map<UUID, Long> cellsMap, List<Long> threadsList, Map<Long, ActorThread> threadsMap, Map<UUID, Long> groupsMap, Map<UUID, Integer> groupsDistributedMap, ActorCell cell) {
-		lock.lock();
-		try {
-			Actor actor = cell.getActor();
-			if (actor instanceof ActorDistributedGroupMember && !(actor instanceof ActorIgnoreDistributedGroupMember)) {
-				Integer threadIndex = groupsDistributedMap.get(((ActorDistributedGroupMember)actor).getDistributedGroupId());
-				Long threadId = null;
-				if (threadIndex==null) {
-					threadId = threadsList.get(j.get());
-					groupsDistributedMap.put(((ActorDistributedGroupMember)actor).getDistributedGroupId(), j.get());
-				}
-				else {
-					threadIndex++;
-					if (threadIndex==threadsMap.size())
-						threadIndex = 0;
-					groupsDistributedMap.put(((ActorDistributedGroupMember)actor).getDistributedGroupId(), threadIndex);
-					threadId = threadsList.get(threadIndex);
-				}
-				cellsMap.put(cell.getId(), threadId);
-				
-				j.updateAndGet((index) -> index==threadsList.size()-1 ? 0 : index+1);
-				
-				if (actor instanceof ActorGroupMember) {
-					if (groupsMap.get(((ActorGroupMember)actor).getGroupId())==null)
-						groupsMap.put(((ActorGroupMember)actor).getGroupId(), threadId);
-					else
-						systemLogger().error(String.format("[LOAD BALANCING] actor (%s) must be first initial group member", actorLabel(cell.getActor())));
-				}
-			}
-			else if (actor instanceof ActorGroupMember) {
-				Long threadId = groupsMap.get(((ActorGroupMember)actor).getGroupId());
-				if (threadId==null) {
-					threadId = threadsList.get(i.updateAndGet((index) -> index==threadsList.size()-1 ? 0 : index+1));
-					groupsMap.put(((ActorGroupMember)actor).getGroupId(), threadId);
-				}
-				
-				cellsMap.put(cell.getId(), threadId);
-			}
-			else {
-				Long threadId = threadsList.get(k.updateAndGet((index) -> index==threadsList.size()-1 ? 0 : index+1));
-				cellsMap.put(cell.getId(), threadId);
+		Actor actor = cell.getActor();
+		if (actor instanceof ActorDistributedGroupMember && !(actor instanceof ActorIgnoreDistributedGroupMember)) {
+			int next = j.getAndUpdate((index) -> index>=threadsList.size()-1 ? 0 : index+1);
+			Integer threadIndex = groupsDistributedMap.compute(((ActorDistributedGroupMember)actor).getDistributedGroupId(), 
+				(key, index) -> index==null ? next : (index+1==threadsList.size() ? 0 : index+1));
+			Long threadId = threadsList.get(threadIndex);
+			cellsMap.put(cell.getId(), threadId);
+			
+			if (actor instanceof ActorGroupMember) {
+				if (groupsMap.putIfAbsent(((ActorGroupMember)actor).getGroupId(), threadId)!=null)
+					systemLogger().error(String.format("[LOAD BALANCING] actor (%s) must be first initial group member", actorLabel(cell.getActor())));
 			}
 		}
-		finally {
-			lock.unlock();
+		else if (actor instanceof ActorGroupMember) {
+			Long threadId = groupsMap.computeIfAbsent(((ActorGroupMember)actor).getGroupId(), 
+				(key) -> placementPolicy.select(threadsList, threadsMap, cell));
+			cellsMap.put(cell.getId(), threadId);
 		}
+		else
+			cellsMap.put(cell.getId(), placementPolicy.select(threadsList, threadsMap, cell));
 	}
-	
 	public void unregisterCell(Map<UUID, Long> cellsMap, Map<Long, ActorThread> threadsMap, Map<UUID, Long> groupsMap, Map<UUID, Integer> groupsDistributedMap, ActorCell cell) {
 		/*
 		 * eventually remove the group (when no more group members are available), for ActorGroupMember, ActorDistributedGroupMember
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.balancing;
+
+import java.util.List;
+import java.util.Map;
+
+import io.actor4j.core.ActorCell;
+import io.actor4j.core.ActorThread;
+
+/**
+ * Selects the actor thread for an actor, that is created after the start of
+ * the actor system (see ActorSystemImpl::setPlacementPolicy). Applies to
+ * actors and to the first member of a group, distributed group members
+ * are assigned round-robin per group.
+ * Implementations are called concurrently and must not block.
+ */
+public interface ActorPlacementPolicy {
+	/**
+	 * @param threadsList the ids of the actor threads, must not be modified
+	 * @return the id of the selected actor thread
+	 */
+	public Long select(List<Long> threadsList, Map<Long, ActorThread> threadsMap, ActorCell cell);
+	
+	/**
+	 * @return true, if the actor threads must measure their processing time (see ActorThread::getProcessingTime)
+	 */
+	public default boolean isProcessingTimeRequired() {
+		return false;
+	}
+	
+	public default void reset() {
+	}
+}
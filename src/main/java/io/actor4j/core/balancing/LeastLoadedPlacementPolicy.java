@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.balancing;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.actor4j.core.ActorCell;
+import io.actor4j.core.ActorThread;
+
+/**
+ * Prefers the actor thread with the least load. Ties are broken round-robin,
+ * so that actors created in a burst are still spread over the idle threads.
+ * The loads are read without synchronization and are only estimates.
+ */
+public abstract class LeastLoadedPlacementPolicy implements ActorPlacementPolicy {
+	protected final AtomicInteger index;
+	
+	public LeastLoadedPlacementPolicy() {
+		super();
+		
+		index = new AtomicInteger(0);
+	}
+	
+	protected abstract long load(ActorThread thread);
+	
+	@Override
+	public Long select(List<Long> threadsList, Map<Long, ActorThread> threadsMap, ActorCell cell) {
+		int size = threadsList.size();
+		int start = index.updateAndGet((i) -> i>=size-1 ? 0 : i+1);
+		
+		Long result = null;
+		long min = Long.MAX_VALUE;
+		for (int i=0; i<size; i++) {
+			Long id = threadsList.get((start+i) % size);
+			long load = load(threadsMap.get(id));
+			if (load<min) {
+				min = load;
+				result = id;
+			}
+		}
+		
+		return result;
+	}
+	
+	@Override
+	public void reset() {
+		index.set(0);
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.balancing;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.actor4j.core.ActorCell;
+import io.actor4j.core.ActorThread;
+
+/**
+ * Prefers the actor thread with the least processing time within the recent
+ * one or two time windows. The actor threads measure their processing time
+ * only, when this policy is set.
+ */
+public class LeastProcessingTimePlacementPolicy extends LeastLoadedPlacementPolicy {
+	protected final long window; // in nanoseconds
+	protected final AtomicLong lastUpdate;
+	protected volatile Map<Long, Long> previous; // ThreadID -> processing time at the begin of the previous window
+	protected volatile Map<Long, Long> current;  // ThreadID -> processing time at the begin of the current window
+	
+	public LeastProcessingTimePlacementPolicy() {
+		this(100);
+	}
+	
+	/**
+	 * @param window in milliseconds
+	 */
+	public LeastProcessingTimePlacementPolicy(long window) {
+		super();
+		
+		this.window = window*1_000_000;
+		lastUpdate = new AtomicLong(System.nanoTime());
+		previous = new HashMap<>();
+		current = new HashMap<>();
+	}
+	
+	@Override
+	public Long select(List<Long> threadsList, Map<Long, ActorThread> threadsMap, ActorCell cell) {
+		long now = System.nanoTime();
+		long last = lastUpdate.get();
+		if (now-last>=window && lastUpdate.compareAndSet(last, now)) {
+			Map<Long, Long> snapshot = new HashMap<>();
+			for (ActorThread t : threadsMap.values())
+				snapshot.put(t.getId(), t.getProcessingTime());
+			previous = current;
+			current = snapshot;
+		}
+		
+		return super.select(threadsList, threadsMap, cell);
+	}
+	
+	@Override
+	protected long load(ActorThread thread) {
+		Long start = previous.get(thread.getId());
+		
+		return thread.getProcessingTime() - (start!=null ? start : 0);
+	}
+	
+	@Override
+	public boolean isProcessingTimeRequired() {
+		return true;
+	}
+	
+	@Override
+	public void reset() {
+		super.reset();
+		lastUpdate.set(System.nanoTime());
+		previous = new HashMap<>();
+		current = new HashMap<>();
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.balancing;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.actor4j.core.ActorCell;
+import io.actor4j.core.ActorThread;
+
+/**
+ * Assigns the actors in turn to the actor threads (default).
+ */
+public class RoundRobinPlacementPolicy implements ActorPlacementPolicy {
+	protected final AtomicInteger index;
+	
+	public RoundRobinPlacementPolicy() {
+		super();
+		
+		index = new AtomicInteger(0);
+	}
+	
+	@Override
+	public Long select(List<Long> threadsList, Map<Long, ActorThread> threadsMap, ActorCell cell) {
+		return threadsList.get(index.updateAndGet((i) -> i>=threadsList.size()-1 ? 0 : i+1));
+	}
+	
+	@Override
+	public void reset() {
+		index.set(0);
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.deadletters;
+
+import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.utils.Shareable;
+
+/**
+ * Undeliverable message, that is published by the DeadLettersActor. The
+ * enclosed message was never delivered, so it is shared with all subscribers.
+ */
+public class DeadLetter implements Shareable {
+	protected final DeadLetterReason reason;
+	protected final ActorMessage<?> message;
+	protected final long timestamp; // in milliseconds
+	
+	public DeadLetter(DeadLetterReason reason, ActorMessage<?> message) {
+		super();
+		
+		this.reason = reason;
+		this.message = message;
+		timestamp = System.currentTimeMillis();
+	}
+	
+	public DeadLetterReason getReason() {
+		return reason;
+	}
+	
+	public ActorMessage<?> getMessage() {
+		return message;
+	}
+	
+	public long getTimestamp() {
+		return timestamp;
+	}
+	
+	@Override
+	public String toString() {
+		return "DeadLetter [reason=" + reason + ", message=" + message + ", timestamp=" + timestamp + "]";
+	}
+}
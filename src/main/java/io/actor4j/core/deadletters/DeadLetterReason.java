@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.deadletters;
+
+/**
+ * Why a message could not be delivered (see ActorSystemImpl::deadLetter).
+ */
+public enum DeadLetterReason {
+	/**
+	 * No actor is registered for the destination (never existed or already stopped).
+	 */
+	UNKNOWN_DESTINATION,
+	/**
+	 * The alias has no members.
+	 */
+	UNRESOLVED_ALIAS,
+	/**
+	 * The destination is deactivated (see Actor::DEACTIVATE).
+	 */
+	INACTIVE,
+	/**
+	 * Rejected or dropped by the mailbox quota of the destination.
+	 */
+	MAILBOX_QUOTA,
+	/**
+	 * Displaced from a full local queue of an actor thread.
+	 */
+	QUEUE_OVERFLOW,
+	/**
+	 * Discarded by the anti-flooding strategy of an actor thread.
+	 */
+	FLOODING,
+	/**
+	 * Dequeued after its deadline (see ActorMessage::timeToLive).
+	 */
+	EXPIRED
+}
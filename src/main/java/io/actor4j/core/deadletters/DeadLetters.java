@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.deadletters;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.actor4j.core.messages.ActorMessage;
+
+import static io.actor4j.core.utils.ActorUtils.UUID_ZERO;
+
+/**
+ * Counters of the undeliverable messages per reason and per destination. The
+ * counters are striped, so concurrent drops do not contend. The number of
+ * destinations is limited, further destinations are counted as UUID_ZERO.
+ */
+public class DeadLetters {
+	protected final LongAdder[] reasons; // per DeadLetterReason
+	protected final Map<UUID, LongAdder> destinations;
+	protected volatile int maxDestinations;
+	protected volatile int sampleRate; // 1 out of sampleRate dead letters is published, 0 = none
+	
+	public DeadLetters() {
+		super();
+		
+		reasons = new LongAdder[DeadLetterReason.values().length];
+		for (int i=0; i<reasons.length; i++)
+			reasons[i] = new LongAdder();
+		destinations = new ConcurrentHashMap<>();
+		maxDestinations = 10_000;
+		sampleRate = 100;
+	}
+	
+	public void count(ActorMessage<?> message, DeadLetterReason reason) {
+		UUID dest = message.dest!=null ? message.dest : UUID_ZERO;
+		LongAdder counter = destinations.get(dest);
+		if (counter==null)
+			counter = destinations.computeIfAbsent(destinations.size()<maxDestinations ? dest : UUID_ZERO, (key) -> new LongAdder());
+		counter.increment();
+		
+		reasons[reason.ordinal()].increment(); // last, the destination is already counted, when the reason is visible
+	}
+	
+	/**
+	 * @return whether the dead letter should be published
+	 */
+	public boolean sample() {
+		int sampleRate = this.sampleRate;
+		
+		return sampleRate==1 || (sampleRate>1 && ThreadLocalRandom.current().nextInt(sampleRate)==0);
+	}
+	
+	public long getCount() {
+		long result = 0;
+		for (LongAdder counter : reasons)
+			result += counter.sum();
+		
+		return result;
+	}
+	
+	public long getCount(DeadLetterReason reason) {
+		return reasons[reason.ordinal()].sum();
+	}
+	
+	public long getCount(UUID dest) {
+		LongAdder result = destinations.get(dest);
+		
+		return result!=null ? result.sum() : 0;
+	}
+	
+	/**
+	 * @return snapshot of the counters per destination
+	 */
+	public Map<UUID, Long> getCountsPerDestination() {
+		Map<UUID, Long> result = new HashMap<>();
+		for (Map.Entry<UUID, LongAdder> entry : destinations.entrySet())
+			result.put(entry.getKey(), entry.getValue().sum());
+		
+		return Collections.unmodifiableMap(result);
+	}
+	
+	public int getSampleRate() {
+		return sampleRate;
+	}
+	
+	/**
+	 * @param sampleRate 1 out of sampleRate dead letters is published to the DeadLettersActor (0 = none)
+	 */
+	public void setSampleRate(int sampleRate) {
+		if (sampleRate<0)
+			throw new IllegalArgumentException("sampleRate");
+		
+		this.sampleRate = sampleRate;
+	}
+	
+	public int getMaxDestinations() {
+		return maxDestinations;
+	}
+	
+	public void setMaxDestinations(int maxDestinations) {
+		this.maxDestinations = maxDestinations;
+	}
+	
+	public void reset() {
+		for (LongAdder counter : reasons)
+			counter.reset();
+		destinations.clear();
+	}
+}
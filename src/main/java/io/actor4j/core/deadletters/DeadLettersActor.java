@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.deadletters;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Publishes the sampled dead letters (see ActorSystemImpl::subscribeDeadLetters) to
+ * its subscribers as messages with the tag DEAD_LETTER and a DeadLetter as value.
+ */
+public class DeadLettersActor extends Actor {
+	public static final int SUBSCRIBE   = 200;
+	public static final int UNSUBSCRIBE = 201;
+	public static final int DEAD_LETTER = 202;
+	
+	protected final Set<UUID> subscribers;
+	
+	public DeadLettersActor() {
+		super("deadletters");
+		
+		subscribers = new LinkedHashSet<>();
+	}
+	
+	@Override
+	public void receive(ActorMessage<?> message) {
+		if (message.tag==DEAD_LETTER) {
+			for (UUID subscriber : subscribers)
+				tell(message.value, DEAD_LETTER, subscriber);
+		}
+		else if (message.tag==SUBSCRIBE && message.source!=null)
+			subscribers.add(message.source);
+		else if (message.tag==UNSUBSCRIBE)
+			subscribers.remove(message.source);
+	}
+}
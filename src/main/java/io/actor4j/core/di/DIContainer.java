@@ -65,6 +65,13 @@ public class DIContainer<K> {
 		diMap.put(key, entry);
 	}
 	
+	/**
+	 * Registers an entry, that can be shared by several keys (must not be modified afterwards).
+	 */
+	public void register(K key, DIMapEntry entry) {
+		diMap.put(key, entry);
+	}
+	
 	protected Object buildInstance(Class<?> base, Object[] params) throws Exception {
 		Object result = null;
 		
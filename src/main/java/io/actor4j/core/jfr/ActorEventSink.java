@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.jfr;
+
+import java.util.UUID;
+
+/**
+ * Receiver of the events of an actor system (see ActorSystemImpl::flightRecorderMode).
+ * Duration events are started with begin..., that returns a handle (null, if the
+ * event is disabled), and are committed with the matching end... method.
+ */
+public interface ActorEventSink {
+	/**
+	 * Message was enqueued for an actor by the dispatcher.
+	 */
+	public void dispatch(int tag, UUID source, UUID dest, String thread);
+	
+	public Object beginHandler();
+	
+	/**
+	 * Actor::receive was executed (committed only above the threshold of the recording).
+	 */
+	public void endHandler(Object event, UUID actor, String name, int tag);
+	
+	public Object beginPark();
+	
+	/**
+	 * @param timeout in nanoseconds, or zero for no timeout
+	 */
+	public void endPark(Object event, long timeout);
+	
+	/**
+	 * Sender woke up the parked actor thread.
+	 */
+	public void unpark(String thread);
+	
+	public Object beginLifecycle();
+	
+	/**
+	 * Stop or restart protocol of an actor was completed (includes the waiting for its children).
+	 */
+	public void endLifecycle(Object event, UUID actor, String name, String protocol, int children);
+	
+	public Object beginPersistence();
+	
+	/**
+	 * Persistence service confirmed (or failed) the persistence of events or a snapshot.
+	 */
+	public void endPersistence(Object event, UUID actor, int objects, boolean success);
+}
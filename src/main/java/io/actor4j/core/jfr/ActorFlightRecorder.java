@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.jfr;
+
+/**
+ * Access to the Java Flight Recorder events of actor4j. The events are located in
+ * the Java 11 layer of the multi-release jar (META-INF/versions/11), so on older
+ * JVMs no sink is available.
+ */
+public final class ActorFlightRecorder {
+	public static final String SINK_CLASS_NAME = "io.actor4j.core.jfr.JfrActorEventSink";
+	
+	private ActorFlightRecorder() {
+	}
+	
+	/**
+	 * @return a sink, that emits Java Flight Recorder events, or null if not supported by the JVM
+	 */
+	public static ActorEventSink createSink() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			
+			return (ActorEventSink)Class.forName(SINK_CLASS_NAME).getConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+	
+	public static boolean isSupported() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			Class.forName(SINK_CLASS_NAME);
+			
+			return true;
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+}
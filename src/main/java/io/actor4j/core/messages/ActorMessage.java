@@ -19,16 +19,19 @@ import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.actor4j.core.ActorHandle;
 import io.actor4j.core.utils.Copyable;
-import io.actor4j.core.utils.Shareable;
 
 public class ActorMessage<T> implements Copyable<ActorMessage<T>>, Comparable<ActorMessage<T>> {
 	private static Set<Class<?>> SUPPORTED_TYPES;
 	
+	public static final int RELEASED_TAG = Integer.MIN_VALUE; // of a released envelope in pool debug mode
+	
 	public T value;
 	public int tag;
 	public UUID source;
@@ -38,6 +41,15 @@ public class ActorMessage<T> implements Copyable<ActorMessage<T>>, Comparable<Ac
 	public String protocol;
 	public String ontology;
 	
+	public transient ActorHandle handle; // resolved destination, set by the dispatcher (not copied)
+	public transient boolean quota; // counted by the mailbox quota of the destination
+	public transient long enqueueTime; // in nanoseconds, set by the dispatcher in mailbox latency mode (not copied)
+	public transient long deadline; // System.nanoTime, 0 if none (only valid within this process)
+	
+	protected transient boolean recyclable; // envelope of an ActorMessagePool
+	protected transient boolean retained;
+	protected transient boolean released;
+	
 	public ActorMessage(T value, int tag, UUID source, UUID dest, UUID interaction, String protocol, String ontology) {
 		this.value = value;
 		this.tag = tag;
@@ -57,6 +69,7 @@ public class ActorMessage<T> implements Copyable<ActorMessage<T>>, Comparable<Ac
 	}
 	
 	public T getValue() {
+		checkReleased();
 		return value;
 	}
 	
@@ -112,6 +125,41 @@ public class ActorMessage<T> implements Copyable<ActorMessage<T>>, Comparable<Ac
 		this.ontology = ontology;
 	}
 
+	public long getDeadline() {
+		return deadline;
+	}
+	
+	/**
+	 * @param deadline in nanoseconds (see System::nanoTime), 0 for none
+	 */
+	public void setDeadline(long deadline) {
+		this.deadline = deadline;
+	}
+	
+	/**
+	 * Sets the deadline relative to now. The message is dropped as a dead letter,
+	 * if it is dequeued by an actor thread after its deadline (see ActorThread::process
+	 * and ActorSystemImpl::deadlineMode).
+	 */
+	public ActorMessage<T> timeToLive(long timeToLive, TimeUnit unit) {
+		deadline = System.nanoTime()+unit.toNanos(timeToLive);
+		if (deadline==0)
+			deadline = 1;
+		
+		return this;
+	}
+	
+	public boolean hasDeadline() {
+		return deadline!=0;
+	}
+	
+	/**
+	 * @param now in nanoseconds (see System::nanoTime)
+	 */
+	public boolean isExpired(long now) {
+		return deadline!=0 && now-deadline>0;
+	}
+	
 	public boolean valueAsBoolean() {
 		return (Boolean)value;
 	}
@@ -163,23 +211,77 @@ public class ActorMessage<T> implements Copyable<ActorMessage<T>>, Comparable<Ac
 	}
 	
 	protected ActorMessage<T> weakCopy() {
-		return new ActorMessage<T>(value, tag, source, dest, interaction, protocol, ontology);
+		return withDeadline(new ActorMessage<T>(value, tag, source, dest, interaction, protocol, ontology));
+	}
+	
+	public ActorMessage<T> weakCopy(UUID dest) {
+		return withDeadline(new ActorMessage<T>(value, tag, source, dest, interaction, protocol, ontology));
+	}
+	
+	protected ActorMessage<T> withDeadline(ActorMessage<T> copy) {
+		copy.deadline = deadline;
+		
+		return copy;
 	}
 	
 	@SuppressWarnings("unchecked")
-	public ActorMessage<T> copy() {
-		if (value!=null) { 
-			if (isSupportedType(value.getClass()) || value instanceof Shareable)
-				return new ActorMessage<T>(value, tag, source, dest, interaction, protocol, ontology);
-			else if (value instanceof Copyable)
-				return new ActorMessage<T>(((Copyable<T>)value).copy(), tag, source, dest, interaction, protocol, ontology);
-			else if (value instanceof Exception)
-				return new ActorMessage<T>(value, tag, source, dest, interaction, protocol, ontology);
-			else
-				throw new IllegalArgumentException(value.getClass().getName());
-		}
+	protected T copyValue() {
+		checkReleased();
+		if (value!=null)
+			switch (ActorMessageCopyStrategy.of(value.getClass())) {
+				case SHARE:
+					return value;
+				case COPY:
+					return ((Copyable<T>)value).copy();
+				default:
+					throw new IllegalArgumentException(value.getClass().getName());
+			}
 		else
-			return new ActorMessage<T>(null, tag, source, dest, interaction, protocol, ontology);
+			return null;
+	}
+	
+	public ActorMessage<T> copy() {
+		return withDeadline(new ActorMessage<T>(copyValue(), tag, source, dest, interaction, protocol, ontology));
+	}
+	
+	/**
+	 * Whether the message can be passed without copying, as its value is
+	 * immutable or shareable.
+	 */
+	public boolean isShareable() {
+		return !recyclable && (value==null || ActorMessageCopyStrategy.of(value.getClass())==ActorMessageCopyStrategy.SHARE);
+	}
+	
+	public boolean isRecyclable() {
+		return recyclable;
+	}
+	
+	/**
+	 * Keeps a recyclable message, that would otherwise be released to the
+	 * pool after it was received. Actors, that store a received message
+	 * (e.g., in a stash), must retain it.
+	 */
+	public ActorMessage<T> retain() {
+		retained = true;
+		
+		return this;
+	}
+	
+	public boolean isReleased() {
+		return released;
+	}
+	
+	protected void checkReleased() {
+		if (released)
+			throw new IllegalStateException("message was already released");
+	}
+	
+	/**
+	 * Returns this message, if it is shareable, otherwise a copy. The sender
+	 * must not modify or reuse the message after sending it.
+	 */
+	public ActorMessage<T> shareOrCopy() {
+		return isShareable() ? this : copy();
 	}
 	
 	@Override
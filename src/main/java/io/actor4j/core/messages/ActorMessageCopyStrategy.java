@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.messages;
+
+import io.actor4j.core.utils.Copyable;
+import io.actor4j.core.utils.Shareable;
+
+/**
+ * Handling of a message value on copying the message, classified once per
+ * value class.
+ */
+public enum ActorMessageCopyStrategy {
+	SHARE,  // immutable or shareable, the value is passed as is
+	COPY,   // copyable, the value is copied
+	REJECT; // not supported
+	
+	private static final ClassValue<ActorMessageCopyStrategy> STRATEGIES = new ClassValue<ActorMessageCopyStrategy>() {
+		@Override
+		protected ActorMessageCopyStrategy computeValue(Class<?> type) {
+			if (ActorMessage.isSupportedType(type) || Shareable.class.isAssignableFrom(type))
+				return SHARE;
+			else if (Copyable.class.isAssignableFrom(type))
+				return COPY;
+			else if (Exception.class.isAssignableFrom(type))
+				return SHARE;
+			else
+				return REJECT;
+		}
+	};
+	
+	public static ActorMessageCopyStrategy of(Class<?> type) {
+		return STRATEGIES.get(type);
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.messages;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of recyclable message envelopes, owned by one actor thread (not
+ * thread-safe). The envelopes are taken on copying a message for the
+ * dispatch and are released by the receiving thread after the actor has
+ * processed the message, unless the message was retained.
+ * <p>
+ * In debug mode released envelopes are never reused, instead they are
+ * marked as released, so that a use after release (copying, sending or
+ * <code>getValue</code>) fails with an <code>IllegalStateException</code>.
+ * Direct reads of the public fields cannot be checked, so the envelope is
+ * also poisoned: the value and the addresses are null and the tag is
+ * <code>ActorMessage.RELEASED_TAG</code>.
+ */
+public class ActorMessagePool {
+	protected final Deque<ActorMessage<?>> envelopes;
+	protected final int capacity;
+	protected final boolean debug;
+	
+	public ActorMessagePool(int capacity, boolean debug) {
+		super();
+		
+		this.capacity = capacity;
+		this.debug = debug;
+		
+		envelopes = new ArrayDeque<>(Math.min(capacity, 1_024));
+	}
+	
+	@SuppressWarnings("unchecked")
+	public <T> ActorMessage<T> copy(ActorMessage<T> message) {
+		if (message.getClass()!=ActorMessage.class) // subclasses (e.g., FutureActorMessage) are not pooled
+			return message.copy();
+		
+		T value = message.copyValue();
+		
+		ActorMessage<T> result = (ActorMessage<T>)envelopes.poll();
+		if (result!=null) {
+			result.value = value;
+			result.tag = message.tag;
+			result.source = message.source;
+			result.dest = message.dest;
+			result.interaction = message.interaction;
+			result.protocol = message.protocol;
+			result.ontology = message.ontology;
+			result.deadline = message.deadline;
+			result.retained = false;
+		}
+		else {
+			result = new ActorMessage<T>(value, message.tag, message.source, message.dest, message.interaction, message.protocol, message.ontology);
+			result.deadline = message.deadline;
+			result.recyclable = true;
+		}
+		
+		return result;
+	}
+	
+	public void release(ActorMessage<?> message) {
+		if (!message.recyclable || message.retained)
+			return;
+		
+		message.checkReleased();
+		if (debug) {
+			message.released = true; // quarantined
+			message.value = null;
+			message.tag = ActorMessage.RELEASED_TAG;
+			message.source = null;
+			message.dest = null;
+			message.interaction = null;
+			message.protocol = null;
+			message.ontology = null;
+			return;
+		}
+		
+		if (envelopes.size()<capacity) {
+			message.value = null;
+			message.handle = null;
+			message.quota = false;
+			message.enqueueTime = 0;
+			message.deadline = 0;
+			message.interaction = null;
+			message.protocol = null;
+			message.ontology = null;
+			envelopes.offer(message);
+		}
+	}
+	
+	public int size() {
+		return envelopes.size();
+	}
+}
@@ -18,9 +18,6 @@ package io.actor4j.core.messages;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
-import io.actor4j.core.utils.Copyable;
-import io.actor4j.core.utils.Shareable;
-
 public class FutureActorMessage<T> extends ActorMessage<T> {
 	public final CompletableFuture<T> future;
 	
@@ -39,23 +36,11 @@ public class FutureActorMessage<T> extends ActorMessage<T> {
 	
 	@Override
 	protected ActorMessage<T> weakCopy() {
-		return new FutureActorMessage<T>(future, value, tag, source, dest, interaction, protocol, ontology);
+		return withDeadline(new FutureActorMessage<T>(future, value, tag, source, dest, interaction, protocol, ontology));
 	}
 	
-	@SuppressWarnings("unchecked")
 	@Override
 	public ActorMessage<T> copy() {
-		if (value!=null) { 
-			if (isSupportedType(value.getClass()) || value instanceof Shareable)
-				return new FutureActorMessage<T>(future, value, tag, source, dest, interaction, protocol, ontology);
-			else if (value instanceof Copyable)
-				return new FutureActorMessage<T>(future, ((Copyable<T>)value).copy(), tag, source, dest, interaction, protocol, ontology);
-			else if (value instanceof Exception)
-				return new FutureActorMessage<T>(future, value, tag, source, dest, interaction, protocol, ontology);
-			else
-				throw new IllegalArgumentException(value.getClass().getName());
-		}
-		else
-			return new FutureActorMessage<T>(future, null, tag, source, dest, interaction, protocol, ontology);
+		return withDeadline(new FutureActorMessage<T>(future, copyValue(), tag, source, dest, interaction, protocol, ontology));
 	}
 }
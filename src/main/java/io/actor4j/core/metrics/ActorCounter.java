@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, that is striped to be cheap on the hot path.
+ */
+public class ActorCounter extends ActorMetric {
+	protected final LongAdder value;
+	
+	public ActorCounter(String name, String help, String... labels) {
+		super(name, help, labels);
+		
+		value = new LongAdder();
+	}
+	
+	public void increment() {
+		value.increment();
+	}
+	
+	public void add(long amount) {
+		value.add(amount);
+	}
+	
+	public long get() {
+		return value.sum();
+	}
+	
+	@Override
+	public ActorMetricType getType() {
+		return ActorMetricType.COUNTER;
+	}
+	
+	@Override
+	public double getValue() {
+		return value.sum();
+	}
+}
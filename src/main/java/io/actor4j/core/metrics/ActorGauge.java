@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Metric, that reads its value on export, either a gauge or a counter, that is
+ * maintained elsewhere (for example ActorThread::getCount).
+ */
+public class ActorGauge extends ActorMetric {
+	protected final ActorMetricType type;
+	protected final DoubleSupplier supplier;
+	
+	public ActorGauge(String name, String help, DoubleSupplier supplier, String... labels) {
+		this(ActorMetricType.GAUGE, name, help, supplier, labels);
+	}
+	
+	public ActorGauge(ActorMetricType type, String name, String help, DoubleSupplier supplier, String... labels) {
+		super(name, help, labels);
+		
+		if (type==ActorMetricType.SUMMARY)
+			throw new IllegalArgumentException("type");
+		
+		this.type = type;
+		this.supplier = supplier;
+	}
+	
+	@Override
+	public ActorMetricType getType() {
+		return type;
+	}
+	
+	@Override
+	public double getValue() {
+		return supplier.getAsDouble();
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * A named metric with labels (pairs of label name and value), that is exported
+ * by the exporters of the ActorMetricsRegistry.
+ */
+public abstract class ActorMetric {
+	protected static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+	
+	protected final String name;
+	protected final String help;
+	protected final String[] labels;
+	
+	public ActorMetric(String name, String help, String... labels) {
+		super();
+		
+		if (name==null || !NAME_PATTERN.matcher(name).matches())
+			throw new IllegalArgumentException("name");
+		if (labels.length % 2!=0)
+			throw new IllegalArgumentException("labels");
+		for (int i=0; i<labels.length; i+=2)
+			if (labels[i]==null || !NAME_PATTERN.matcher(labels[i]).matches() || labels[i+1]==null)
+				throw new IllegalArgumentException("labels");
+		
+		this.name = name;
+		this.help = help;
+		this.labels = labels;
+	}
+	
+	public abstract ActorMetricType getType();
+	
+	/**
+	 * @return the current value (the number of samples for summaries)
+	 */
+	public abstract double getValue();
+	
+	public String getName() {
+		return name;
+	}
+	
+	public String getHelp() {
+		return help;
+	}
+	
+	public String[] getLabels() {
+		return labels;
+	}
+	
+	public String getKey() {
+		return key(name, labels);
+	}
+	
+	public static String key(String name, String... labels) {
+		return labels.length>0 ? name + Arrays.toString(labels) : name;
+	}
+}
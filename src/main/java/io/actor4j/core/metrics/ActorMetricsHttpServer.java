@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Endpoint for Prometheus: GET /metrics returns the metrics of the registry
+ * in the Prometheus text format.
+ */
+public class ActorMetricsHttpServer {
+	public static final String PATH = "/metrics";
+	
+	protected final ActorMetricsRegistry registry;
+	protected final InetSocketAddress address;
+	
+	protected HttpServer server;
+	
+	/**
+	 * @param port 0 for an ephemeral port (see getPort)
+	 */
+	public ActorMetricsHttpServer(ActorMetricsRegistry registry, int port) {
+		this(registry, new InetSocketAddress(port));
+	}
+	
+	public ActorMetricsHttpServer(ActorMetricsRegistry registry, InetSocketAddress address) {
+		super();
+		
+		this.registry = registry;
+		this.address = address;
+	}
+	
+	public synchronized void start() throws IOException {
+		if (server!=null)
+			return;
+		
+		server = HttpServer.create(address, 0);
+		server.createContext(PATH, this::handle);
+		server.start();
+	}
+	
+	protected void handle(HttpExchange exchange) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			
+			byte[] body = PrometheusTextFormat.write(registry.collect()).getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", PrometheusTextFormat.CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+		}
+		finally {
+			exchange.close();
+		}
+	}
+	
+	public synchronized void stop() {
+		if (server!=null) {
+			server.stop(0);
+			server = null;
+		}
+	}
+	
+	public synchronized int getPort() {
+		return server!=null ? server.getAddress().getPort() : address.getPort();
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Exports the metrics of the registry as read-only attributes of one dynamic
+ * MBean (io.actor4j:type=Metrics,name=...). Attributes are named after the
+ * metric and its labels, summaries are exported with their quantiles, sum and
+ * count.
+ */
+public class ActorMetricsJmxExporter implements DynamicMBean {
+	protected final ActorMetricsRegistry registry;
+	protected final ObjectName objectName;
+	
+	public ActorMetricsJmxExporter(ActorMetricsRegistry registry, String name) throws JMException {
+		super();
+		
+		this.registry = registry;
+		objectName = new ObjectName("io.actor4j:type=Metrics,name="+ObjectName.quote(name));
+	}
+	
+	public void register() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if (!server.isRegistered(objectName))
+			server.registerMBean(this, objectName);
+	}
+	
+	public void unregister() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if (server.isRegistered(objectName))
+			server.unregisterMBean(objectName);
+	}
+	
+	public ObjectName getObjectName() {
+		return objectName;
+	}
+	
+	protected Map<String, Double> values() {
+		Map<String, Double> result = new LinkedHashMap<>();
+		
+		for (ActorMetric metric : registry.collect()) {
+			String attribute = attribute(metric);
+			if (metric instanceof ActorSummary) {
+				ActorSummary summary = (ActorSummary)metric;
+				for (double quantile : ActorSummary.QUANTILES)
+					result.put(attribute+"{quantile="+quantile+"}", summary.getQuantile(quantile));
+				result.put(attribute+"_sum", summary.getSum());
+				result.put(attribute+"_count", (double)summary.getCount());
+			}
+			else
+				result.put(attribute, metric.getValue());
+		}
+		
+		return result;
+	}
+	
+	protected String attribute(ActorMetric metric) {
+		String[] labels = metric.getLabels();
+		if (labels.length==0)
+			return metric.getName();
+		
+		StringBuilder builder = new StringBuilder(metric.getName()).append('{');
+		for (int i=0; i<labels.length; i+=2) {
+			if (i>0)
+				builder.append(',');
+			builder.append(labels[i]).append('=').append(labels[i+1]);
+		}
+		
+		return builder.append('}').toString();
+	}
+	
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		Double result = values().get(attribute);
+		if (result==null)
+			throw new AttributeNotFoundException(attribute);
+		
+		return result;
+	}
+	
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		Map<String, Double> values = values();
+		
+		AttributeList result = new AttributeList();
+		for (String attribute : attributes)
+			if (values.containsKey(attribute))
+				result.add(new Attribute(attribute, values.get(attribute)));
+		
+		return result;
+	}
+	
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("read-only: "+attribute.getName());
+	}
+	
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+	
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) {
+		throw new UnsupportedOperationException(actionName);
+	}
+	
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		List<MBeanAttributeInfo> attributes = new ArrayList<>();
+		for (String attribute : values().keySet())
+			attributes.add(new MBeanAttributeInfo(attribute, Double.class.getName(), attribute, true, false, false));
+		
+		return new MBeanInfo(getClass().getName(), "actor4j metrics", attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null, null, null);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry of the metrics of an actor system (see ActorSystemImpl::getMetrics),
+ * that are exported via JMX (ActorMetricsJmxExporter) and in the Prometheus
+ * text format (ActorMetricsHttpServer).
+ */
+public class ActorMetricsRegistry {
+	protected final Map<String, ActorMetric> metrics; // key of the metric -> metric
+	protected final List<ActorMetricsCollector> collectors;
+	
+	public ActorMetricsRegistry() {
+		super();
+		
+		metrics = new ConcurrentHashMap<>();
+		collectors = new CopyOnWriteArrayList<>();
+	}
+	
+	/**
+	 * @return the registered counter with the same name and labels, otherwise a new counter
+	 */
+	public ActorCounter counter(String name, String help, String... labels) {
+		ActorMetric result = metrics.computeIfAbsent(ActorMetric.key(name, labels), (key) -> new ActorCounter(name, help, labels));
+		if (!(result instanceof ActorCounter))
+			throw new IllegalArgumentException(name);
+		
+		return (ActorCounter)result;
+	}
+	
+	public ActorGauge gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+		return register(new ActorGauge(name, help, supplier, labels));
+	}
+	
+	public ActorSummary summary(String name, String help, LogHistogram histogram, double scale, String... labels) {
+		return register(new ActorSummary(name, help, histogram, scale, labels));
+	}
+	
+	/**
+	 * Registers the metric, an already registered metric with the same name and labels is replaced.
+	 */
+	public <M extends ActorMetric> M register(M metric) {
+		metrics.put(metric.getKey(), metric);
+		
+		return metric;
+	}
+	
+	public boolean unregister(String name, String... labels) {
+		return metrics.remove(ActorMetric.key(name, labels))!=null;
+	}
+	
+	public void addCollector(ActorMetricsCollector collector) {
+		collectors.add(collector);
+	}
+	
+	public void removeCollector(ActorMetricsCollector collector) {
+		collectors.remove(collector);
+	}
+	
+	/**
+	 * @return the registered and collected metrics, sorted by name
+	 */
+	public List<ActorMetric> collect() {
+		List<ActorMetric> result = new ArrayList<>(metrics.values());
+		for (ActorMetricsCollector collector : collectors)
+			collector.collect(result::add);
+		result.sort(Comparator.comparing(ActorMetric::getName).thenComparing(ActorMetric::getKey));
+		
+		return result;
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.UUID;
+
+/**
+ * Sampling profiler of an actor thread. Every n-th message the CPU time of the
+ * handler (Actor::receive) is measured and accumulated per actor, alias and tag
+ * in top-N tables. Falls back to the wall-clock time, if the JVM does not support
+ * measuring the CPU time of the current thread.
+ */
+public class ActorProfiler {
+	protected static final int CAPACITY_FACTOR = 4; // more entries than queried, reduces the estimation error
+	
+	protected static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+	protected static final boolean cpuTimeSupported;
+	static {
+		boolean supported = threadMXBean.isCurrentThreadCpuTimeSupported();
+		if (supported && !threadMXBean.isThreadCpuTimeEnabled())
+			try {
+				threadMXBean.setThreadCpuTimeEnabled(true);
+			}
+			catch (UnsupportedOperationException | SecurityException e) {
+				supported = false;
+			}
+		cpuTimeSupported = supported;
+	}
+	
+	protected final int sampleRate;
+	protected final int topN;
+	protected int countdown; // only accessed by the owning thread
+	
+	protected final ActorTopN<UUID> actors;
+	protected final ActorTopN<String> aliases;
+	protected final ActorTopN<Integer> tags;
+	
+	/**
+	 * @param sampleRate 1 out of sampleRate messages is measured
+	 * @param topN number of entries, that are queried
+	 */
+	public ActorProfiler(int sampleRate, int topN) {
+		super();
+		
+		if (sampleRate<1)
+			throw new IllegalArgumentException("sampleRate");
+		if (topN<1)
+			throw new IllegalArgumentException("topN");
+		
+		this.sampleRate = sampleRate;
+		this.topN = topN;
+		countdown = sampleRate;
+		
+		actors = new ActorTopN<>(topN*CAPACITY_FACTOR);
+		aliases = new ActorTopN<>(topN*CAPACITY_FACTOR);
+		tags = new ActorTopN<>(topN*CAPACITY_FACTOR);
+	}
+	
+	/**
+	 * Called by the owning thread for each message.
+	 * 
+	 * @return whether the message should be measured
+	 */
+	public boolean sample() {
+		if (--countdown==0) {
+			countdown = sampleRate;
+			return true;
+		}
+		else
+			return false;
+	}
+	
+	/**
+	 * @return the CPU time of the current thread in nanoseconds
+	 */
+	public static long getCpuTime() {
+		return cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+	
+	public static boolean isCpuTimeSupported() {
+		return cpuTimeSupported;
+	}
+	
+	/**
+	 * @param alias of the actor, or null
+	 * @param cpuTime in nanoseconds
+	 */
+	public void record(UUID id, String alias, int tag, long cpuTime) {
+		actors.add(id, cpuTime);
+		if (alias!=null)
+			aliases.add(alias, cpuTime);
+		tags.add(tag, cpuTime);
+	}
+	
+	public int getSampleRate() {
+		return sampleRate;
+	}
+	
+	public int getTopN() {
+		return topN;
+	}
+	
+	public ActorTopN<UUID> getActors() {
+		return actors;
+	}
+	
+	public ActorTopN<String> getAliases() {
+		return aliases;
+	}
+	
+	public ActorTopN<Integer> getTags() {
+		return tags;
+	}
+	
+	public void reset() {
+		actors.clear();
+		aliases.clear();
+		tags.clear();
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+/**
+ * Exports a LogHistogram with its quantiles, sum and count. The recorded values
+ * are multiplied by the scale on export (e.g. 1e-9 for nanoseconds to seconds).
+ */
+public class ActorSummary extends ActorMetric {
+	public static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+	
+	protected final LogHistogram histogram;
+	protected final double scale;
+	
+	public ActorSummary(String name, String help, LogHistogram histogram, double scale, String... labels) {
+		super(name, help, labels);
+		
+		this.histogram = histogram;
+		this.scale = scale;
+	}
+	
+	public LogHistogram getHistogram() {
+		return histogram;
+	}
+	
+	public double getQuantile(double quantile) {
+		return histogram.getValueAtPercentile(quantile*100)*scale;
+	}
+	
+	public double getSum() {
+		return histogram.getTotal()*scale;
+	}
+	
+	public long getCount() {
+		return histogram.getCount();
+	}
+	
+	@Override
+	public ActorMetricType getType() {
+		return ActorMetricType.SUMMARY;
+	}
+	
+	@Override
+	public double getValue() {
+		return histogram.getCount();
+	}
+}
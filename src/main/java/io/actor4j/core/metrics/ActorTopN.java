@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table of the top keys by accumulated cost with a fixed capacity (space-saving
+ * algorithm). When the table is full, the entry with the lowest cost is replaced
+ * and its cost is taken over as (over-)estimation error of the new key.
+ */
+public class ActorTopN<K> {
+	public static class Entry<K> {
+		protected final K key;
+		protected long cost;
+		protected long count;
+		protected long error;
+		
+		public Entry(K key, long cost, long count, long error) {
+			super();
+			
+			this.key = key;
+			this.cost = cost;
+			this.count = count;
+			this.error = error;
+		}
+		
+		public K getKey() {
+			return key;
+		}
+		
+		/**
+		 * @return the accumulated cost (upper bound, see getError)
+		 */
+		public long getCost() {
+			return cost;
+		}
+		
+		public long getCount() {
+			return count;
+		}
+		
+		/**
+		 * @return the maximal overestimation of the cost
+		 */
+		public long getError() {
+			return error;
+		}
+		
+		@Override
+		public String toString() {
+			return "Entry [key=" + key + ", cost=" + cost + ", count=" + count + ", error=" + error + "]";
+		}
+	}
+	
+	protected final int capacity;
+	protected final Map<K, Entry<K>> entries;
+	
+	public ActorTopN(int capacity) {
+		super();
+		
+		if (capacity<1)
+			throw new IllegalArgumentException("capacity");
+		
+		this.capacity = capacity;
+		entries = new HashMap<>(capacity*2);
+	}
+	
+	public synchronized void add(K key, long cost) {
+		Entry<K> entry = entries.get(key);
+		if (entry!=null) {
+			entry.cost += cost;
+			entry.count++;
+		}
+		else if (entries.size()<capacity)
+			entries.put(key, new Entry<>(key, cost, 1, 0));
+		else {
+			Entry<K> min = null;
+			for (Entry<K> e : entries.values())
+				if (min==null || e.cost<min.cost)
+					min = e;
+			entries.remove(min.key);
+			entries.put(key, new Entry<>(key, min.cost+cost, min.count+1, min.cost));
+		}
+	}
+	
+	/**
+	 * @return copies of the n entries with the highest cost, sorted descending
+	 */
+	public synchronized List<Entry<K>> top(int n) {
+		return top(entries.values(), n);
+	}
+	
+	public synchronized void clear() {
+		entries.clear();
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Merges the tables (e.g. of several actor threads) by summing up the entries.
+	 * 
+	 * @return the n entries with the highest cost, sorted descending
+	 */
+	public static <K> List<Entry<K>> merge(Collection<ActorTopN<K>> tables, int n) {
+		Map<K, Entry<K>> result = new HashMap<>();
+		for (ActorTopN<K> table : tables)
+			synchronized (table) {
+				for (Entry<K> e : table.entries.values())
+					result.merge(e.key, new Entry<>(e.key, e.cost, e.count, e.error), 
+						(a, b) -> new Entry<>(a.key, a.cost+b.cost, a.count+b.count, a.error+b.error));
+			}
+		
+		return top(result.values(), n);
+	}
+	
+	protected static <K> List<Entry<K>> top(Collection<Entry<K>> entries, int n) {
+		List<Entry<K>> result = new ArrayList<>(entries.size());
+		for (Entry<K> e : entries)
+			result.add(new Entry<>(e.key, e.cost, e.count, e.error));
+		result.sort((a, b) -> Long.compare(b.cost, a.cost));
+		
+		return result.size()>n ? new ArrayList<>(result.subList(0, n)) : result;
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram with logarithmic buckets and a fixed memory footprint
+ * (HdrHistogram-style). Every power of two is divided into 2^precision
+ * sub-buckets, so that the relative error of a recorded value is at most
+ * 1/2^precision. Values greater than the highest trackable value are recorded
+ * as the highest trackable value, negative values as zero.
+ * 
+ * Queries and reset are not atomic with respect to concurrent recordings, the
+ * results are snapshots of the buckets.
+ */
+public class LogHistogram {
+	public static final int DEFAULT_PRECISION = 3; // relative error <= 12.5%
+	public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = 1L<<36; // ~68.7 seconds in nanoseconds
+	
+	protected final int precision;
+	protected final int subBuckets;
+	protected final long highestTrackableValue;
+	
+	protected final AtomicLongArray counts;
+	protected final AtomicLong total; // sum of the recorded values
+	protected final AtomicLong max;
+	
+	public LogHistogram() {
+		this(DEFAULT_PRECISION, DEFAULT_HIGHEST_TRACKABLE_VALUE);
+	}
+	
+	/**
+	 * @param precision number of sub-bucket bits (1-10)
+	 * @param highestTrackableValue at most 2^62
+	 */
+	public LogHistogram(int precision, long highestTrackableValue) {
+		super();
+		
+		if (precision<1 || precision>10)
+			throw new IllegalArgumentException("precision");
+		if (highestTrackableValue<1 || highestTrackableValue>1L<<62)
+			throw new IllegalArgumentException("highestTrackableValue");
+		
+		this.precision = precision;
+		subBuckets = 1<<precision;
+		this.highestTrackableValue = highestTrackableValue;
+		
+		counts = new AtomicLongArray(index(highestTrackableValue)+1);
+		total = new AtomicLong(0);
+		max = new AtomicLong(0);
+	}
+	
+	protected int index(long value) {
+		if (value<subBuckets)
+			return (int)value;
+		
+		int exponent = 63-Long.numberOfLeadingZeros(value);
+		return ((exponent-precision+1)<<precision) + (int)((value>>>(exponent-precision)) & (subBuckets-1));
+	}
+	
+	protected long lowestValue(int index) {
+		if (index<subBuckets)
+			return index;
+		
+		int exponent = (index>>>precision) + precision - 1;
+		return (1L<<exponent) | ((long)(index & (subBuckets-1))<<(exponent-precision));
+	}
+	
+	protected long highestValue(int index) {
+		return lowestValue(index+1)-1;
+	}
+	
+	public void record(long value) {
+		if (value<0)
+			value = 0;
+		else if (value>highestTrackableValue)
+			value = highestTrackableValue;
+		
+		counts.incrementAndGet(index(value));
+		total.addAndGet(value);
+		if (value>max.get())
+			max.accumulateAndGet(value, Math::max);
+	}
+	
+	public long getCount() {
+		long result = 0;
+		for (int i=0; i<counts.length(); i++)
+			result += counts.get(i);
+		
+		return result;
+	}
+	
+	public long getTotal() {
+		return total.get();
+	}
+	
+	public long getMax() {
+		return max.get();
+	}
+	
+	public double getMean() {
+		long count = getCount();
+		
+		return count>0 ? total.get()/(double)count : 0;
+	}
+	
+	/**
+	 * @param percentile between 0 and 100
+	 * @return the highest value, that is equivalent to the value at the percentile (limited by the maximum)
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long count = getCount();
+		if (count==0)
+			return 0;
+		
+		long rank = Math.max(1, (long)Math.ceil(Math.min(percentile, 100)/100*count));
+		long sum = 0;
+		for (int i=0; i<counts.length(); i++) {
+			sum += counts.get(i);
+			if (sum>=rank)
+				return Math.min(highestValue(i), max.get());
+		}
+		
+		return max.get();
+	}
+	
+	public void add(LogHistogram other) {
+		if (other.precision!=precision || other.highestTrackableValue!=highestTrackableValue)
+			throw new IllegalArgumentException("other");
+		
+		for (int i=0; i<counts.length(); i++) {
+			long count = other.counts.get(i);
+			if (count>0)
+				counts.addAndGet(i, count);
+		}
+		total.addAndGet(other.total.get());
+		max.accumulateAndGet(other.max.get(), Math::max);
+	}
+	
+	public LogHistogram copy() {
+		LogHistogram result = new LogHistogram(precision, highestTrackableValue);
+		result.add(this);
+		
+		return result;
+	}
+	
+	/**
+	 * @return the recorded values since the last reset (interval histogram), this histogram is reset
+	 */
+	public LogHistogram getAndReset() {
+		LogHistogram result = new LogHistogram(precision, highestTrackableValue);
+		for (int i=0; i<counts.length(); i++)
+			result.counts.set(i, counts.getAndSet(i, 0));
+		result.total.set(total.getAndSet(0));
+		result.max.set(max.getAndSet(0));
+		
+		return result;
+	}
+	
+	public void reset() {
+		for (int i=0; i<counts.length(); i++)
+			counts.set(i, 0);
+		total.set(0);
+		max.set(0);
+	}
+	
+	public int getPrecision() {
+		return precision;
+	}
+	
+	public long getHighestTrackableValue() {
+		return highestTrackableValue;
+	}
+}
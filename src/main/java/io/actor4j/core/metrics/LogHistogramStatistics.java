@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+/**
+ * Descriptive statistics of a LogHistogram (snapshot). The minimum and the
+ * variance are derived from the buckets, so they have the relative error of
+ * the histogram.
+ */
+public class LogHistogramStatistics {
+	protected final long n;
+	protected final long sum;
+	protected final long min;
+	protected final long max;
+	protected final double mean;
+	protected final double variance;
+	
+	protected LogHistogramStatistics(long n, long sum, long min, long max, double mean, double variance) {
+		super();
+		
+		this.n = n;
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+		this.mean = mean;
+		this.variance = variance;
+	}
+	
+	public static LogHistogramStatistics of(LogHistogram histogram) {
+		long n = histogram.getCount();
+		if (n==0)
+			return new LogHistogramStatistics(0, 0, 0, 0, Double.NaN, Double.NaN);
+		
+		long sum = histogram.getTotal();
+		long max = histogram.getMax();
+		double mean = sum/(double)n;
+		
+		long min = -1;
+		double squares = 0;
+		for (int i=0; i<histogram.counts.length(); i++) {
+			long count = histogram.counts.get(i);
+			if (count>0) {
+				if (min<0)
+					min = histogram.lowestValue(i);
+				double deviation = (histogram.lowestValue(i)+Math.min(histogram.highestValue(i), max))/2.0 - mean;
+				squares += count*deviation*deviation;
+			}
+		}
+		
+		return new LogHistogramStatistics(n, sum, Math.max(min, 0), max, mean, n>1 ? squares/(n-1) : 0);
+	}
+	
+	public long getN() {
+		return n;
+	}
+	
+	public long getSum() {
+		return sum;
+	}
+	
+	public long getMin() {
+		return min;
+	}
+	
+	public long getMax() {
+		return max;
+	}
+	
+	public double getMean() {
+		return mean;
+	}
+	
+	/**
+	 * @return the sample variance (bias-corrected)
+	 */
+	public double getVariance() {
+		return variance;
+	}
+	
+	public double getStandardDeviation() {
+		return Math.sqrt(variance);
+	}
+	
+	@Override
+	public String toString() {
+		return "LogHistogramStatistics [n=" + n + ", sum=" + sum + ", min=" + min + ", max=" + max + ", mean=" + mean
+				+ ", variance=" + variance + "]";
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.metrics;
+
+import java.util.List;
+
+/**
+ * Prometheus text exposition format (version 0.0.4).
+ */
+public final class PrometheusTextFormat {
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	
+	private PrometheusTextFormat() {
+	}
+	
+	public static String write(List<ActorMetric> metrics) {
+		StringBuilder builder = new StringBuilder();
+		
+		String family = null;
+		for (ActorMetric metric : metrics) {
+			if (!metric.getName().equals(family)) {
+				family = metric.getName();
+				if (metric.getHelp()!=null)
+					builder.append("# HELP ").append(family).append(' ').append(escape(metric.getHelp(), false)).append('\n');
+				builder.append("# TYPE ").append(family).append(' ').append(metric.getType().name().toLowerCase()).append('\n');
+			}
+			
+			if (metric instanceof ActorSummary) {
+				ActorSummary summary = (ActorSummary)metric;
+				for (double quantile : ActorSummary.QUANTILES)
+					sample(builder, family, metric.getLabels(), "quantile", Double.toString(quantile), summary.getQuantile(quantile));
+				sample(builder, family+"_sum", metric.getLabels(), null, null, summary.getSum());
+				sample(builder, family+"_count", metric.getLabels(), null, null, summary.getCount());
+			}
+			else
+				sample(builder, family, metric.getLabels(), null, null, metric.getValue());
+		}
+		
+		return builder.toString();
+	}
+	
+	protected static void sample(StringBuilder builder, String name, String[] labels, String extraLabel, String extraValue, double value) {
+		builder.append(name);
+		if (labels.length>0 || extraLabel!=null) {
+			builder.append('{');
+			for (int i=0; i<labels.length; i+=2) {
+				if (i>0)
+					builder.append(',');
+				builder.append(labels[i]).append("=\"").append(escape(labels[i+1], true)).append('"');
+			}
+			if (extraLabel!=null) {
+				if (labels.length>0)
+					builder.append(',');
+				builder.append(extraLabel).append("=\"").append(extraValue).append('"');
+			}
+			builder.append('}');
+		}
+		builder.append(' ').append(format(value)).append('\n');
+	}
+	
+	protected static String format(double value) {
+		if (Double.isNaN(value))
+			return "NaN";
+		else if (Double.isInfinite(value))
+			return value>0 ? "+Inf" : "-Inf";
+		else if (value==Math.rint(value) && Math.abs(value)<1e15)
+			return Long.toString((long)value);
+		else
+			return Double.toString(value);
+	}
+	
+	protected static String escape(String value, boolean quotes) {
+		StringBuilder result = new StringBuilder(value.length());
+		for (int i=0; i<value.length(); i++) {
+			char c = value.charAt(i);
+			if (c=='\\')
+				result.append("\\\\");
+			else if (c=='\n')
+				result.append("\\n");
+			else if (c=='"' && quotes)
+				result.append("\\\"");
+			else
+				result.append(c);
+		}
+		
+		return result.toString();
+	}
+}
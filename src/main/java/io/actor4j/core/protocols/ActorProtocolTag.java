@@ -28,4 +28,9 @@ public final class ActorProtocolTag {
 	
 	public static final int INTERNAL_ACTIVATE            = -9;
 	public static final int INTERNAL_DEACTIVATE          = -10;
+	
+	public static final int INTERNAL_HANDOVER            = -11;
+	public static final int INTERNAL_HANDOVER_MARKER     = -12;
+	
+	public static final int INTERNAL_PRE_START           = -13;
 }
@@ -26,12 +26,15 @@ import java.util.UUID;
 import java.util.function.Consumer;
 
 import io.actor4j.core.ActorCell;
+import io.actor4j.core.jfr.ActorEventSink;
 import io.actor4j.core.actors.Actor;
 import io.actor4j.core.exceptions.ActorInitializationException;
 import io.actor4j.core.messages.ActorMessage;
 
 public class RestartProtocol {
 	protected final ActorCell cell;
+	protected Object event; // see ActorEventSink::beginLifecycle
+	protected int children;
 
 	public RestartProtocol(ActorCell cell) {
 		this.cell = cell;
@@ -41,6 +44,13 @@ public class RestartProtocol {
 		cell.postStop();
 		cell.internal_stop();
 		systemLogger().info(String.format("[LIFECYCLE] actor (%s) stopped", actorLabel(cell.getActor())));
+		endLifecycle("stop");
+	}
+	
+	protected void endLifecycle(String protocol) {
+		ActorEventSink eventSink = cell.getSystem().getEventSink();
+		if (eventSink!=null)
+			eventSink.endLifecycle(event, cell.getId(), cell.getActor().getName(), protocol, children);
 	}
 	
 	protected void postRestart(Exception reason) {
@@ -54,9 +64,15 @@ public class RestartProtocol {
 		} catch (Exception e) {
 			throw new ActorInitializationException(); // never must occur
 		}
+		endLifecycle("restart");
 	}
 	
 	public void apply(final Exception reason) {
+		ActorEventSink eventSink = cell.getSystem().getEventSink();
+		if (eventSink!=null)
+			event = eventSink.beginLifecycle();
+		children = cell.getChildren().size();
+		
 		final List<UUID> waitForChildren =new ArrayList<>(cell.getChildren().size());
 		
 		Iterator<UUID> iterator = cell.getChildren().iterator();
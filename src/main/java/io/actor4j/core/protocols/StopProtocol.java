@@ -26,10 +26,13 @@ import java.util.UUID;
 import java.util.function.Consumer;
 
 import io.actor4j.core.ActorCell;
+import io.actor4j.core.jfr.ActorEventSink;
 import io.actor4j.core.messages.ActorMessage;
 
 public class StopProtocol {
 	protected final ActorCell cell;
+	protected Object event; // see ActorEventSink::beginLifecycle
+	protected int children;
 
 	public StopProtocol(ActorCell cell) {
 		this.cell = cell;
@@ -39,9 +42,21 @@ public class StopProtocol {
 		cell.postStop();
 		cell.internal_stop();
 		systemLogger().info(String.format("[LIFECYCLE] actor (%s) stopped", actorLabel(cell.getActor())));
+		endLifecycle();
+	}
+	
+	protected void endLifecycle() {
+		ActorEventSink eventSink = cell.getSystem().getEventSink();
+		if (eventSink!=null)
+			eventSink.endLifecycle(event, cell.getId(), cell.getActor().getName(), "stop", children);
 	}
 	
 	public void apply() {
+		ActorEventSink eventSink = cell.getSystem().getEventSink();
+		if (eventSink!=null)
+			event = eventSink.beginLifecycle();
+		children = cell.getChildren().size();
+		
 		final List<UUID> waitForChildren =new ArrayList<>(cell.getChildren().size());
 		
 		Iterator<UUID> iterator = cell.getChildren().iterator();
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.routing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.actor4j.core.ActorSystemImpl;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Members of an alias. The members are held in an immutable snapshot, that is
+ * replaced when the membership changes, so senders read it without copying.
+ */
+public class ActorAlias {
+	protected static final UUID[] EMPTY = new UUID[0];
+	
+	protected volatile UUID[] members;
+	protected volatile ActorRouter router; // null, if the router of the system is used
+	protected final LongAdder routed; // striped, the alias is shared by all senders
+	
+	public ActorAlias() {
+		super();
+		
+		members = EMPTY;
+		routed = new LongAdder();
+	}
+	
+	public synchronized void add(UUID id) {
+		UUID[] result = Arrays.copyOf(members, members.length+1);
+		result[members.length] = id;
+		members = result;
+	}
+	
+	public synchronized boolean remove(UUID id) {
+		UUID[] current = members;
+		for (int i=0; i<current.length; i++)
+			if (current[i].equals(id)) {
+				UUID[] result = new UUID[current.length-1];
+				System.arraycopy(current, 0, result, 0, i);
+				System.arraycopy(current, i+1, result, i, result.length-i);
+				members = result;
+				
+				return true;
+			}
+		
+		return false;
+	}
+	
+	public UUID[] getMembers() {
+		return members;
+	}
+	
+	public List<UUID> getMembersAsList() {
+		return Collections.unmodifiableList(Arrays.asList(members));
+	}
+	
+	public boolean isEmpty() {
+		return members.length==0;
+	}
+	
+	public int size() {
+		return members.length;
+	}
+	
+	public ActorRouter getRouter() {
+		return router;
+	}
+	
+	public void setRouter(ActorRouter router) {
+		this.router = router;
+	}
+	
+	/**
+	 * @return the number of messages routed via the alias
+	 */
+	public long getRouted() {
+		return routed.sum();
+	}
+	
+	/**
+	 * @return the destination, or null if the alias has no members
+	 */
+	public UUID route(ActorSystemImpl system, ActorRouter defaultRouter, ActorMessage<?> message) {
+		UUID[] current = members;
+		routed.increment();
+		
+		if (current.length==0)
+			return null;
+		else if (current.length==1)
+			return current[0];
+		else
+			return (router!=null ? router : defaultRouter).route(system, current, message);
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.routing;
+
+import java.util.UUID;
+
+import io.actor4j.core.ActorSystemImpl;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Selects the destination of a message, that is sent via an alias
+ * (see ActorSystemImpl::setAliasRouter).
+ */
+public interface ActorRouter {
+	/**
+	 * @param members snapshot of the alias with at least two actors, must not be modified
+	 */
+	public UUID route(ActorSystemImpl system, UUID[] members, ActorMessage<?> message);
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.routing;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Function;
+
+import io.actor4j.core.ActorSystemImpl;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Messages with the same key are routed to the same member. If the membership
+ * changes, only the keys of the added or removed members are remapped. Each
+ * alias needs its own instance.
+ */
+public class ConsistentHashRouter implements ActorRouter {
+	public static final int DEFAULT_VIRTUAL_NODES = 64;
+	
+	protected static class Ring {
+		protected final UUID[] members; // snapshot, the ring was built for
+		protected final long[] points;  // sorted
+		protected final UUID[] owners;
+		
+		public Ring(UUID[] members, int virtualNodes) {
+			this.members = members;
+			
+			long[] entries = new long[members.length*virtualNodes];
+			Integer[] order = new Integer[entries.length];
+			for (int i=0; i<entries.length; i++) {
+				UUID id = members[i/virtualNodes];
+				entries[i] = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits() + i%virtualNodes));
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Long.compare(entries[a], entries[b]));
+			
+			points = new long[entries.length];
+			owners = new UUID[entries.length];
+			for (int i=0; i<entries.length; i++) {
+				points[i] = entries[order[i]];
+				owners[i] = members[order[i]/virtualNodes];
+			}
+		}
+		
+		public UUID get(long hash) {
+			int index = Arrays.binarySearch(points, hash);
+			if (index<0)
+				index = -index-1;
+			
+			return owners[index<points.length ? index : 0];
+		}
+	}
+	
+	protected final Function<ActorMessage<?>, Object> key;
+	protected final int virtualNodes;
+	protected volatile Ring ring;
+	
+	public ConsistentHashRouter(Function<ActorMessage<?>, Object> key) {
+		this(key, DEFAULT_VIRTUAL_NODES);
+	}
+	
+	public ConsistentHashRouter(Function<ActorMessage<?>, Object> key, int virtualNodes) {
+		super();
+		
+		this.key = key;
+		this.virtualNodes = virtualNodes;
+	}
+	
+	/*
+	 * see MurmurHash3 (fmix64)
+	 */
+	protected static long mix(long h) {
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		
+		return h;
+	}
+	
+	@Override
+	public UUID route(ActorSystemImpl system, UUID[] members, ActorMessage<?> message) {
+		Ring current = ring;
+		if (current==null || current.members!=members)
+			ring = current = new Ring(members, virtualNodes); // rebuilt, when the snapshot was replaced
+		
+		Object value = key.apply(message);
+		
+		return current.get(mix(value!=null ? value.hashCode() : 0));
+	}
+}
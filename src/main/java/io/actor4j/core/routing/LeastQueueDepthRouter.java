@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.routing;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.actor4j.core.ActorExecuterService;
+import io.actor4j.core.ActorHandle;
+import io.actor4j.core.ActorMailbox;
+import io.actor4j.core.ActorSystemImpl;
+import io.actor4j.core.WorkStealingActorProcessPool;
+import io.actor4j.core.messages.ActorMessage;
+
+/**
+ * Prefers the member with the least pending messages: the pending messages of
+ * its mailbox quota, if any, otherwise the outer queue of its actor thread
+ * (or its mailbox, if work-stealing).
+ * Small aliases are scanned completely, for larger aliases the less loaded of
+ * two random members is chosen.
+ */
+public class LeastQueueDepthRouter implements ActorRouter {
+	public static final int SCAN_LIMIT = 8;
+	
+	@Override
+	public UUID route(ActorSystemImpl system, UUID[] members, ActorMessage<?> message) {
+		UUID result = null;
+		
+		if (members.length<=SCAN_LIMIT) {
+			int min = Integer.MAX_VALUE;
+			for (UUID id : members) {
+				int depth = depth(system, id);
+				if (depth<min) {
+					min = depth;
+					result = id;
+				}
+			}
+		}
+		else {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			UUID first = members[random.nextInt(members.length)];
+			UUID second = members[random.nextInt(members.length)];
+			result = depth(system, first)<=depth(system, second) ? first : second;
+		}
+		
+		return result;
+	}
+	
+	protected int depth(ActorSystemImpl system, UUID id) {
+		ActorExecuterService executerService = system.getExecuterService();
+		
+		if (executerService.getActorThreadPool()!=null) {
+			ActorHandle handle = executerService.getActorThreadPool().getActorThreadPoolHandler().getHandle(id);
+			if (handle!=null)
+				return handle.getQuota()!=null ? handle.getQuota().getPending() : handle.getThread().getOuterQueue().size();
+		}
+		else if (executerService.getActorProcessPool() instanceof WorkStealingActorProcessPool) {
+			ActorMailbox mailbox = ((WorkStealingActorProcessPool)executerService.getActorProcessPool()).getMailbox(id);
+			if (mailbox!=null)
+				return mailbox.size();
+		}
+		
+		return Integer.MAX_VALUE-1;
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("io.actor4j.Handler")
+@Label("Message Handler")
+@Description("Actor::receive, that took longer than the threshold")
+@Category({"actor4j", "Handler"})
+@Threshold("1 ms")
+@StackTrace(false)
+class HandlerEvent extends Event {
+	@Label("Actor")
+	String actor;
+	
+	@Label("Actor Name")
+	String name;
+	
+	@Label("Tag")
+	int tag;
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.jfr;
+
+import java.util.UUID;
+
+/**
+ * Emits the events of the actor system as Java Flight Recorder events (Java 11+).
+ * Disabled events are neither started nor committed, so their cost is limited to
+ * the allocation of the event, that the JIT usually eliminates.
+ */
+public class JfrActorEventSink implements ActorEventSink {
+	@Override
+	public void dispatch(int tag, UUID source, UUID dest, String thread) {
+		DispatchEvent event = new DispatchEvent();
+		if (event.isEnabled()) {
+			event.tag = tag;
+			event.source = source!=null ? source.toString() : null;
+			event.dest = dest!=null ? dest.toString() : null;
+			event.thread = thread;
+			event.commit();
+		}
+	}
+	
+	@Override
+	public Object beginHandler() {
+		return begin(new HandlerEvent());
+	}
+	
+	@Override
+	public void endHandler(Object event, UUID actor, String name, int tag) {
+		if (event!=null) {
+			HandlerEvent e = (HandlerEvent)event;
+			e.end();
+			if (e.shouldCommit()) {
+				e.actor = actor.toString();
+				e.name = name;
+				e.tag = tag;
+				e.commit();
+			}
+		}
+	}
+	
+	@Override
+	public Object beginPark() {
+		return begin(new ParkEvent());
+	}
+	
+	@Override
+	public void endPark(Object event, long timeout) {
+		if (event!=null) {
+			ParkEvent e = (ParkEvent)event;
+			e.end();
+			if (e.shouldCommit()) {
+				e.timeout = timeout;
+				e.commit();
+			}
+		}
+	}
+	
+	@Override
+	public void unpark(String thread) {
+		UnparkEvent event = new UnparkEvent();
+		if (event.isEnabled()) {
+			event.thread = thread;
+			event.commit();
+		}
+	}
+	
+	@Override
+	public Object beginLifecycle() {
+		return begin(new LifecycleEvent());
+	}
+	
+	@Override
+	public void endLifecycle(Object event, UUID actor, String name, String protocol, int children) {
+		if (event!=null) {
+			LifecycleEvent e = (LifecycleEvent)event;
+			e.end();
+			if (e.shouldCommit()) {
+				e.actor = actor.toString();
+				e.name = name;
+				e.protocol = protocol;
+				e.children = children;
+				e.commit();
+			}
+		}
+	}
+	
+	@Override
+	public Object beginPersistence() {
+		return begin(new PersistenceEvent());
+	}
+	
+	@Override
+	public void endPersistence(Object event, UUID actor, int objects, boolean success) {
+		if (event!=null) {
+			PersistenceEvent e = (PersistenceEvent)event;
+			e.end();
+			if (e.shouldCommit()) {
+				e.actor = actor.toString();
+				e.objects = objects;
+				e.success = success;
+				e.commit();
+			}
+		}
+	}
+	
+	protected static Object begin(jdk.jfr.Event event) {
+		if (event.isEnabled()) {
+			event.begin();
+			
+			return event;
+		}
+		else
+			return null;
+	}
+}
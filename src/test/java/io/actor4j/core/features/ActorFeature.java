@@ -15,8 +15,12 @@
  */
 package io.actor4j.core.features;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
@@ -25,6 +29,7 @@ import org.junit.Test;
 import io.actor4j.core.ActorSystem;
 import io.actor4j.core.actors.Actor;
 import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.utils.Copyable;
 
 import static org.junit.Assert.*;
 
@@ -171,4 +176,209 @@ public class ActorFeature {
 		}, null);
 		system.shutdownWithActors(true);
 	}
+	
+	@Test(timeout=5000)
+	public void test_addRedirection_removeRedirection() {
+		CountDownLatch testDone = new CountDownLatch(2);
+		AtomicReference<String> received = new AtomicReference<>("");
+		
+		UUID actorA = system.addActor(() -> new Actor("actorA") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				received.updateAndGet((s) -> s+"A");
+				testDone.countDown();
+			}
+		});
+		UUID actorB = system.addActor(() -> new Actor("actorB") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				received.updateAndGet((s) -> s+"B");
+				testDone.countDown();
+				
+				system.removeRedirection(actorA);
+				system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, actorA));
+			}
+		});
+		
+		system.start();
+		
+		system.addRedirection(actorA, actorB);
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, actorA));
+		try {
+			testDone.await();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		assertEquals("BA", received.get());
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_redirection_without_actor() {
+		CountDownLatch testDone = new CountDownLatch(3);
+		AtomicInteger received = new AtomicInteger(0);
+		
+		UUID actorB = system.addActor(() -> new Actor("actorB") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				received.incrementAndGet();
+				testDone.countDown();
+			}
+		});
+		UUID virtual = UUID.randomUUID(); // e.g. embedded actor
+		
+		system.start();
+		
+		system.addRedirection(virtual, actorB);
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, virtual));
+		system.underlyingImpl().getMessageDispatcher().postOuter(new ActorMessage<>(null, 0, system.SYSTEM_ID, virtual));
+		system.underlyingImpl().getMessageDispatcher().postPriority(new ActorMessage<>(null, 0, system.SYSTEM_ID, virtual));
+		try {
+			testDone.await();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		system.removeRedirection(virtual);
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, virtual));
+		try {
+			Thread.sleep(50);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		assertEquals(3, received.get());
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_send_collection_sendAll() {
+		final int COUNT = 1_000;
+		CountDownLatch testDone = new CountDownLatch(3*(COUNT+1));
+		AtomicInteger failed = new AtomicInteger(0);
+		
+		List<UUID> receivers = new ArrayList<>();
+		for (int i=0; i<3; i++)
+			receivers.add(system.addActor(() -> new Actor() {
+				protected int expected;
+				
+				@Override
+				public void receive(ActorMessage<?> message) {
+					if (message.tag==0) {
+						if ((int)message.value!=expected)
+							failed.incrementAndGet();
+						expected++;
+					}
+					testDone.countDown();
+				}
+			}));
+		UUID sender = system.addActor(() -> new Actor("sender") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				sendAll(new ActorMessage<>(null, 1, self(), null), receivers);
+			}
+		});
+		
+		system.start();
+		
+		List<ActorMessage<?>> messages = new ArrayList<>();
+		for (int i=0; i<COUNT; i++)
+			for (UUID receiver : receivers)
+				messages.add(new ActorMessage<>(i, 0, system.SYSTEM_ID, receiver));
+		system.send(messages);
+		system.send(Arrays.asList(new ActorMessage<>(null, 0, system.SYSTEM_ID, sender)));
+		try {
+			testDone.await();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		assertEquals(0, failed.get());
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_trustedImmutableMode() {
+		CountDownLatch testDone = new CountDownLatch(2);
+		List<ActorMessage<?>> received = new ArrayList<>();
+		
+		class Value implements Copyable<Value> {
+			@Override
+			public Value copy() {
+				return new Value();
+			}
+		}
+		
+		system.trustedImmutableMode();
+		UUID dest = system.addActor(() -> new Actor("dest") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				received.add(message);
+				testDone.countDown();
+			}
+		});
+		
+		system.start();
+		
+		ActorMessage<String> shared = new ActorMessage<>("immutable", 0, system.SYSTEM_ID, dest);
+		ActorMessage<Value> copied = new ActorMessage<>(new Value(), 0, system.SYSTEM_ID, dest);
+		system.send(shared);
+		system.send(copied);
+		try {
+			testDone.await();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		assertNotSame(shared, received.get(0));
+		assertSame(shared.value, received.get(0).value);
+		assertNotSame(copied, received.get(1));
+		assertNotSame(copied.value, received.get(1).value);
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_trustedImmutableMode_resend() {
+		CountDownLatch testDone = new CountDownLatch(2);
+		AtomicInteger failed = new AtomicInteger();
+		AtomicInteger receivedA = new AtomicInteger();
+		AtomicInteger receivedB = new AtomicInteger();
+		
+		system.trustedImmutableMode();
+		UUID a = system.addActor(() -> new Actor("a") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (!self().equals(message.dest))
+					failed.incrementAndGet();
+				receivedA.incrementAndGet();
+				testDone.countDown();
+			}
+		});
+		UUID b = system.addActor(() -> new Actor("b") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (!self().equals(message.dest))
+					failed.incrementAndGet();
+				receivedB.incrementAndGet();
+				testDone.countDown();
+			}
+		});
+		
+		system.start();
+		
+		ActorMessage<String> shared = new ActorMessage<>("immutable", 0, system.SYSTEM_ID, a);
+		system.send(shared);
+		shared.dest = b; // the same envelope is sent again
+		system.send(shared);
+		try {
+			testDone.await();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		assertEquals(0, failed.get());
+		assertEquals(1, receivedA.get());
+		assertEquals(1, receivedB.get());
+		
+		system.shutdownWithActors(true);
+	}
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.routing.ConsistentHashRouter;
+import io.actor4j.core.routing.LeastQueueDepthRouter;
+import io.actor4j.core.routing.RoundRobinRouter;
+
+import static org.junit.Assert.*;
+
+public class AliasRoutingFeature {
+	protected static final int INSTANCES = 8;
+	protected static final int COUNT = 800;
+	
+	protected ActorSystem system;
+	
+	@Before
+	public void before() {
+		system = new ActorSystem();
+	}
+	
+	protected List<UUID> addInstances(Map<UUID, AtomicInteger> received, Map<Integer, UUID> keys, CountDownLatch testDone) {
+		List<UUID> result = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				received.computeIfAbsent(self(), (id) -> new AtomicInteger()).incrementAndGet();
+				if (keys!=null) {
+					UUID previous = keys.putIfAbsent(message.tag, self());
+					assertTrue(previous==null || previous.equals(self()));
+				}
+				testDone.countDown();
+			}
+		}, INSTANCES);
+		system.setAlias(result, "instances");
+		
+		return result;
+	}
+	
+	@Test(timeout=5000)
+	public void test_round_robin() throws InterruptedException {
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		Map<UUID, AtomicInteger> received = new ConcurrentHashMap<>();
+		
+		addInstances(received, null, testDone);
+		system.setAliasRouter("instances", new RoundRobinRouter());
+		system.start();
+		
+		for (int i=0; i<COUNT; i++)
+			system.sendViaAlias(new ActorMessage<>(null, 0, system.SYSTEM_ID, null), "instances");
+		testDone.await();
+		system.shutdownWithActors(true);
+		
+		assertEquals(INSTANCES, received.size());
+		for (AtomicInteger value : received.values())
+			assertEquals(COUNT/INSTANCES, value.get());
+	}
+	
+	@Test(timeout=5000)
+	public void test_consistent_hash() throws InterruptedException {
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		Map<UUID, AtomicInteger> received = new ConcurrentHashMap<>();
+		Map<Integer, UUID> keys = new ConcurrentHashMap<>();
+		
+		addInstances(received, keys, testDone);
+		system.setAliasRouter("instances", new ConsistentHashRouter((message) -> message.tag));
+		system.start();
+		
+		for (int i=0; i<COUNT; i++)
+			system.sendViaAlias(new ActorMessage<>(null, i%50, system.SYSTEM_ID, null), "instances");
+		testDone.await();
+		system.shutdownWithActors(true);
+		
+		assertEquals(50, keys.size());
+		assertTrue(received.size()>1);
+	}
+	
+	@Test(timeout=5000)
+	public void test_least_queue_depth() throws InterruptedException {
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		Map<UUID, AtomicInteger> received = new ConcurrentHashMap<>();
+		
+		addInstances(received, null, testDone);
+		system.setAliasRouter(new LeastQueueDepthRouter());
+		system.start();
+		
+		for (int i=0; i<COUNT; i++)
+			system.sendViaAlias(new ActorMessage<>(null, 0, system.SYSTEM_ID, null), "instances");
+		testDone.await();
+		system.shutdownWithActors(true);
+		
+		assertEquals(COUNT, received.values().stream().mapToInt(AtomicInteger::get).sum());
+	}
+	
+	@Test
+	public void test_membership() {
+		List<UUID> instances = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+			}
+		}, 3);
+		system.setAlias(instances, "instances");
+		
+		List<UUID> snapshot = system.underlyingImpl().getActorsFromAlias("instances");
+		assertEquals(instances, snapshot);
+		system.setAlias(system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+			}
+		}), "instances");
+		assertEquals(3, snapshot.size());
+		assertEquals(4, system.underlyingImpl().getActorsFromAlias("instances").size());
+		assertEquals(instances.get(0), system.underlyingImpl().getActorFromAlias("instances"));
+	}
+}
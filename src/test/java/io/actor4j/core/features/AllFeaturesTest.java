@@ -45,6 +45,23 @@ import org.junit.runner.RunWith;
 	FuturePatternFeature.class,
 	OptionalFeature.class,
 	
+	RebalancingFeature.class,
+	EnvelopePoolFeature.class,
+	IdleStrategyFeature.class,
+	PriorityLaneQueueFeature.class,
+	MailboxQuotaFeature.class,
+	AliasRoutingFeature.class,
+	PlacementPolicyFeature.class,
+	SpawnActorsFeature.class,
+	LogHistogramFeature.class,
+	MetricsFeature.class,
+	MailboxLatencyFeature.class,
+	ProfilerFeature.class,
+	FlightRecorderFeature.class,
+	DeadLettersFeature.class,
+	FairActorQueueFeature.class,
+	DeadlineFeature.class,
+	
 	/*----------------------------*/
 	
 	XActorFeature.class,
@@ -58,6 +75,22 @@ import org.junit.runner.RunWith;
 	
 	XActorGroupMemberFeature.class,
 	
+	XRebalancingFeature.class,
+	XEnvelopePoolFeature.class,
+	XIdleStrategyFeature.class,
+	XMailboxQuotaFeature.class,
+	
+	/*----------------------------*/
+	
+	WorkStealingActorFeature.class,
+	WorkStealingAwaitFeature.class,
+	WorkStealingFailsafeFeature.class,
+	
+	WorkStealingPseudoActorFeature.class,
+	WorkStealingResourceActorFeature.class,
+	
+	VirtualThreadActorFeature.class,
+	
 	/*----------------------------*/
 	
 	PodFeature.class
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.DefaultActorSystemImpl;
+import io.actor4j.core.WorkStealingActorSystemImpl;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.deadletters.DeadLetter;
+import io.actor4j.core.deadletters.DeadLetterReason;
+import io.actor4j.core.deadletters.DeadLetters;
+import io.actor4j.core.deadletters.DeadLettersActor;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class DeadLettersFeature {
+	protected void await(DeadLetters deadLetters, DeadLetterReason reason, long count) throws InterruptedException {
+		while (deadLetters.getCount(reason)<count)
+			Thread.sleep(1);
+	}
+	
+	@Test(timeout=5000)
+	public void test_reasons() throws InterruptedException {
+		CountDownLatch testDone = new CountDownLatch(1);
+		
+		ActorSystem system = new ActorSystem();
+		UUID dest = system.addActor(() -> new Actor("dest") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		});
+		UUID sender = system.addActor(() -> new Actor("sender") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				tell(null, 0, "nobody");
+			}
+		});
+		system.start();
+		DeadLetters deadLetters = system.getDeadLetters();
+		
+		UUID unknown = UUID.randomUUID();
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, unknown));
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, unknown));
+		await(deadLetters, DeadLetterReason.UNKNOWN_DESTINATION, 2);
+		assertEquals(2, deadLetters.getCount(unknown));
+		
+		system.sendViaAlias(new ActorMessage<>(null, 0, system.SYSTEM_ID, null), "nobody");
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, sender));
+		await(deadLetters, DeadLetterReason.UNRESOLVED_ALIAS, 2);
+		
+		system.send(new ActorMessage<>(null, Actor.DEACTIVATE, system.SYSTEM_ID, dest));
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, dest));
+		await(deadLetters, DeadLetterReason.INACTIVE, 1);
+		system.send(new ActorMessage<>(null, Actor.ACTIVATE, system.SYSTEM_ID, dest));
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, dest));
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		assertEquals(2, deadLetters.getCount(DeadLetterReason.UNKNOWN_DESTINATION));
+		assertEquals(2, deadLetters.getCount(DeadLetterReason.UNRESOLVED_ALIAS));
+		assertEquals(1, deadLetters.getCount(DeadLetterReason.INACTIVE));
+		assertEquals(5, deadLetters.getCount());
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_unresolved_alias_as_server() throws InterruptedException {
+		ActorSystem system = new ActorSystem();
+		system.addActor(() -> new Actor("dest") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+			}
+		});
+		system.start();
+		DeadLetters deadLetters = system.getDeadLetters();
+		
+		assertFalse(system.underlyingImpl().sendViaAliasAsServer(new ActorMessage<>(null, 0, system.SYSTEM_ID, null), "nobody"));
+		assertEquals(1, deadLetters.getCount(DeadLetterReason.UNRESOLVED_ALIAS));
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_removed_mailbox() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		
+		ActorSystem system = new ActorSystem("ws-actor4j", WorkStealingActorSystemImpl.class);
+		system.setParallelismMin(1);
+		system.underlyingImpl().setThroughput(1);
+		UUID dest = system.addActor(() -> new Actor("dest") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==1) {
+					started.countDown();
+					try {
+						proceed.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		});
+		system.start();
+		DeadLetters deadLetters = system.getDeadLetters();
+		
+		system.send(new ActorMessage<>(null, 1, system.SYSTEM_ID, dest));
+		started.await();
+		system.send(new ActorMessage<>(null, 2, system.SYSTEM_ID, dest)); // queued, but never processed
+		system.underlyingImpl().sendAsDirective(new ActorMessage<>(null, Actor.STOP, system.SYSTEM_ID, dest));
+		proceed.countDown();
+		await(deadLetters, DeadLetterReason.UNKNOWN_DESTINATION, 1);
+		assertEquals(1, deadLetters.getCount(dest));
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_queue_overflow() throws InterruptedException {
+		final int QUEUE_SIZE = 16;
+		final int COUNT = 100;
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		AtomicInteger received = new AtomicInteger();
+		
+		ActorSystem system = new ActorSystem();
+		((DefaultActorSystemImpl)system.underlyingImpl()).setActorThreadClass(false); // bounded queues
+		system.underlyingImpl().setQueueSize(QUEUE_SIZE);
+		UUID dest = system.addActor(() -> new Actor("dest") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==0) {
+					started.countDown();
+					try {
+						proceed.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				received.incrementAndGet();
+			}
+		});
+		system.start();
+		DeadLetters deadLetters = system.getDeadLetters();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, dest));
+		started.await();
+		for (int i=1; i<=COUNT; i++)
+			system.send(new ActorMessage<>(null, 1, system.SYSTEM_ID, dest));
+		proceed.countDown();
+		await(deadLetters, DeadLetterReason.QUEUE_OVERFLOW, COUNT-QUEUE_SIZE);
+		while (received.get()<QUEUE_SIZE+1)
+			Thread.sleep(1);
+		
+		assertEquals(COUNT-QUEUE_SIZE, deadLetters.getCount(DeadLetterReason.QUEUE_OVERFLOW));
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_subscribe() throws InterruptedException {
+		CountDownLatch testDone = new CountDownLatch(1);
+		AtomicReference<DeadLetter> received = new AtomicReference<>();
+		
+		ActorSystem system = new ActorSystem();
+		system.getDeadLetters().setSampleRate(1);
+		UUID subscriber = system.addActor(() -> new Actor("subscriber") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==DeadLettersActor.DEAD_LETTER) {
+					received.set((DeadLetter)message.value);
+					testDone.countDown();
+				}
+			}
+		});
+		system.subscribeDeadLetters(subscriber);
+		system.start();
+		
+		UUID unknown = UUID.randomUUID();
+		while (testDone.getCount()>0) { // until the subscription is processed
+			system.send(new ActorMessage<>("lost", 42, system.SYSTEM_ID, unknown));
+			testDone.await(10, TimeUnit.MILLISECONDS);
+		}
+		
+		assertEquals(DeadLetterReason.UNKNOWN_DESTINATION, received.get().getReason());
+		assertEquals(unknown, received.get().getMessage().dest);
+		assertEquals(42, received.get().getMessage().tag);
+		assertEquals("lost", received.get().getMessage().value);
+		
+		system.shutdownWithActors(true);
+	}
+}
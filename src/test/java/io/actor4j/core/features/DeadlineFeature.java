@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.deadletters.DeadLetterReason;
+import io.actor4j.core.deadletters.DeadLetters;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class DeadlineFeature {
+	@Test(timeout=5000)
+	public void test_timeToLive() {
+		ActorMessage<String> message = new ActorMessage<>("test", 0, null, null);
+		assertFalse(message.hasDeadline());
+		assertFalse(message.isExpired(System.nanoTime()));
+		
+		message.timeToLive(1, TimeUnit.HOURS);
+		assertTrue(message.hasDeadline());
+		assertFalse(message.isExpired(System.nanoTime()));
+		assertTrue(message.isExpired(message.getDeadline()+1));
+		assertEquals(message.getDeadline(), message.copy().getDeadline());
+		assertEquals(message.getDeadline(), message.weakCopy(UUID.randomUUID()).getDeadline());
+	}
+	
+	@Test(timeout=5000)
+	public void test_expired() throws InterruptedException {
+		CountDownLatch testDone = new CountDownLatch(1);
+		List<Object> received = new ArrayList<>();
+		
+		ActorSystem system = new ActorSystem();
+		UUID dest = system.addActor(() -> new Actor("dest") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				received.add(message.value);
+				testDone.countDown();
+			}
+		});
+		system.start();
+		DeadLetters deadLetters = system.getDeadLetters();
+		
+		ActorMessage<String> expired = new ActorMessage<>("expired", 0, system.SYSTEM_ID, dest);
+		expired.setDeadline(System.nanoTime()-1);
+		system.send(expired);
+		system.send(new ActorMessage<>("valid", 0, system.SYSTEM_ID, dest).timeToLive(1, TimeUnit.MINUTES));
+		
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		system.shutdownWithActors(true);
+		
+		assertEquals("[valid]", received.toString());
+		assertEquals(1, deadLetters.getCount(DeadLetterReason.EXPIRED));
+	}
+	
+	@Test(timeout=5000)
+	public void test_deadlineMode() throws InterruptedException {
+		final int COUNT = 10;
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch gate = new CountDownLatch(1);
+		CountDownLatch testDone = new CountDownLatch(COUNT+1);
+		List<Object> received = new ArrayList<>();
+		
+		ActorSystem system = new ActorSystem();
+		system.setParallelismMin(1);
+		system.deadlineMode();
+		UUID dest = system.addActor(() -> new Actor("dest") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==1)
+					try {
+						started.countDown();
+						gate.await(); // the following messages are queued meanwhile
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				else
+					received.add(message.value);
+				testDone.countDown();
+			}
+		});
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 1, system.SYSTEM_ID, dest));
+		assertTrue(started.await(2, TimeUnit.SECONDS));
+		system.send(new ActorMessage<>(-1, 0, system.SYSTEM_ID, dest)); // without deadline
+		for (int i=0; i<COUNT; i++)
+			system.send(new ActorMessage<>(i, 0, system.SYSTEM_ID, dest).timeToLive(COUNT-i, TimeUnit.MINUTES));
+		gate.countDown();
+		
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		system.shutdownWithActors(true);
+		
+		assertTrue(received.remove((Object)(-1))); // served in the FIFO lane
+		assertEquals("[9, 8, 7, 6, 5, 4, 3, 2, 1, 0]", received.toString());
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class EnvelopePoolFeature {
+	protected ActorSystem system;
+	
+	@Before
+	public void before() {
+		system = new ActorSystem();
+	}
+	
+	@Test(timeout=5000)
+	public void test_envelopePoolMode_retain() {
+		final int COUNT = 10_000;
+		CountDownLatch testDone = new CountDownLatch(1);
+		AtomicBoolean failed = new AtomicBoolean(false);
+		AtomicReference<ActorMessage<?>> retained = new AtomicReference<>();
+		
+		system.setParallelismMin(1).envelopePoolMode();
+		
+		UUID receiver = system.addActor(() -> new Actor("receiver") {
+			protected int expected;
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (!message.isRecyclable() || (int)message.value!=expected)
+					failed.set(true);
+				if (expected==0)
+					retained.set(message.retain());
+				expected++;
+				if (expected==COUNT)
+					testDone.countDown();
+			}
+		});
+		UUID sender = system.addActor(() -> new Actor("sender") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				for (int i=0; i<COUNT; i++)
+					tell(i, 0, receiver);
+			}
+		});
+		
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, sender));
+		try {
+			testDone.await();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		assertFalse(failed.get());
+		assertEquals(0, retained.get().value);
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_envelopePoolMode_debug() {
+		CountDownLatch testDone = new CountDownLatch(1);
+		AtomicBoolean detected = new AtomicBoolean(false);
+		
+		system.envelopePoolMode(true);
+		
+		UUID receiver = system.addActor(() -> new Actor("receiver") {
+			protected ActorMessage<?> stale;
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (stale==null)
+					stale = message; // not retained
+				else {
+					try {
+						stale.getValue();
+					}
+					catch (IllegalStateException e) {
+						detected.set(stale.isReleased() && stale.value==null && stale.tag==ActorMessage.RELEASED_TAG && stale.dest==null);
+					}
+					testDone.countDown();
+				}
+			}
+		});
+		UUID sender = system.addActor(() -> new Actor("sender") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				tell(1, 0, receiver);
+				tell(2, 0, receiver);
+			}
+		});
+		
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, sender));
+		try {
+			testDone.await();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		assertTrue(detected.get());
+		
+		system.shutdownWithActors(true);
+	}
+}
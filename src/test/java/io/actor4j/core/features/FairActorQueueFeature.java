@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.FairActorQueue;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class FairActorQueueFeature {
+	@Test(timeout=5000)
+	public void test_order() {
+		UUID a = UUID.randomUUID();
+		UUID b = UUID.randomUUID();
+		FairActorQueue queue = new FairActorQueue(4);
+		
+		for (int i=0; i<10; i++)
+			queue.offer(new ActorMessage<>(i, 0, null, a));
+		queue.offer(new ActorMessage<>(0, 0, null, b));
+		queue.offer(new ActorMessage<>(1, 0, null, b));
+		assertEquals(12, queue.size());
+		assertEquals(2, queue.getActiveLanes());
+		
+		List<String> order = new ArrayList<>();
+		ActorMessage<?> message;
+		while ((message=queue.poll())!=null)
+			order.add((message.dest==a ? "a" : "b")+message.value);
+		
+		assertEquals("[a0, a1, a2, a3, b0, b1, a4, a5, a6, a7, a8, a9]", order.toString());
+		assertEquals(0, queue.size());
+		assertEquals(0, queue.getActiveLanes());
+	}
+	
+	@Test(timeout=5000)
+	public void test_iterator() {
+		UUID a = UUID.randomUUID();
+		UUID b = UUID.randomUUID();
+		FairActorQueue queue = new FairActorQueue(2);
+		
+		for (int i=0; i<3; i++) {
+			queue.offer(new ActorMessage<>(i, 0, null, a));
+			queue.offer(new ActorMessage<>(i, 0, null, b));
+		}
+		
+		Iterator<ActorMessage<?>> iterator = queue.iterator();
+		while (iterator.hasNext())
+			if (iterator.next().dest==a)
+				iterator.remove();
+		assertEquals(3, queue.size());
+		
+		ActorMessage<?> message;
+		int count = 0;
+		while ((message=queue.poll())!=null) {
+			assertEquals(b, message.dest);
+			assertEquals(count++, message.value);
+		}
+		assertEquals(3, count);
+		assertNull(queue.peek());
+	}
+	
+	protected int burst(boolean fairMode) throws InterruptedException {
+		final int COUNT = 1_000;
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch gate = new CountDownLatch(1);
+		CountDownLatch testDone = new CountDownLatch(1);
+		AtomicInteger received = new AtomicInteger(0);
+		AtomicInteger result = new AtomicInteger(-1);
+		
+		ActorSystem system = new ActorSystem();
+		system.setParallelismMin(1);
+		if (fairMode)
+			system.fairMode(16);
+		UUID a = system.addActor(() -> new Actor("a") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==1)
+					try {
+						started.countDown();
+						gate.await(); // the following messages are queued meanwhile
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				received.incrementAndGet();
+			}
+		});
+		UUID b = system.addActor(() -> new Actor("b") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				result.set(received.get());
+				testDone.countDown();
+			}
+		});
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 1, system.SYSTEM_ID, a));
+		assertTrue(started.await(2, TimeUnit.SECONDS));
+		for (int i=0; i<COUNT; i++)
+			system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, a));
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, b));
+		gate.countDown();
+		
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		system.shutdownWithActors(true);
+		
+		return result.get();
+	}
+	
+	@Test(timeout=10000)
+	public void test_fairMode() throws InterruptedException {
+		assertEquals(1_001, burst(false)); // FIFO, behind the burst
+		assertTrue(burst(true)<=2*16);
+	}
+}
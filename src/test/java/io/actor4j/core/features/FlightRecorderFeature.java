@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.jfr.ActorEventSink;
+import io.actor4j.core.jfr.ActorFlightRecorder;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+public class FlightRecorderFeature {
+	static class CountingEventSink implements ActorEventSink {
+		final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+		
+		void count(String event) {
+			counts.computeIfAbsent(event, (key) -> new AtomicInteger()).incrementAndGet();
+		}
+		
+		int get(String event) {
+			AtomicInteger result = counts.get(event);
+			return result!=null ? result.get() : 0;
+		}
+		
+		@Override
+		public void dispatch(int tag, UUID source, UUID dest, String thread) {
+			if (tag==42)
+				count("dispatch");
+		}
+		
+		@Override
+		public Object beginHandler() {
+			return "handler";
+		}
+		
+		@Override
+		public void endHandler(Object event, UUID actor, String name, int tag) {
+			if (tag==42 && "handler".equals(event) && "receiver".equals(name))
+				count("handler");
+		}
+		
+		@Override
+		public Object beginPark() {
+			count("beginPark");
+			return "park";
+		}
+		
+		@Override
+		public void endPark(Object event, long timeout) {
+			count("park");
+		}
+		
+		@Override
+		public void unpark(String thread) {
+			count("unpark");
+		}
+		
+		@Override
+		public Object beginLifecycle() {
+			return "lifecycle";
+		}
+		
+		@Override
+		public void endLifecycle(Object event, UUID actor, String name, String protocol, int children) {
+			if ("lifecycle".equals(event))
+				count(protocol);
+		}
+		
+		@Override
+		public Object beginPersistence() {
+			return null;
+		}
+		
+		@Override
+		public void endPersistence(Object event, UUID actor, int objects, boolean success) {
+			count("persistence");
+		}
+	}
+	
+	@Test(timeout=10000)
+	public void test_eventSink() throws InterruptedException {
+		final int COUNT = 100;
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		
+		CountingEventSink eventSink = new CountingEventSink();
+		ActorSystem system = new ActorSystem();
+		system.underlyingImpl().setEventSink(eventSink);
+		UUID dest = system.addActor(() -> new Actor("receiver") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		});
+		system.start();
+		
+		for (int i=0; i<COUNT; i++)
+			system.send(new ActorMessage<>(null, 42, system.SYSTEM_ID, dest));
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		while (eventSink.get("beginPark")==0)
+			Thread.sleep(10);
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, dest));
+		while (eventSink.get("park")==0)
+			Thread.sleep(10);
+		
+		system.shutdownWithActors(true);
+		
+		assertEquals(COUNT, eventSink.get("dispatch"));
+		assertEquals(COUNT, eventSink.get("handler"));
+		assertTrue(eventSink.get("unpark")>0);
+		assertTrue(eventSink.get("stop")>0);
+		assertEquals(0, eventSink.get("persistence"));
+	}
+	
+	@Test(timeout=10000)
+	public void test_eventSink_unknown_destination() throws InterruptedException {
+		CountDownLatch testDone = new CountDownLatch(1);
+		
+		CountingEventSink eventSink = new CountingEventSink();
+		ActorSystem system = new ActorSystem();
+		system.setParallelismMin(1);
+		system.setParallelismFactor(1);
+		system.underlyingImpl().setEventSink(eventSink);
+		UUID dest = system.addActor(() -> new Actor("sender") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.tag==0) {
+					tell(null, 42, UUID.randomUUID()); // unknown destination
+					tell(null, 1, self());
+				}
+				else
+					testDone.countDown();
+			}
+		});
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, dest));
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		system.shutdownWithActors(true);
+		
+		assertEquals(1, eventSink.get("dispatch"));
+	}
+	
+	@Test(timeout=10000)
+	public void test_flightRecorderMode() throws InterruptedException {
+		assumeTrue(ActorFlightRecorder.isSupported());
+		
+		CountDownLatch testDone = new CountDownLatch(1);
+		
+		ActorSystem system = new ActorSystem();
+		assertTrue(system.underlyingImpl().flightRecorderMode());
+		UUID dest = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		});
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, dest));
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		system.shutdownWithActors(true);
+	}
+}
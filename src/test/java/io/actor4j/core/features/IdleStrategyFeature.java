@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.ActorThread;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class IdleStrategyFeature {
+	protected ActorSystem system;
+	
+	@Before
+	public void before() {
+		system = new ActorSystem();
+	}
+	
+	@Test(timeout=10000)
+	public void test_parkMode_request_reply() {
+		final int COUNT = 20_000;
+		Semaphore replies = new Semaphore(0);
+		
+		system.parkMode();
+		UUID dest = system.addActor(() -> new Actor("dest") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				replies.release();
+			}
+		});
+		
+		system.start();
+		
+		for (int i=0; i<COUNT; i++) {
+			system.send(new ActorMessage<>(i, 0, system.SYSTEM_ID, dest));
+			replies.acquireUninterruptibly();
+		}
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=10000)
+	public void test_parkMode_fan_out() {
+		final int ACTORS = 8;
+		final int ROUNDS = 100;
+		CountDownLatch testDone = new CountDownLatch(1);
+		
+		system.setParallelismMin(3).parkMode();
+		UUID[] workers = new UUID[ACTORS];
+		UUID coordinator = system.addActor(() -> new Actor("coordinator") {
+			protected int round;
+			protected int replies;
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.source==system.SYSTEM_ID || ++replies==ACTORS) {
+					replies = 0;
+					if (round++<ROUNDS)
+						for (UUID worker : workers)
+							tell(round, 0, worker); // signaled once per thread, after receive
+					else
+						testDone.countDown();
+				}
+			}
+		});
+		for (int i=0; i<ACTORS; i++)
+			workers[i] = system.addActor(() -> new Actor() {
+				@Override
+				public void receive(ActorMessage<?> message) {
+					tell(message.value, 0, coordinator);
+				}
+			});
+		
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, coordinator));
+		try {
+			testDone.await();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=10000)
+	public void test_backoffMode() {
+		final int COUNT = 10_000;
+		CountDownLatch testDone = new CountDownLatch(1);
+		
+		system.setParallelismMin(2).backoffMode();
+		UUID pong = system.addActor(() -> new Actor("pong") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				tell(message.value, 0, message.source);
+			}
+		});
+		UUID ping = system.addActor(() -> new Actor("ping") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.value==null)
+					tell(0, 0, pong);
+				else if ((int)message.value<COUNT)
+					tell((int)message.value+1, 0, pong);
+				else
+					testDone.countDown();
+			}
+		});
+		
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, ping));
+		try {
+			testDone.await();
+			Thread.sleep(100);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		
+		long spins = 0;
+		long parks = 0;
+		for (ActorThread t : system.underlyingImpl().getExecuterService().getActorThreadPool().getActorThreadPoolHandler().getThreadsMap().values()) {
+			spins += t.getIdleStrategy().getSpins();
+			parks += t.getIdleStrategy().getParks();
+		}
+		assertTrue(spins>0);
+		assertTrue(parks>0);
+		
+		system.shutdownWithActors(true);
+	}
+}
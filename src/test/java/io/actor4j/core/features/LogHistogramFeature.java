@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.actor4j.core.ActorCell;
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.ActorThread;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.metrics.LogHistogram;
+import io.actor4j.core.metrics.LogHistogramStatistics;
+
+import static org.junit.Assert.*;
+
+public class LogHistogramFeature {
+	@Test
+	public void test_percentiles() {
+		LogHistogram histogram = new LogHistogram();
+		for (long i=1; i<=100_000; i++)
+			histogram.record(i*1_000);
+		
+		assertEquals(100_000, histogram.getCount());
+		assertEquals(100_000_000, histogram.getMax());
+		assertEquals(50_000_500, histogram.getMean(), 1);
+		double error = 1.0/(1<<histogram.getPrecision());
+		for (double percentile : new double[] { 1, 50, 90, 99, 99.9 }) {
+			double expected = percentile*1_000_000;
+			long value = histogram.getValueAtPercentile(percentile);
+			assertTrue(value>=expected);
+			assertTrue(value<=expected*(1+error));
+		}
+		assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+	}
+	
+	@Test
+	public void test_statistics() {
+		LogHistogram histogram = new LogHistogram();
+		for (long i=1; i<=100_000; i++)
+			histogram.record(i*1_000);
+		
+		LogHistogramStatistics statistics = LogHistogramStatistics.of(histogram);
+		assertEquals(100_000, statistics.getN());
+		assertEquals(histogram.getTotal(), statistics.getSum());
+		assertEquals(100_000_000, statistics.getMax());
+		assertEquals(50_000_500, statistics.getMean(), 1);
+		double error = 1.0/(1<<histogram.getPrecision());
+		assertTrue(statistics.getMin()<=1_000 && statistics.getMin()>=1_000*(1-error));
+		double expected = 99_999_000/Math.sqrt(12); // uniform distribution
+		assertEquals(expected, statistics.getStandardDeviation(), expected*error);
+		
+		assertEquals(0, LogHistogramStatistics.of(new LogHistogram()).getN());
+	}
+	
+	@Test
+	public void test_bounds() {
+		LogHistogram histogram = new LogHistogram(3, 1_000);
+		histogram.record(-1);
+		histogram.record(7);
+		histogram.record(1_000_000);
+		
+		assertEquals(3, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(10));
+		assertEquals(7, histogram.getValueAtPercentile(50));
+		assertEquals(1_000, histogram.getMax());
+	}
+	
+	@Test
+	public void test_reset() {
+		LogHistogram histogram = new LogHistogram();
+		for (int i=0; i<100; i++)
+			histogram.record(i);
+		
+		LogHistogram interval = histogram.getAndReset();
+		assertEquals(100, interval.getCount());
+		assertEquals(99, interval.getMax());
+		assertEquals(0, histogram.getCount());
+		
+		histogram.record(5);
+		histogram.add(interval);
+		assertEquals(101, histogram.getCount());
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(99));
+	}
+	
+	@Test(timeout=5000)
+	public void test_processingTimeMode() throws InterruptedException {
+		final int COUNT = 1_000;
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		
+		ActorSystem system = new ActorSystem();
+		system.processingTimeMode();
+		UUID dest = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		});
+		system.start();
+		
+		for (int i=0; i<COUNT; i++)
+			system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, dest));
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		ActorCell cell = system.underlyingImpl().getCells().get(dest);
+		ActorThread thread = system.underlyingImpl().getExecuterService().getActorThreadPool().getActorThreadPoolHandler().getHandle(dest).getThread();
+		while (cell.getProcessingTimeHistogram().getCount()<COUNT)
+			Thread.yield(); // the last message is recorded after receive
+		assertTrue(thread.getProcessingTimeHistogram().getCount()>=COUNT);
+		
+		system.underlyingImpl().resetProcessingTimeHistograms();
+		assertEquals(0, cell.getProcessingTimeHistogram().getCount());
+		
+		system.shutdownWithActors(true);
+	}
+}
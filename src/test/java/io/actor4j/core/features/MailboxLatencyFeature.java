@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.actor4j.core.ActorQueueKind;
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.ActorThread;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class MailboxLatencyFeature {
+	@Test(timeout=5000)
+	public void test_mailboxLatencyMode() throws InterruptedException {
+		final int COUNT = 1_000;
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		
+		ActorSystem system = new ActorSystem();
+		system.mailboxLatencyMode();
+		UUID dest = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				assertTrue(message.enqueueTime>0);
+				testDone.countDown();
+			}
+		});
+		system.setAlias(dest, "dest");
+		system.start();
+		
+		for (int i=0; i<COUNT; i++)
+			system.sendViaAlias(new ActorMessage<>(null, 0, system.SYSTEM_ID, null), "dest");
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		ActorThread thread = system.underlyingImpl().getExecuterService().getActorThreadPool().getActorThreadPoolHandler().getHandle(dest).getThread();
+		assertEquals(COUNT, thread.getMailboxLatencyHistogram(ActorQueueKind.OUTER).getCount());
+		assertEquals(0, thread.getMailboxLatencyHistogram(ActorQueueKind.INNER).getCount());
+		assertEquals(COUNT, system.underlyingImpl().getMailboxLatencyHistogram("dest").getCount());
+		assertTrue(system.underlyingImpl().getMailboxLatencyHistogram("dest").getMax()>0);
+		
+		system.underlyingImpl().resetMailboxLatencyHistograms();
+		assertEquals(0, thread.getMailboxLatencyHistogram(ActorQueueKind.OUTER).getCount());
+		assertEquals(0, system.underlyingImpl().getMailboxLatencyHistogram("dest").getCount());
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_disabled() throws InterruptedException {
+		CountDownLatch testDone = new CountDownLatch(1);
+		
+		ActorSystem system = new ActorSystem();
+		UUID dest = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				assertEquals(0, message.enqueueTime);
+				testDone.countDown();
+			}
+		});
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, dest));
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		ActorThread thread = system.underlyingImpl().getExecuterService().getActorThreadPool().getActorThreadPoolHandler().getHandle(dest).getThread();
+		assertNull(thread.getMailboxLatencyHistogram(ActorQueueKind.OUTER));
+		
+		system.shutdownWithActors(true);
+	}
+}
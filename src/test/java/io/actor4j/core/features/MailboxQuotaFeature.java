@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.actor4j.core.ActorMailboxQuota;
+import io.actor4j.core.ActorOverflowPolicy;
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.DefaultActorSystemImpl;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.deadletters.DeadLetterReason;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class MailboxQuotaFeature {
+	protected static final int CAPACITY = 10;
+	protected static final int COUNT = 100;
+	
+	protected ActorSystem system;
+	
+	@Before
+	public void before() {
+		system = new ActorSystem();
+	}
+	
+	/*
+	 * The actor blocks on the first message, while the following messages are sent.
+	 */
+	protected UUID addActor(ActorMailboxQuota quota, CountDownLatch started, CountDownLatch proceed, List<Integer> received, CountDownLatch testDone) {
+		return system.addActor(() -> new Actor("quota") {
+			@Override
+			public ActorMailboxQuota mailboxQuota() {
+				return quota;
+			}
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.valueAsInt()==0) {
+					started.countDown();
+					try {
+						proceed.await();
+					} catch (InterruptedException e) {
+						e.printStackTrace();
+					}
+				}
+				received.add(message.valueAsInt());
+				testDone.countDown();
+			}
+		});
+	}
+	
+	protected void sendAll(UUID dest, CountDownLatch started) throws InterruptedException {
+		system.send(new ActorMessage<>(0, 0, system.SYSTEM_ID, dest));
+		started.await();
+		for (int i=1; i<=COUNT; i++)
+			system.send(new ActorMessage<>(i, 0, system.SYSTEM_ID, dest));
+	}
+	
+	@Test(timeout=5000)
+	public void test_reject_new() throws InterruptedException {
+		ActorMailboxQuota quota = new ActorMailboxQuota(CAPACITY, ActorOverflowPolicy.REJECT_NEW);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		CountDownLatch testDone = new CountDownLatch(CAPACITY+1);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		
+		UUID dest = addActor(quota, started, proceed, received, testDone);
+		system.start();
+		sendAll(dest, started);
+		assertEquals(CAPACITY, quota.getPending());
+		proceed.countDown();
+		testDone.await();
+		system.shutdownWithActors(true);
+		
+		assertEquals(CAPACITY+1, received.size());
+		assertEquals(CAPACITY, (int)received.get(received.size()-1));
+		assertEquals(CAPACITY+1, quota.getAccepted());
+		assertEquals(COUNT-CAPACITY, quota.getRejected());
+		assertEquals(COUNT-CAPACITY, system.getDeadLetters().getCount(DeadLetterReason.MAILBOX_QUOTA));
+		assertEquals(0, quota.getPending());
+	}
+	
+	@Test(timeout=5000)
+	public void test_drop_oldest() throws InterruptedException {
+		ActorMailboxQuota quota = new ActorMailboxQuota(CAPACITY, ActorOverflowPolicy.DROP_OLDEST);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		CountDownLatch testDone = new CountDownLatch(CAPACITY+1);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		
+		UUID dest = addActor(quota, started, proceed, received, testDone);
+		system.start();
+		sendAll(dest, started);
+		proceed.countDown();
+		testDone.await();
+		system.shutdownWithActors(true);
+		
+		assertEquals(CAPACITY+1, received.size());
+		assertEquals(CAPACITY+1, (int)received.get(1));
+		assertEquals(2*CAPACITY, (int)received.get(received.size()-1));
+		assertEquals(CAPACITY, quota.getDropped());
+		assertEquals(COUNT-2*CAPACITY, quota.getRejected());
+		assertEquals(0, quota.getPending());
+	}
+	
+	@Test(timeout=5000)
+	public void test_queue_overflow() throws InterruptedException {
+		ActorMailboxQuota quota = new ActorMailboxQuota(COUNT, ActorOverflowPolicy.REJECT_NEW);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		AtomicInteger deadLetters = new AtomicInteger();
+		
+		if (system.underlyingImpl() instanceof DefaultActorSystemImpl)
+			((DefaultActorSystemImpl)system.underlyingImpl()).setActorThreadClass(false);
+		system.underlyingImpl().setQueueSize(CAPACITY);
+		system.setDeadLetterHandler((message) -> deadLetters.incrementAndGet());
+		UUID dest = addActor(quota, started, proceed, received, new CountDownLatch(COUNT+1));
+		system.start();
+		sendAll(dest, started);
+		proceed.countDown();
+		while (received.size()+deadLetters.get()<COUNT+1) // messages lost to a full queue are dead letters
+			Thread.sleep(1);
+		system.shutdownWithActors(true);
+		
+		assertEquals(COUNT+1, quota.getAccepted());
+		assertEquals(0, quota.getPending());
+	}
+	
+	@Test(timeout=5000)
+	public void test_forward() throws InterruptedException {
+		ActorMailboxQuota quota = new ActorMailboxQuota(COUNT, ActorOverflowPolicy.REJECT_NEW);
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		
+		system.underlyingImpl().trustedImmutableMode();
+		UUID next = system.addActor(() -> new Actor("next") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		});
+		UUID dest = system.addActor(() -> new Actor("quota") {
+			@Override
+			public ActorMailboxQuota mailboxQuota() {
+				return quota;
+			}
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				message.dest = next; // forwards the received envelope to an actor without quota
+				send(message);
+			}
+		});
+		system.start();
+		for (int i=0; i<COUNT; i++)
+			system.send(new ActorMessage<>(i, 0, system.SYSTEM_ID, dest));
+		testDone.await();
+		system.shutdownWithActors(true);
+		
+		assertEquals(COUNT, quota.getAccepted());
+		assertEquals(0, quota.getPending());
+	}
+	
+	@Test(timeout=5000)
+	public void test_dead_letters() throws InterruptedException {
+		ActorMailboxQuota quota = new ActorMailboxQuota(CAPACITY, ActorOverflowPolicy.DEAD_LETTERS);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		CountDownLatch testDone = new CountDownLatch(CAPACITY+1);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		AtomicInteger deadLetters = new AtomicInteger();
+		
+		system.setDeadLetterHandler((message) -> deadLetters.incrementAndGet());
+		UUID dest = addActor(quota, started, proceed, received, testDone);
+		system.start();
+		sendAll(dest, started);
+		proceed.countDown();
+		testDone.await();
+		system.shutdownWithActors(true);
+		
+		assertEquals(CAPACITY+1, received.size());
+		assertEquals(COUNT-CAPACITY, deadLetters.get());
+		assertEquals(COUNT-CAPACITY, quota.getDeadLetters());
+	}
+	
+	@Test(timeout=5000)
+	public void test_block_sender() throws InterruptedException {
+		ActorMailboxQuota quota = new ActorMailboxQuota(CAPACITY, ActorOverflowPolicy.BLOCK_SENDER, 500, TimeUnit.MILLISECONDS);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		CountDownLatch testDone = new CountDownLatch(CAPACITY+2);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		
+		UUID dest = addActor(quota, started, proceed, received, testDone);
+		system.start();
+		system.send(new ActorMessage<>(0, 0, system.SYSTEM_ID, dest));
+		started.await();
+		for (int i=1; i<=CAPACITY+1; i++)
+			system.send(new ActorMessage<>(i, 0, system.SYSTEM_ID, dest));
+		assertEquals(1, quota.getTimeouts());
+		
+		Thread sender = new Thread(() -> system.send(new ActorMessage<>(COUNT, 0, system.SYSTEM_ID, dest)));
+		sender.start();
+		Thread.sleep(50);
+		proceed.countDown();
+		sender.join();
+		testDone.await();
+		system.shutdownWithActors(true);
+		
+		assertEquals(2, quota.getBlocked());
+		assertEquals(1, quota.getTimeouts());
+		assertEquals(1, system.getDeadLetters().getCount(DeadLetterReason.MAILBOX_QUOTA));
+		assertEquals(CAPACITY+2, received.size());
+		assertEquals(COUNT, (int)received.get(received.size()-1));
+	}
+	
+	@Test(timeout=5000)
+	public void test_block_sender_actor_thread() throws InterruptedException {
+		ActorMailboxQuota quota = new ActorMailboxQuota(CAPACITY, ActorOverflowPolicy.BLOCK_SENDER, 500, TimeUnit.MILLISECONDS);
+		CountDownLatch testDone = new CountDownLatch(CAPACITY+1);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		
+		UUID dest = system.addActor(() -> new Actor("quota") {
+			@Override
+			public ActorMailboxQuota mailboxQuota() {
+				return quota;
+			}
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				if (message.valueAsInt()==0)
+					for (int i=1; i<=CAPACITY+1; i++)
+						tell(i, 0, self()); // an actor thread is never blocked
+				received.add(message.valueAsInt());
+				testDone.countDown();
+			}
+		});
+		system.start();
+		system.send(new ActorMessage<>(0, 0, system.SYSTEM_ID, dest));
+		testDone.await();
+		system.shutdownWithActors(true);
+		
+		assertEquals(1, quota.getRejected());
+		assertEquals(1, system.getDeadLetters().getCount(DeadLetterReason.MAILBOX_QUOTA));
+		assertEquals(CAPACITY+1, received.size());
+	}
+}
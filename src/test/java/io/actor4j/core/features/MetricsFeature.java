@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.metrics.ActorCounter;
+import io.actor4j.core.metrics.ActorMetric;
+import io.actor4j.core.metrics.ActorMetricsRegistry;
+import io.actor4j.core.metrics.LogHistogram;
+import io.actor4j.core.metrics.PrometheusTextFormat;
+
+import static org.junit.Assert.*;
+
+public class MetricsFeature {
+	@Test
+	public void test_registry() {
+		ActorMetricsRegistry registry = new ActorMetricsRegistry();
+		ActorCounter counter = registry.counter("test_total", "Test counter.", "kind", "a");
+		assertSame(counter, registry.counter("test_total", "Test counter.", "kind", "a"));
+		assertNotSame(counter, registry.counter("test_total", "Test counter.", "kind", "b"));
+		counter.increment();
+		counter.add(2);
+		registry.gauge("test_gauge", "Test gauge.", () -> 1.5);
+		registry.addCollector((consumer) -> consumer.accept(new ActorCounter("test_collected", null)));
+		
+		List<ActorMetric> metrics = registry.collect();
+		assertEquals(4, metrics.size());
+		assertEquals("test_collected", metrics.get(0).getName());
+		assertEquals(3, metrics.get(2).getValue(), 0);
+		
+		assertTrue(registry.unregister("test_gauge"));
+		assertEquals(3, registry.collect().size());
+		
+		try {
+			registry.counter("test total", null);
+			fail();
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void test_prometheusTextFormat() {
+		ActorMetricsRegistry registry = new ActorMetricsRegistry();
+		registry.counter("test_total", "Test counter.", "kind", "a\"b").add(3);
+		registry.counter("test_total", "Test counter.", "kind", "c");
+		registry.gauge("test_gauge", "Test gauge.", () -> 0.25);
+		LogHistogram histogram = new LogHistogram();
+		histogram.record(1_000);
+		registry.summary("test_seconds", "Test summary.", histogram, 1e-3);
+		
+		String text = PrometheusTextFormat.write(registry.collect());
+		assertEquals(
+			"# HELP test_gauge Test gauge.\n"+
+			"# TYPE test_gauge gauge\n"+
+			"test_gauge 0.25\n"+
+			"# HELP test_seconds Test summary.\n"+
+			"# TYPE test_seconds summary\n"+
+			"test_seconds{quantile=\"0.5\"} 1\n"+
+			"test_seconds{quantile=\"0.9\"} 1\n"+
+			"test_seconds{quantile=\"0.99\"} 1\n"+
+			"test_seconds{quantile=\"0.999\"} 1\n"+
+			"test_seconds_sum 1\n"+
+			"test_seconds_count 1\n"+
+			"# HELP test_total Test counter.\n"+
+			"# TYPE test_total counter\n"+
+			"test_total{kind=\"a\\\"b\"} 3\n"+
+			"test_total{kind=\"c\"} 0\n", text);
+	}
+	
+	@Test(timeout=10000)
+	public void test_exporters() throws Exception {
+		final int COUNT = 100;
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		
+		ActorSystem system = new ActorSystem("metrics-feature");
+		system.metricsJmxMode();
+		system.metricsPrometheusMode(0);
+		UUID dest = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		});
+		system.setAlias(dest, "dest");
+		system.start();
+		
+		for (int i=0; i<COUNT; i++)
+			system.sendViaAlias(new ActorMessage<>(null, 0, system.SYSTEM_ID, null), "dest");
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		int port = system.underlyingImpl().getExecuterService().getMetricsHttpServer().getPort();
+		HttpURLConnection connection = (HttpURLConnection)new URL("http://localhost:"+port+"/metrics").openConnection();
+		assertEquals(200, connection.getResponseCode());
+		assertTrue(connection.getContentType().startsWith("text/plain"));
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (InputStream input = connection.getInputStream()) {
+			byte[] bytes = new byte[4096];
+			for (int n; (n=input.read(bytes))!=-1;)
+				buffer.write(bytes, 0, n);
+		}
+		String text = new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+		assertTrue(text.contains("# TYPE actor4j_thread_messages_total counter\n"));
+		assertTrue(text.contains("actor4j_alias_messages_total{alias=\"dest\"} "+COUNT+"\n"));
+		assertTrue(text.contains("actor4j_alias_actors{alias=\"dest\"} 1\n"));
+		
+		ObjectName objectName = new ObjectName("io.actor4j:type=Metrics,name="+ObjectName.quote("metrics-feature"));
+		assertEquals((double)COUNT, ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "actor4j_alias_messages_total{alias=dest}"));
+		
+		system.shutdownWithActors(true);
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+	}
+}
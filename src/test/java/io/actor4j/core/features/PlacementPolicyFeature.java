@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.ActorThread;
+import io.actor4j.core.ActorThreadPoolHandler;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.balancing.LeastCellsPlacementPolicy;
+import io.actor4j.core.balancing.LeastProcessingTimePlacementPolicy;
+import io.actor4j.core.balancing.LeastQueueDepthPlacementPolicy;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class PlacementPolicyFeature {
+	protected ActorSystem system;
+	
+	@Before
+	public void before() {
+		system = new ActorSystem();
+	}
+	
+	protected ActorThreadPoolHandler handler() {
+		return system.underlyingImpl().getExecuterService().getActorThreadPool().getActorThreadPoolHandler();
+	}
+	
+	protected ActorThread addActor() {
+		UUID id = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+			}
+		});
+		
+		return handler().getHandle(id).getThread();
+	}
+	
+	@Test(timeout=5000)
+	public void test_roundRobin() {
+		system.setParallelismMin(3);
+		system.start();
+		
+		ActorThread first = addActor();
+		ActorThread second = addActor();
+		ActorThread third = addActor();
+		assertNotEquals(first, second);
+		assertNotEquals(second, third);
+		assertNotEquals(first, third);
+		assertEquals(first, addActor());
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_leastCells() {
+		system.setParallelismMin(3).setPlacementPolicy(new LeastCellsPlacementPolicy());
+		system.start();
+		
+		for (int i=0; i<30; i++)
+			addActor();
+		
+		int min = Integer.MAX_VALUE;
+		int max = 0;
+		for (ActorThread t : handler().getThreadsMap().values()) {
+			min = Math.min(min, t.getCellsCount());
+			max = Math.max(max, t.getCellsCount());
+		}
+		assertTrue(max-min<=1);
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=10000)
+	public void test_leastQueueDepth() throws InterruptedException {
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		
+		system.setParallelismMin(2).setPlacementPolicy(new LeastQueueDepthPlacementPolicy());
+		UUID busy = system.addActor(() -> new Actor("busy") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				blocked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, busy));
+		blocked.await();
+		for (int i=0; i<100; i++)
+			system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, busy));
+		
+		ActorThread backlogged = handler().getHandle(busy).getThread();
+		for (int i=0; i<10; i++)
+			assertNotEquals(backlogged, addActor());
+		
+		release.countDown();
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=10000)
+	public void test_leastProcessingTime() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		
+		system.setParallelismMin(2).setPlacementPolicy(new LeastProcessingTimePlacementPolicy(60_000));
+		UUID busy = system.addActor(() -> new Actor("busy") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				long stopTime = System.nanoTime() + 200_000_000;
+				while (System.nanoTime()<stopTime);
+				done.countDown();
+			}
+		});
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, busy));
+		done.await();
+		
+		ActorThread loaded = handler().getHandle(busy).getThread();
+		while (loaded.getProcessingTime()<200_000_000)
+			Thread.yield(); // the iteration of the run loop is completed
+		for (int i=0; i<10; i++)
+			assertNotEquals(loaded, addActor());
+		
+		system.shutdownWithActors(true);
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.PriorityLaneQueue;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class PriorityLaneQueueFeature {
+	@Test(timeout=10000)
+	public void test_order() throws InterruptedException {
+		final int PRODUCERS = 4;
+		final int COUNT = 10_000;
+		PriorityLaneQueue queue = new PriorityLaneQueue();
+		
+		Thread[] producers = new Thread[PRODUCERS];
+		for (int i=0; i<PRODUCERS; i++) {
+			producers[i] = new Thread(() -> {
+				for (int j=0; j<COUNT; j++)
+					queue.offer(new ActorMessage<>(null, ThreadLocalRandom.current().nextInt(-100, 1<<21), null, null));
+			});
+			producers[i].start();
+		}
+		for (Thread producer : producers)
+			producer.join();
+		
+		assertEquals(PRODUCERS*COUNT, queue.size());
+		int last = Integer.MIN_VALUE;
+		ActorMessage<?> message;
+		int count = 0;
+		while ((message=queue.poll())!=null) {
+			assertTrue(message.tag>=last);
+			last = message.tag;
+			count++;
+		}
+		assertEquals(PRODUCERS*COUNT, count);
+		assertTrue(queue.isEmpty());
+	}
+	
+	@Test(timeout=5000)
+	public void test_iterator() {
+		PriorityLaneQueue queue = new PriorityLaneQueue();
+		ActorMessage<?> low = new ActorMessage<>(null, 1, null, null);
+		ActorMessage<?> high = new ActorMessage<>(null, 1<<20, null, null);
+		queue.offer(new ActorMessage<>(null, 2, null, null));
+		queue.offer(new ActorMessage<>(null, 3, null, null));
+		assertEquals(2, queue.peek().tag); // transferred to the heap
+		queue.offer(low);
+		queue.offer(high);
+		
+		assertTrue(queue.contains(low));
+		assertTrue(queue.contains(high));
+		assertNotNull(queue.toString());
+		assertTrue(queue.remove(high));
+		assertFalse(queue.contains(high));
+		
+		Iterator<ActorMessage<?>> iterator = queue.iterator();
+		while (iterator.hasNext())
+			if (iterator.next().tag==2)
+				iterator.remove();
+		assertEquals(2, queue.size());
+		
+		assertSame(low, queue.poll());
+		assertEquals(3, queue.poll().tag);
+		assertNull(queue.poll());
+	}
+	
+	@Test(timeout=5000)
+	public void test_priority() throws InterruptedException {
+		final int COUNT = 1_000;
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		AtomicInteger received = new AtomicInteger();
+		
+		ActorSystem system = new ActorSystem();
+		UUID dest = system.addActor(() -> new Actor("dest") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				received.incrementAndGet();
+				testDone.countDown();
+			}
+		});
+		UUID source = system.addActor(() -> new Actor("source") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				for (int i=0; i<COUNT; i++)
+					priority(null, i%16, dest);
+			}
+		});
+		
+		system.start();
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, source));
+		testDone.await(2000, TimeUnit.MILLISECONDS);
+		system.shutdownWithActors(true);
+		
+		assertEquals(COUNT, received.get());
+	}
+}
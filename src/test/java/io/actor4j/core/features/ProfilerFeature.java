@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+import io.actor4j.core.metrics.ActorProfiler;
+import io.actor4j.core.metrics.ActorTopN;
+
+import static org.junit.Assert.*;
+
+public class ProfilerFeature {
+	@Test
+	public void test_topN() {
+		ActorTopN<String> table = new ActorTopN<>(3);
+		for (int i=0; i<10; i++) {
+			table.add("a", 100);
+			table.add("b", 10);
+		}
+		table.add("c", 1);
+		table.add("d", 1); // replaces c
+		
+		List<ActorTopN.Entry<String>> top = table.top(2);
+		assertEquals(2, top.size());
+		assertEquals("a", top.get(0).getKey());
+		assertEquals(1_000, top.get(0).getCost());
+		assertEquals(10, top.get(0).getCount());
+		assertEquals("b", top.get(1).getKey());
+		
+		ActorTopN.Entry<String> d = table.top(3).get(2);
+		assertEquals("d", d.getKey());
+		assertEquals(2, d.getCost());
+		assertEquals(1, d.getError());
+		
+		ActorTopN<String> other = new ActorTopN<>(3);
+		other.add("b", 2_000);
+		List<ActorTopN.Entry<String>> merged = ActorTopN.merge(Arrays.asList(table, other), 1);
+		assertEquals("b", merged.get(0).getKey());
+		assertEquals(2_100, merged.get(0).getCost());
+	}
+	
+	@Test
+	public void test_sample() {
+		ActorProfiler profiler = new ActorProfiler(4, 10);
+		int sampled = 0;
+		for (int i=0; i<100; i++)
+			if (profiler.sample())
+				sampled++;
+		assertEquals(25, sampled);
+	}
+	
+	@Test(timeout=10000)
+	public void test_profilerMode() throws InterruptedException {
+		final int COUNT = 200;
+		CountDownLatch testDone = new CountDownLatch(2*COUNT);
+		
+		ActorSystem system = new ActorSystem();
+		UUID hot = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				long result = 0;
+				for (int i=0; i<200_000; i++)
+					result += i*(long)message.tag;
+				if (result!=-1)
+					testDone.countDown();
+			}
+		});
+		UUID cold = system.addActor(() -> new Actor() {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		});
+		system.setAlias(hot, "hot");
+		system.start();
+		
+		assertTrue(system.underlyingImpl().getTopActors().isEmpty());
+		system.underlyingImpl().profilerMode(1, 2); // at runtime
+		for (int i=0; i<COUNT; i++) {
+			system.send(new ActorMessage<>(null, 42, system.SYSTEM_ID, hot));
+			system.send(new ActorMessage<>(null, 7, system.SYSTEM_ID, cold));
+		}
+		assertTrue(testDone.await(8, TimeUnit.SECONDS));
+		
+		List<ActorTopN.Entry<UUID>> actors = system.underlyingImpl().getTopActors();
+		assertEquals(2, actors.size());
+		assertEquals(hot, actors.get(0).getKey());
+		assertEquals(COUNT, actors.get(0).getCount());
+		assertTrue(actors.get(0).getCost()>actors.get(1).getCost());
+		assertEquals("hot", system.underlyingImpl().getTopAliases().get(0).getKey());
+		assertEquals(42, system.underlyingImpl().getTopTags().get(0).getKey().intValue());
+		
+		system.underlyingImpl().disableProfiler();
+		assertTrue(system.underlyingImpl().getTopActors().isEmpty());
+		
+		system.shutdownWithActors(true);
+	}
+}
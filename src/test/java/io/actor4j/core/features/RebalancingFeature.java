@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.actor4j.core.ActorHandle;
+import io.actor4j.core.ActorRebalancingRunnable;
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.ActorThread;
+import io.actor4j.core.ActorThreadPoolHandler;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class RebalancingFeature {
+	protected ActorSystem system;
+	
+	@Before
+	public void before() {
+		system = new ActorSystem();
+	}
+	
+	protected ActorThreadPoolHandler handler() {
+		return system.underlyingImpl().getExecuterService().getActorThreadPool().getActorThreadPoolHandler();
+	}
+	
+	protected void awaitHandover(ActorHandle handle) {
+		while (handle.getHandover()!=null)
+			Thread.yield();
+	}
+	
+	@Test(timeout=30000)
+	public void test_migrateCell_preserves_order() {
+		final int COUNT = 20_000;
+		CountDownLatch testDone = new CountDownLatch(2);
+		AtomicBoolean failed = new AtomicBoolean(false);
+		
+		system.setParallelismMin(4).rebalancingMode(3_600_000);
+		
+		UUID receiver = system.addActor(() -> new Actor("receiver") {
+			protected int[] expected = new int[2];
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				int value = (int)message.value;
+				if (value!=expected[message.tag])
+					failed.set(true);
+				expected[message.tag] = value+1;
+				if (value==COUNT-1)
+					testDone.countDown();
+			}
+		});
+		UUID sender = system.addActor(() -> new Actor("sender") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				for (int i=0; i<COUNT; i++)
+					tell(i, 1, receiver);
+			}
+		});
+		
+		system.start();
+		
+		ActorThreadPoolHandler handler = handler();
+		ActorHandle handle = handler.getHandle(receiver);
+		assertNotNull(handle);
+		List<ActorThread> threads = new ArrayList<>(handler.getThreadsMap().values());
+		
+		Thread outside = new Thread(() -> {
+			for (int i=0; i<COUNT; i++)
+				system.send(new ActorMessage<>(i, 0, system.SYSTEM_ID, receiver));
+		});
+		outside.start();
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, sender));
+		
+		int migrations = 0;
+		for (int i=0; testDone.getCount()>0; i++) {
+			ActorThread to = threads.get(i % threads.size());
+			if (handler.migrateCell(handle, to)) {
+				awaitHandover(handle);
+				assertEquals(to, handle.getThread());
+				migrations++;
+			}
+		}
+		try {
+			testDone.await();
+			outside.join();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		
+		assertTrue(migrations>0);
+		assertFalse(failed.get());
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=10000)
+	public void test_migrateCell_preserves_priority() throws InterruptedException {
+		final int COUNT = 100;
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch gate = new CountDownLatch(1);
+		CountDownLatch testDone = new CountDownLatch(2*COUNT);
+		List<Integer> received = new ArrayList<>();
+		
+		system.setParallelismMin(2).rebalancingMode(3_600_000);
+		
+		UUID receiver = system.addActor(() -> new Actor("receiver") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				received.add(message.tag);
+				testDone.countDown();
+			}
+		});
+		UUID blocker = system.addActor(() -> new Actor("blocker") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				started.countDown();
+				try {
+					gate.await(); // the thread of the receiver is blocked meanwhile
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		
+		system.start();
+		
+		ActorThreadPoolHandler handler = handler();
+		ActorHandle handle = handler.getHandle(receiver);
+		ActorHandle blockerHandle = handler.getHandle(blocker);
+		if (handle.getThread()!=blockerHandle.getThread()) {
+			assertTrue(handler.migrateCell(blockerHandle, handle.getThread()));
+			awaitHandover(blockerHandle);
+		}
+		ActorThread to = null;
+		for (ActorThread t : handler.getThreadsMap().values())
+			if (t!=handle.getThread())
+				to = t;
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, blocker));
+		started.await();
+		for (int i=0; i<COUNT; i++)
+			system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, receiver));
+		for (int i=0; i<COUNT; i++)
+			system.underlyingImpl().getMessageDispatcher().postPriority(new ActorMessage<>(null, COUNT-i, system.SYSTEM_ID, receiver));
+		assertTrue(handler.migrateCell(handle, to));
+		gate.countDown();
+		
+		awaitHandover(handle);
+		testDone.await();
+		assertEquals(to, handle.getThread());
+		for (int i=0; i<COUNT; i++)
+			assertEquals(i+1, (int)received.get(i)); // before the older outer messages, by tag
+		for (int i=COUNT; i<2*COUNT; i++)
+			assertEquals(0, (int)received.get(i));
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=30000)
+	public void test_rebalancing() {
+		final int COUNT = 10_000;
+		CountDownLatch testDone = new CountDownLatch(2*COUNT);
+		
+		system.setParallelismMin(2).rebalancingMode(3_600_000);
+		
+		UUID hot1 = system.addActor(() -> new Actor("hot1") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		});
+		UUID hot2 = system.addActor(() -> new Actor("hot2") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		});
+		
+		system.start();
+		
+		ActorThreadPoolHandler handler = handler();
+		ActorHandle handle1 = handler.getHandle(hot1);
+		ActorHandle handle2 = handler.getHandle(hot2);
+		if (handle1.getThread()!=handle2.getThread()) {
+			assertTrue(handler.migrateCell(handle2, handle1.getThread()));
+			awaitHandover(handle2);
+		}
+		assertEquals(handle1.getThread(), handle2.getThread());
+		
+		for (int i=0; i<COUNT; i++) {
+			system.send(new ActorMessage<>(i, 0, system.SYSTEM_ID, hot1));
+			system.send(new ActorMessage<>(i, 0, system.SYSTEM_ID, hot2));
+		}
+		try {
+			testDone.await();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		
+		new ActorRebalancingRunnable(system.underlyingImpl()).onRun();
+		awaitHandover(handle1);
+		awaitHandover(handle2);
+		assertNotEquals(handle1.getThread(), handle2.getThread());
+		
+		system.shutdownWithActors(true);
+	}
+}
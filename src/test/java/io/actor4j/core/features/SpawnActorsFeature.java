@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2015-2020, David A. Bauer. All rights reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.actor4j.core.features;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.actor4j.core.ActorSystem;
+import io.actor4j.core.ActorThreadPoolHandler;
+import io.actor4j.core.actors.Actor;
+import io.actor4j.core.messages.ActorMessage;
+
+import static org.junit.Assert.*;
+
+public class SpawnActorsFeature {
+	protected ActorSystem system;
+	
+	@Before
+	public void before() {
+		system = new ActorSystem();
+	}
+	
+	protected ActorThreadPoolHandler handler() {
+		return system.underlyingImpl().getExecuterService().getActorThreadPool().getActorThreadPoolHandler();
+	}
+	
+	@Test(timeout=30000)
+	public void test_spawnActors() throws InterruptedException {
+		final int COUNT = 10_000;
+		AtomicInteger preStarts = new AtomicInteger(0);
+		AtomicBoolean failed = new AtomicBoolean(false);
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		
+		system.setParallelismMin(2);
+		system.start();
+		
+		List<UUID> ids = system.spawnActors(() -> new Actor() {
+			@Override
+			public void preStart() {
+				if (handler().getHandle(self()).getThread()!=Thread.currentThread())
+					failed.set(true);
+				preStarts.incrementAndGet();
+			}
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+				testDone.countDown();
+			}
+		}, COUNT);
+		
+		assertEquals(COUNT, ids.size());
+		assertEquals(COUNT, preStarts.get());
+		assertFalse(failed.get());
+		
+		for (UUID id : ids)
+			system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, id));
+		assertTrue(testDone.await(20, TimeUnit.SECONDS));
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_spawnActors_before_start() throws InterruptedException {
+		final int COUNT = 100;
+		CountDownLatch testDone = new CountDownLatch(COUNT);
+		
+		system.spawnActors(() -> new Actor() {
+			@Override
+			public void preStart() {
+				testDone.countDown();
+			}
+			
+			@Override
+			public void receive(ActorMessage<?> message) {
+			}
+		}, COUNT);
+		system.start();
+		
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		system.shutdownWithActors(true);
+	}
+	
+	@Test(timeout=5000)
+	public void test_spawnActors_within_actor() throws InterruptedException {
+		final int COUNT = 100;
+		CountDownLatch testDone = new CountDownLatch(1);
+		AtomicInteger preStarts = new AtomicInteger(0);
+		
+		system.setParallelismMin(2);
+		UUID parent = system.addActor(() -> new Actor("parent") {
+			@Override
+			public void receive(ActorMessage<?> message) {
+				getSystem().spawnActors(() -> new Actor() {
+					@Override
+					public void preStart() {
+						preStarts.incrementAndGet();
+					}
+					
+					@Override
+					public void receive(ActorMessage<?> message) {
+					}
+				}, COUNT);
+				if (preStarts.get()==COUNT)
+					testDone.countDown();
+			}
+		});
+		system.start();
+		
+		system.send(new ActorMessage<>(null, 0, system.SYSTEM_ID, parent));
+		assertTrue(testDone.await(2, TimeUnit.SECONDS));
+		
+		system.shutdownWithActors(true);
+	}
+}